@@ -0,0 +1,252 @@
+package com.ipl.ipl_dashboard.broadcast;
+
+import jakarta.websocket.RemoteEndpoint;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A WebSocket session with a bounded outbox. Everything sent to the client, Spring's own STOMP frames
+ * included, goes through one FIFO queue drained by the broadcaster's sender threads with at most one
+ * write in flight, so a slow client only ever holds up itself. Topic messages that do not fit are
+ * handled by the configured {@link OverflowPolicy}; Spring's frames (CONNECTED, RECEIPT, ERROR,
+ * subscribe replies) are always queued.
+ *
+ * <p>Plain WebSocket connections are written with the container's async API and hold no thread while
+ * the client reads; SockJS sessions are written synchronously on a sender thread.
+ */
+final class BroadcastSession extends WebSocketSessionDecorator {
+
+    /** One queued message; {@code destination} is null for frames Spring sends itself. */
+    record Frame(String destination, String subscriptionId, Object payload, WebSocketMessage<?> message,
+                 int bytes, long publishedAt) {
+
+        boolean droppable() {
+            return destination != null;
+        }
+    }
+
+    private static final int SENDING = 0;
+    private static final int COMPLETED_INLINE = 1;
+    private static final int PENDING = 2;
+
+    private final TopicBroadcaster broadcaster;
+    private final RemoteEndpoint.Async async;
+    // subscription id -> destination, for subscriptions this session holds on broadcast topics
+    final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private long queuedBytes;
+    private boolean sending;
+    private boolean closed;
+
+    BroadcastSession(WebSocketSession delegate, TopicBroadcaster broadcaster) {
+        super(delegate);
+        this.broadcaster = broadcaster;
+        RemoteEndpoint.Async remote = null;
+        if (delegate instanceof StandardWebSocketSession standard && standard.isOpen()) {
+            remote = standard.getNativeSession().getAsyncRemote();
+            remote.setSendTimeout(broadcaster.sendTimeoutMillis());
+        }
+        this.async = remote;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        offer(new Frame(null, null, null, message, message.getPayloadLength(), 0));
+    }
+
+    void offer(Frame frame) {
+        boolean closeSlow = false;
+        boolean start = false;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (!frame.droppable() || fits(frame)) {
+                add(frame);
+            } else {
+                switch (broadcaster.overflowPolicy()) {
+                    case CONFLATE -> {
+                        if (!conflate(frame)) {
+                            dropOldestFor(frame);
+                        }
+                    }
+                    case DROP_OLDEST -> dropOldestFor(frame);
+                    case DROP_NEWEST -> broadcaster.droppedNewest.increment();
+                    case CLOSE -> {
+                        closed = true;
+                        closeSlow = true;
+                        queue.clear();
+                        queuedBytes = 0;
+                    }
+                }
+            }
+            if (!sending && !closed && !queue.isEmpty()) {
+                sending = true;
+                start = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closeSlow) {
+            broadcaster.closedSlow.increment();
+            broadcaster.execute(() -> closeQuietly(CloseStatus.SESSION_NOT_RELIABLE));
+        } else if (start) {
+            broadcaster.execute(this::drain);
+        }
+    }
+
+    private boolean fits(Frame frame) {
+        return queue.size() < broadcaster.maxMessages() && queuedBytes + frame.bytes() <= broadcaster.maxBytes();
+    }
+
+    private void add(Frame frame) {
+        queue.addLast(frame);
+        queuedBytes += frame.bytes();
+    }
+
+    // Folds the frame into the latest queued one for the same subscription, keeping its place in line
+    private boolean conflate(Frame frame) {
+        Iterator<Frame> it = queue.descendingIterator();
+        while (it.hasNext()) {
+            Frame queued = it.next();
+            if (frame.destination().equals(queued.destination())
+                    && frame.subscriptionId().equals(queued.subscriptionId())) {
+                Frame merged = broadcaster.merge(queued, frame);
+                ArrayDeque<Frame> rebuilt = new ArrayDeque<>(queue.size());
+                for (Frame f : queue) {
+                    rebuilt.addLast(f == queued ? merged : f);
+                }
+                queue.clear();
+                queue.addAll(rebuilt);
+                queuedBytes += merged.bytes() - queued.bytes();
+                broadcaster.conflated.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Drops queued topic messages, oldest first, until the frame fits; Spring's frames are never dropped
+    private void dropOldestFor(Frame frame) {
+        Iterator<Frame> it = queue.iterator();
+        while (!fits(frame) && it.hasNext()) {
+            Frame queued = it.next();
+            if (queued.droppable()) {
+                it.remove();
+                queuedBytes -= queued.bytes();
+                broadcaster.droppedOldest.increment();
+            }
+        }
+        if (fits(frame)) {
+            add(frame);
+        } else {
+            broadcaster.droppedNewest.increment();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Frame next;
+            lock.lock();
+            try {
+                next = closed ? null : queue.pollFirst();
+                if (next == null) {
+                    sending = false;
+                    return;
+                }
+                queuedBytes -= next.bytes();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (async != null && next.message() instanceof TextMessage text && text.isLast()) {
+                    if (!sendAsync(next, text)) {
+                        // Completion resumes the drain
+                        return;
+                    }
+                } else {
+                    getDelegate().sendMessage(next.message());
+                    broadcaster.delivered(next);
+                }
+            } catch (IOException | RuntimeException e) {
+                failed(e);
+                return;
+            }
+        }
+    }
+
+    // True when the write already completed (the socket had room), so the caller can go on with the next one
+    private boolean sendAsync(Frame frame, TextMessage text) {
+        AtomicInteger state = new AtomicInteger(SENDING);
+        async.sendText(text.getPayload(), result -> {
+            if (result.isOK()) {
+                broadcaster.delivered(frame);
+            } else {
+                failed(result.getException());
+            }
+            if (!state.compareAndSet(SENDING, COMPLETED_INLINE)) {
+                broadcaster.execute(this::drain);
+            }
+        });
+        return !state.compareAndSet(SENDING, PENDING);
+    }
+
+    private void failed(Throwable error) {
+        lock.lock();
+        try {
+            closed = true;
+            sending = false;
+            queue.clear();
+            queuedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+        broadcaster.sendFailures.increment();
+        broadcaster.execute(() -> closeQuietly(CloseStatus.SESSION_NOT_RELIABLE));
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        try {
+            getDelegate().close(status);
+        } catch (IOException | RuntimeException ignored) {
+            // Already gone
+        }
+    }
+
+    /** Called once the connection is closed; anything still queued is discarded. */
+    void closed() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            queuedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
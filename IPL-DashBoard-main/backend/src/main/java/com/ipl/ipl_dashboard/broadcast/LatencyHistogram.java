@@ -0,0 +1,58 @@
+package com.ipl.ipl_dashboard.broadcast;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets: bucket {@code i} counts samples
+ * below {@code 2^i} µs, so percentiles are upper bounds within a factor of two, which is plenty for
+ * telling a healthy fan-out from a stalled one.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts.incrementAndGet(bucket);
+        max.accumulate(nanos);
+    }
+
+    Map<String, Object> snapshot() {
+        long[] c = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            c[i] = counts.get(i);
+            total += c[i];
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", total);
+        double maxMs = max.get() / 1e6;
+        m.put("p50Ms", Math.min(maxMs, percentile(c, total, 0.50)));
+        m.put("p90Ms", Math.min(maxMs, percentile(c, total, 0.90)));
+        m.put("p99Ms", Math.min(maxMs, percentile(c, total, 0.99)));
+        m.put("maxMs", maxMs);
+        return m;
+    }
+
+    private static double percentile(long[] counts, long total, double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (1L << i) / 1000.0;
+            }
+        }
+        return (1L << (counts.length - 1)) / 1000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ipl.ipl_dashboard.broadcast;
+
+import java.util.Locale;
+
+/** What a session's outbox does with a topic message once it is full ({@code ipl.broadcast.overflow}). */
+public enum OverflowPolicy {
+    /** Fold the message into one already queued for the same subscription; drop the oldest if there is none. */
+    CONFLATE,
+    /** Make room by dropping the oldest queued topic message. */
+    DROP_OLDEST,
+    /** Drop the incoming message. */
+    DROP_NEWEST,
+    /** Close the session; the client reconnects and resyncs from a snapshot. */
+    CLOSE;
+
+    static OverflowPolicy parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+    }
+}
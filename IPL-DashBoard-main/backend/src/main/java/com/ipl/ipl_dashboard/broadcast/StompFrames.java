@@ -0,0 +1,35 @@
+package com.ipl.ipl_dashboard.broadcast;
+
+/** Encodes STOMP 1.2 MESSAGE frames, the same shape Spring's simple broker sends. */
+final class StompFrames {
+
+    private StompFrames() {
+    }
+
+    static String message(String destination, String subscriptionId, String messageId, String json, int jsonBytes) {
+        StringBuilder sb = new StringBuilder(json.length() + destination.length() + 128);
+        sb.append("MESSAGE\n");
+        header(sb, "destination", destination);
+        header(sb, "content-type", "application/json");
+        header(sb, "subscription", subscriptionId);
+        header(sb, "message-id", messageId);
+        header(sb, "content-length", Integer.toString(jsonBytes));
+        sb.append('\n').append(json).append('\0');
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String value) {
+        sb.append(name).append(':');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case ':' -> sb.append("\\c");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        sb.append('\n');
+    }
+}
@@ -0,0 +1,306 @@
+package com.ipl.ipl_dashboard.broadcast;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+
+/**
+ * Fans topic messages out to STOMP subscribers without going through the simple broker.
+ *
+ * <p>The broker serializes the payload and builds a STOMP frame for every subscriber, and sends on the
+ * caller's thread, so one slow client delays everyone behind it. Here a payload is serialized once and
+ * the MESSAGE frame is encoded once per distinct subscription id (clients normally all use the same
+ * one), then the same frame is queued on each subscriber's {@link BroadcastSession}. Each session has a
+ * bounded outbox ({@code ipl.broadcast.buffer.*}) and a full one is handled by
+ * {@code ipl.broadcast.overflow}; with {@code conflate}, a message is merged into the one already
+ * waiting for that subscription using the function registered with {@link #conflateWith}.
+ *
+ * <p>Subscriptions are tracked from the inbound channel, so SUBSCRIBE/UNSUBSCRIBE work as before and
+ * destinations nobody publishes here still reach the simple broker.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TopicBroadcaster {
+
+    private final ObjectMapper objectMapper;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final long sendTimeoutMillis;
+    private final ExecutorService senders;
+
+    private final Map<String, BroadcastSession> sessions = new ConcurrentHashMap<>();
+    // destination -> subscribers
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Map<String, BinaryOperator<Object>> mergers = new ConcurrentHashMap<>();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder encoded = new LongAdder();
+    final LongAdder conflated = new LongAdder();
+    final LongAdder droppedOldest = new LongAdder();
+    final LongAdder droppedNewest = new LongAdder();
+    final LongAdder closedSlow = new LongAdder();
+    final LongAdder sendFailures = new LongAdder();
+    private final LatencyHistogram fanOutLatency = new LatencyHistogram();
+
+    private record Subscriber(BroadcastSession session, String subscriptionId) {
+    }
+
+    public TopicBroadcaster(ObjectMapper objectMapper,
+                            @Value("${ipl.broadcast.overflow:conflate}") String overflow,
+                            @Value("${ipl.broadcast.buffer.max-messages:64}") int maxMessages,
+                            @Value("${ipl.broadcast.buffer.max-bytes:262144}") long maxBytes,
+                            @Value("${ipl.broadcast.send-timeout:10s}") Duration sendTimeout,
+                            @Value("${ipl.broadcast.sender-threads:0}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.overflowPolicy = OverflowPolicy.parse(overflow);
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNo = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "broadcast-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        System.out.println("✅ STOMP broadcast: " + threads + " sender threads, outbox " + maxMessages
+                + " messages / " + maxBytes + " bytes per session, overflow " + overflowPolicy);
+    }
+
+    /** Lets queued messages under {@code prefix} be merged when a subscriber falls behind. */
+    @SuppressWarnings("unchecked")
+    public <T> void conflateWith(String prefix, Class<T> type, BinaryOperator<T> merge) {
+        mergers.put(prefix, (older, newer) -> type.isInstance(older) && type.isInstance(newer)
+                ? merge.apply((T) older, (T) newer) : newer);
+    }
+
+    /** Sends {@code payload} as JSON to every current subscriber of {@code destination}. */
+    public void publish(String destination, Object payload) {
+        published.increment();
+        Set<Subscriber> subscribers = topics.get(destination);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        String json = toJson(payload);
+        int jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+        String messageId = Long.toString(messageIds.incrementAndGet());
+        Map<String, BroadcastSession.Frame> bySubscription = new HashMap<>(2);
+        for (Subscriber s : subscribers) {
+            BroadcastSession.Frame frame = bySubscription.computeIfAbsent(s.subscriptionId(),
+                    id -> encode(destination, id, messageId, payload, json, jsonBytes, now));
+            s.session().offer(frame);
+        }
+    }
+
+    private BroadcastSession.Frame encode(String destination, String subscriptionId, String messageId,
+                                          Object payload, String json, int jsonBytes, long publishedAt) {
+        encoded.increment();
+        String frame = StompFrames.message(destination, subscriptionId, messageId, json, jsonBytes);
+        // Headers are ASCII in practice; exact size does not matter for the outbox bound
+        return new BroadcastSession.Frame(destination, subscriptionId, payload, new TextMessage(frame),
+                jsonBytes + frame.length() - json.length(), publishedAt);
+    }
+
+    // Conflation: merge two queued payloads for the same subscription and re-encode for that session only
+    BroadcastSession.Frame merge(BroadcastSession.Frame older, BroadcastSession.Frame newer) {
+        BinaryOperator<Object> merge = null;
+        for (Map.Entry<String, BinaryOperator<Object>> e : mergers.entrySet()) {
+            if (newer.destination().startsWith(e.getKey())) {
+                merge = e.getValue();
+                break;
+            }
+        }
+        if (merge == null) {
+            return newer;
+        }
+        Object payload = merge.apply(older.payload(), newer.payload());
+        if (payload == newer.payload()) {
+            return newer;
+        }
+        String json = toJson(payload);
+        String messageId = Long.toString(messageIds.incrementAndGet());
+        return encode(newer.destination(), newer.subscriptionId(), messageId, payload, json,
+                json.getBytes(StandardCharsets.UTF_8).length, older.publishedAt());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    /** Wraps the STOMP handler so every session gets an outbox; used as a transport decorator factory. */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BroadcastSession wrapped = new BroadcastSession(session, TopicBroadcaster.this);
+                sessions.put(session.getId(), wrapped);
+                super.afterConnectionEstablished(wrapped);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                BroadcastSession wrapped = sessions.get(session.getId());
+                super.handleMessage(wrapped != null ? wrapped : session, message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                BroadcastSession wrapped = sessions.get(session.getId());
+                super.handleTransportError(wrapped != null ? wrapped : session, exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BroadcastSession wrapped = sessions.remove(session.getId());
+                if (wrapped != null) {
+                    wrapped.closed();
+                    wrapped.subscriptions.forEach((id, destination) -> unsubscribe(wrapped, id));
+                }
+                super.afterConnectionClosed(wrapped != null ? wrapped : session, closeStatus);
+            }
+        };
+    }
+
+    /** Tracks SUBSCRIBE/UNSUBSCRIBE/DISCONNECT on the client inbound channel. */
+    public ChannelInterceptor subscriptionInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                BroadcastSession session = sessionId == null ? null : sessions.get(sessionId);
+                if (session == null || type == null) {
+                    return message;
+                }
+                String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+                switch (type) {
+                    case SUBSCRIBE -> {
+                        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+                        if (destination != null && subscriptionId != null) {
+                            subscribe(session, subscriptionId, destination);
+                        }
+                    }
+                    case UNSUBSCRIBE -> {
+                        if (subscriptionId != null) {
+                            unsubscribe(session, subscriptionId);
+                        }
+                    }
+                    case DISCONNECT -> session.subscriptions.keySet().forEach(id -> unsubscribe(session, id));
+                    default -> {
+                    }
+                }
+                return message;
+            }
+        };
+    }
+
+    private void subscribe(BroadcastSession session, String subscriptionId, String destination) {
+        String previous = session.subscriptions.put(subscriptionId, destination);
+        if (previous != null) {
+            removeSubscriber(previous, new Subscriber(session, subscriptionId));
+        }
+        topics.computeIfAbsent(destination, d -> ConcurrentHashMap.newKeySet())
+                .add(new Subscriber(session, subscriptionId));
+    }
+
+    private void unsubscribe(BroadcastSession session, String subscriptionId) {
+        String destination = session.subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeSubscriber(destination, new Subscriber(session, subscriptionId));
+        }
+    }
+
+    private void removeSubscriber(String destination, Subscriber subscriber) {
+        topics.computeIfPresent(destination, (d, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    void execute(Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    // Publish-to-write latency of topic messages; Spring's own frames are not counted
+    void delivered(BroadcastSession.Frame frame) {
+        if (frame.droppable()) {
+            deliveries.increment();
+            fanOutLatency.record(System.nanoTime() - frame.publishedAt());
+        }
+    }
+
+    OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    int maxMessages() {
+        return maxMessages;
+    }
+
+    long maxBytes() {
+        return maxBytes;
+    }
+
+    long sendTimeoutMillis() {
+        return sendTimeoutMillis;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("sessions", sessions.size());
+        m.put("topics", topics.size());
+        m.put("subscriptions", topics.values().stream().mapToInt(Set::size).sum());
+        m.put("published", published.sum());
+        // Frames encoded: one per distinct subscription id per message, plus conflation re-encodes
+        m.put("encoded", encoded.sum());
+        m.put("deliveries", deliveries.sum());
+        m.put("fanOutLatency", fanOutLatency.snapshot());
+        m.put("queued", sessions.values().stream().mapToInt(BroadcastSession::queued).sum());
+        m.put("conflated", conflated.sum());
+        m.put("droppedOldest", droppedOldest.sum());
+        m.put("droppedNewest", droppedNewest.sum());
+        m.put("closedSlow", closedSlow.sum());
+        m.put("sendFailures", sendFailures.sum());
+        return m;
+    }
+}
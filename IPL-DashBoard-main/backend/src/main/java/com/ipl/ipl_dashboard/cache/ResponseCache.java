@@ -0,0 +1,441 @@
+package com.ipl.ipl_dashboard.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetLoadedEvent;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized JSON responses for read endpoints whose answer only changes when a new dataset
+ * is loaded. Bodies are kept as UTF-8 bytes (plus a gzip copy when that is smaller) with a strong ETag,
+ * and are written straight to the servlet output stream, so a hit skips the lookup, Jackson and the
+ * compressor. A matching {@code If-None-Match} gets an empty 304.
+ *
+ * <p>Two regions share the lookup path:
+ * <ul>
+ *   <li>an access-ordered LRU bounded by entry count and total bytes, filled lazily on misses, where
+ *   entries expire after a per-endpoint TTL ({@code ipl.cache.ttl.<endpoint>}, falling back to
+ *   {@code ipl.cache.ttl.default});</li>
+ *   <li>a pre-rendered region filled by {@link #prerender} right after a dataset loads, for the hot
+ *   pages. It never expires or evicts within a dataset, but stops accepting entries once
+ *   {@code ipl.cache.prerender.max-bytes} is reached; anything beyond that falls back to the LRU.</li>
+ * </ul>
+ * Every entry remembers the dataset it was rendered from, which callers pass in: they read the dataset
+ * once, compute from it and hand the same instance to the cache, so a swap between the two can never tag
+ * an old payload as current. Entries from older datasets are dropped on {@link DatasetLoadedEvent}, are
+ * not stored once a newer dataset is live, and are never served for a newer one.
+ */
+@Component
+public class ResponseCache {
+
+    // Rough per-entry cost of the map node, key and entry object on top of the bodies
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    // Below this, gzip framing eats most of the gain
+    private static final int GZIP_MIN_BYTES = 512;
+
+    private final MatchStore matchStore;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration defaultTtl;
+    private final boolean prerenderEnabled;
+    private final long prerenderMaxBytes;
+
+    // Guards entries and bytes; a lock rather than a monitor so virtual threads never pin on it
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+    private final Map<String, Entry> prerendered = new ConcurrentHashMap<>();
+    private final AtomicLong prerenderedBytes = new AtomicLong();
+    private final Map<String, Duration> ttls = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private record Entry(String endpoint, byte[] body, byte[] gzip, String etag, long expiresAt, Dataset dataset) {
+        long weight(String key) {
+            return body.length + (gzip == null ? 0 : gzip.length) + 2L * key.length() + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+
+    private static final class Stats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder gzipped = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder expirations = new LongAdder();
+    }
+
+    public ResponseCache(MatchStore matchStore, ObjectMapper objectMapper, Environment environment,
+                         @Value("${ipl.cache.max-entries:2000}") int maxEntries,
+                         @Value("${ipl.cache.max-bytes:33554432}") long maxBytes,
+                         @Value("${ipl.cache.ttl.default:10m}") Duration defaultTtl,
+                         @Value("${ipl.cache.prerender.enabled:true}") boolean prerenderEnabled,
+                         @Value("${ipl.cache.prerender.max-bytes:67108864}") long prerenderMaxBytes) {
+        this.matchStore = matchStore;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.defaultTtl = defaultTtl;
+        this.prerenderEnabled = prerenderEnabled;
+        this.prerenderMaxBytes = prerenderMaxBytes;
+    }
+
+    /**
+     * Writes the response for {@code endpoint}/{@code key} as of {@code dataset}, computing and caching it
+     * on a miss; {@code compute} must read from that same dataset. A {@code null} value is cached as an
+     * empty body, matching what the endpoints returned before.
+     */
+    public void respond(Dataset dataset, String endpoint, String key, HttpServletRequest request,
+                        HttpServletResponse response, Supplier<?> compute) throws IOException {
+        Stats s = stats(endpoint);
+        write(lookup(dataset, endpoint, key, s, compute), s, request, response);
+    }
+
+    /**
+     * The same lookup for the reactive routes: the cached bytes go out as a single buffer, with the
+     * ETag, {@code Vary} and 304 handling of the servlet path.
+     */
+    public Mono<ServerResponse> respond(Dataset dataset, String endpoint, String key, ServerRequest request,
+                                       Supplier<?> compute) {
+        Stats s = stats(endpoint);
+        Entry entry = lookup(dataset, endpoint, key, s, compute);
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        boolean gzip = entry.gzip() != null && acceptsGzip(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        if (matches(headers.getFirst(HttpHeaders.IF_NONE_MATCH), entry.etag())) {
+            s.notModified.increment();
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).headers(h -> validators(h, entry, gzip)).build();
+        }
+
+        byte[] body = gzip ? entry.gzip() : entry.body();
+        ServerResponse.BodyBuilder ok = ServerResponse.ok().headers(h -> validators(h, entry, gzip));
+        if (gzip) {
+            s.gzipped.increment();
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (body.length == 0) {
+            return ok.contentLength(0).build();
+        }
+        return ok.contentType(MediaType.APPLICATION_JSON).contentLength(body.length).bodyValue(body);
+    }
+
+    private static void validators(HttpHeaders headers, Entry entry, boolean gzip) {
+        headers.set(HttpHeaders.ETAG, etag(entry, gzip));
+        headers.set(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (entry.gzip() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    // The gzip representation gets its own strong validator
+    private static String etag(Entry entry, boolean gzip) {
+        return gzip ? entry.etag().substring(0, entry.etag().length() - 1) + "-gz\"" : entry.etag();
+    }
+
+    private Entry lookup(Dataset dataset, String endpoint, String key, Stats s, Supplier<?> compute) {
+        String cacheKey = endpoint + '|' + key;
+        Entry entry = prerendered.get(cacheKey);
+        if (entry == null || entry.dataset() != dataset) {
+            entry = get(cacheKey, dataset, s);
+        }
+        if (entry != null) {
+            s.hits.increment();
+        } else {
+            s.misses.increment();
+            entry = render(endpoint, compute.get(), dataset, ttl(endpoint).toNanos());
+            // A request that started before a swap still gets its answer, but it is not kept
+            if (dataset == matchStore.current()) {
+                put(cacheKey, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Renders a response into the pre-rendered region for the given dataset. Returns false once the
+     * region is full or when pre-rendering is switched off ({@code ipl.cache.prerender.enabled}).
+     */
+    public boolean prerender(Dataset dataset, String endpoint, String key, Supplier<?> compute) {
+        if (!prerenderEnabled || matchStore.current() != dataset) {
+            return false;
+        }
+        String cacheKey = endpoint + '|' + key;
+        Entry entry = render(endpoint, compute.get(), dataset, Long.MAX_VALUE);
+        long weight = entry.weight(cacheKey);
+        if (prerenderedBytes.addAndGet(weight) > prerenderMaxBytes) {
+            prerenderedBytes.addAndGet(-weight);
+            return false;
+        }
+        Entry previous = prerendered.put(cacheKey, entry);
+        if (previous != null) {
+            prerenderedBytes.addAndGet(-previous.weight(cacheKey));
+        }
+        return true;
+    }
+
+    private void write(Entry entry, Stats s, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        boolean gzip = entry.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.ETAG, etag(entry, gzip));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (entry.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry.etag())) {
+            s.notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = gzip ? entry.gzip() : entry.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entry.body().length > 0) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        }
+        if (gzip) {
+            s.gzipped.increment();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private Entry get(String cacheKey, Dataset dataset, Stats s) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(cacheKey);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.dataset() != matchStore.current() || System.nanoTime() - entry.expiresAt() > 0) {
+                remove(cacheKey, entry);
+                s.expirations.increment();
+                return null;
+            }
+            // A live entry, but the caller is still on an older dataset: leave it for everyone else
+            return entry.dataset() == dataset ? entry : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String cacheKey, Entry entry) {
+        long weight = entry.weight(cacheKey);
+        if (weight > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(cacheKey, entry);
+            if (previous != null) {
+                bytes -= previous.weight(cacheKey);
+            }
+            bytes += weight;
+            // Access order puts the least recently used entries first
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getValue() == entry) {
+                    continue;
+                }
+                it.remove();
+                bytes -= eldest.getValue().weight(eldest.getKey());
+                stats(eldest.getValue().endpoint()).evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String cacheKey, Entry entry) {
+        entries.remove(cacheKey);
+        bytes -= entry.weight(cacheKey);
+    }
+
+    @EventListener
+    public void onDatasetLoaded(DatasetLoadedEvent event) {
+        lock.lock();
+        try {
+            entries.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+        // Listeners pre-rendering for the new dataset may already have run; keep their entries
+        prerendered.entrySet().removeIf(e -> {
+            if (e.getValue().dataset() == event.dataset()) {
+                return false;
+            }
+            prerenderedBytes.addAndGet(-e.getValue().weight(e.getKey()));
+            return true;
+        });
+    }
+
+    private Entry render(String endpoint, Object value, Dataset dataset, long ttlNanos) {
+        byte[] body = serialize(value);
+        long expiresAt = ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+        return new Entry(endpoint, body, gzip(body), etag(body), expiresAt, dataset);
+    }
+
+    private byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize cached response", e);
+        }
+    }
+
+    // Null when the body is too small for gzip to pay off
+    private static byte[] gzip(byte[] body) {
+        if (body.length < GZIP_MIN_BYTES) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size() < body.length ? out.toByteArray() : null;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // gzip with a q-value above zero; "*" stands for it unless gzip is listed on its own
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                return qValue(params) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = qValue(params) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    // 1 when absent; a malformed value counts as 0 so a confused client gets identity
+    private static double qValue(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            int eq = params[i].indexOf('=');
+            if (eq > 0 && params[i].substring(0, eq).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(params[i].substring(eq + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // If-None-Match may list several tags or be "*"; weak validators and either encoding's tag match
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String gzipTag = etag.substring(0, etag.length() - 1) + "-gz\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Duration ttl(String endpoint) {
+        return ttls.computeIfAbsent(endpoint, e ->
+                environment.getProperty("ipl.cache.ttl." + e, Duration.class, defaultTtl));
+    }
+
+    private Stats stats(String endpoint) {
+        return stats.computeIfAbsent(endpoint, e -> new Stats());
+    }
+
+    /** Sizes of both regions and per-endpoint hit/miss counters, for the metrics endpoint. */
+    public Map<String, Object> metrics() {
+        Map<String, Object> endpoints = new TreeMap<>();
+        stats.forEach((endpoint, s) -> {
+            long hits = s.hits.sum();
+            long misses = s.misses.sum();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("hits", hits);
+            m.put("misses", misses);
+            m.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            m.put("notModified", s.notModified.sum());
+            m.put("gzipped", s.gzipped.sum());
+            m.put("evictions", s.evictions.sum());
+            m.put("expirations", s.expirations.sum());
+            m.put("ttlSeconds", ttl(endpoint).toSeconds());
+            endpoints.put(endpoint, m);
+        });
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            out.put("entries", entries.size());
+            out.put("bytes", bytes);
+        } finally {
+            lock.unlock();
+        }
+        out.put("maxEntries", maxEntries);
+        out.put("maxBytes", maxBytes);
+        out.put("prerenderedEntries", prerendered.size());
+        out.put("prerenderedBytes", prerenderedBytes.get());
+        out.put("prerenderedMaxBytes", prerenderMaxBytes);
+        out.put("endpoints", endpoints);
+        return out;
+    }
+}
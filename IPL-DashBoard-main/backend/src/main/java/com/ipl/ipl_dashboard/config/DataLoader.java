@@ -1,143 +1,210 @@
 package com.ipl.ipl_dashboard.config;
 
-import com.ipl.ipl_dashboard.data.MatchInput;
-import com.ipl.ipl_dashboard.data.MatchProcessor;
+import com.ipl.ipl_dashboard.data.IngestionPipeline;
+import com.ipl.ipl_dashboard.data.MappedCsvMatchSource;
+import com.ipl.ipl_dashboard.data.MatchAggregates;
+import com.ipl.ipl_dashboard.data.MatchSource;
+import com.ipl.ipl_dashboard.data.OpenCsvMatchSource;
+import com.ipl.ipl_dashboard.data.SnapshotFile;
+import com.ipl.ipl_dashboard.data.TeamNameNormalizer;
 import com.ipl.ipl_dashboard.model.Match;
 import com.ipl.ipl_dashboard.model.Player;
 import com.ipl.ipl_dashboard.model.Team;
-import com.ipl.ipl_dashboard.repository.MatchRepository;
+import com.ipl.ipl_dashboard.repository.MatchBatchWriter;
 import com.ipl.ipl_dashboard.repository.PlayerRepository;
 import com.ipl.ipl_dashboard.repository.TeamRepository;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
+import com.ipl.ipl_dashboard.store.MatchStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Component;
 
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ThreadFactory;
 
 @Component
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
 
-    private final MatchRepository matchRepo;
     private final TeamRepository teamRepo;
     private final PlayerRepository playerRepo; // Inject PlayerRepository
+    private final MatchBatchWriter matchWriter;
+    private final MatchStore matchStore;
+    private final Environment environment;
+    private final TeamNameNormalizer teamNames;
+
+    // External match CSV (e.g. a full historical dump); empty = bundled match-data.csv
+    @Value("${ipl.data.csv-path:}")
+    private String csvPath;
+
+    @Value("${ipl.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${ipl.snapshot.dir:${java.io.tmpdir}/ipl-dashboard}")
+    private String snapshotDir;
+
+    @Value("${ipl.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ipl.ingest.queue-capacity:8}")
+    private int queueCapacity;
+
+    // 0 = one transform worker per available core
+    @Value("${ipl.ingest.transform-threads:0}")
+    private int transformThreads;
+
+    // Team metadata: primaryColor, secondaryColor, tagline
+    private static final Map<String, String[]> TEAM_META = new HashMap<>();
+    static {
+        TEAM_META.put("Chennai Super Kings", new String[]{"#F7C600", "#002E6D", "Whistle Podu (Blow the Whistle)"});
+        TEAM_META.put("Mumbai Indians", new String[]{"#003A7C", "#FFD200", "Duniya Hila Denge Hum (We will rock the world)"});
+        TEAM_META.put("Royal Challengers Bangalore", new String[]{"#C8102E", "#FFB400", "Ee Sala Cup Namde (This year the cup is ours)"});
+        TEAM_META.put("Kolkata Knight Riders", new String[]{"#3B0A45", "#FDB827", "Korbo, Lorbo, Jeetbo Re (We will act, fight, and win!)"});
+        TEAM_META.put("Rajasthan Royals", new String[]{"#1D4E89", "#F9A8D4", "Halla Bol (Raise Your Voice)"});
+        TEAM_META.put("Delhi Capitals", new String[]{"#012C5A", "#7C3AED", "Dildaar Dilli"});
+        TEAM_META.put("Sunrisers Hyderabad", new String[]{"#FF6A00", "#0B132B", "Rise Up to Every Challenge (Orange Army)"});
+        TEAM_META.put("Punjab Kings", new String[]{"#D7263D", "#FFD60A", "Sada Punjab (Our Punjab)"});
+        TEAM_META.put("Gujarat Titans", new String[]{"#006A4E", "#00A1E4", "Sounds Like Thunder, Strikes Like Lightning, We Stop at Nothing"});
+        TEAM_META.put("Lucknow Super Giants", new String[]{"#1D4ED8", "#FFD54A", "Bhavhar Ka Team"});
+        TEAM_META.put("Deccan Chargers", new String[]{"#003366", "#00AEEF", "Guts and Glory (Go Charging!)"});
+        TEAM_META.put("Rising Pune Supergiants", new String[]{"#002D62", "#FF6F3C", "Dum Ka Naya Rang (A new color of power)"});
+        TEAM_META.put("Pune Warriors India", new String[]{"#B2182B", "#F5AB35", "Saahasala Khel Mandla (Chalo Khel Mandla)"});
+        TEAM_META.put("Gujarat Lions", new String[]{"#E65100", "#FFD166", "Game Maari Chhe (It's Our Game)"});
+        TEAM_META.put("Kochi Tuskers Kerala", new String[]{"#2f855a", "#ecc94b", "The Power of the Elephant"});
+    }
 
     @Override
     public void run(String... args) throws Exception {
-        Map<String, Team> teamMap = new HashMap<>();
-        Map<String, Player> playerMap = new HashMap<>();
-        List<Match> matches = new ArrayList<>();
-
-        // Team metadata: primaryColor, secondaryColor, tagline
-    Map<String, String[]> teamMeta = new HashMap<>();
-    teamMeta.put("Chennai Super Kings", new String[]{"#F7C600", "#002E6D", "Whistle Podu (Blow the Whistle)"});
-    teamMeta.put("Mumbai Indians", new String[]{"#003A7C", "#FFD200", "Duniya Hila Denge Hum (We will rock the world)"});
-    teamMeta.put("Royal Challengers Bangalore", new String[]{"#C8102E", "#FFB400", "Ee Sala Cup Namde (This year the cup is ours)"});
-    teamMeta.put("Kolkata Knight Riders", new String[]{"#3B0A45", "#FDB827", "Korbo, Lorbo, Jeetbo Re (We will act, fight, and win!)"});
-    teamMeta.put("Rajasthan Royals", new String[]{"#1D4E89", "#F9A8D4", "Halla Bol (Raise Your Voice)"});
-    teamMeta.put("Delhi Capitals", new String[]{"#012C5A", "#7C3AED", "Dildaar Dilli"});
-    teamMeta.put("Sunrisers Hyderabad", new String[]{"#FF6A00", "#0B132B", "Rise Up to Every Challenge (Orange Army)"});
-    teamMeta.put("Punjab Kings", new String[]{"#D7263D", "#FFD60A", "Sada Punjab (Our Punjab)"});
-    teamMeta.put("Gujarat Titans", new String[]{"#006A4E", "#00A1E4", "Sounds Like Thunder, Strikes Like Lightning, We Stop at Nothing"});
-    teamMeta.put("Lucknow Super Giants", new String[]{"#1D4ED8", "#FFD54A", "Bhavhar Ka Team"});
-    teamMeta.put("Deccan Chargers", new String[]{"#003366", "#00AEEF", "Guts and Glory (Go Charging!)"});
-    teamMeta.put("Rising Pune Supergiants", new String[]{"#002D62", "#FF6F3C", "Dum Ka Naya Rang (A new color of power)"});
-    teamMeta.put("Pune Warriors India", new String[]{"#B2182B", "#F5AB35", "Saahasala Khel Mandla (Chalo Khel Mandla)"});
-    teamMeta.put("Gujarat Lions", new String[]{"#E65100", "#FFD166", "Game Maari Chhe (It's Our Game)"});
-    teamMeta.put("Kochi Tuskers Kerala", new String[]{"#2f855a", "#ecc94b", "The Power of the Elephant"});
-
-        try (CSVReader csvReader = new CSVReaderBuilder(new InputStreamReader(
-                getClass().getResourceAsStream("/match-data.csv"))).withSkipLines(1).build()) {
-
-            String[] columns;
-            while ((columns = csvReader.readNext()) != null) {
-                MatchInput input = new MatchInput();
-
-                // Assign values from CSV columns to MatchInput fields
-                input.setId(columns[0]);
-                input.setSeason(columns[1]);
-                input.setCity(columns[2]);
-                input.setDate(columns[3]);
-                input.setMatch_type(columns[4]);
-                input.setPlayer_of_match(columns[5]);
-                input.setVenue(columns[6]);
-
-                input.setTeam1(normalizeTeamName(columns[7]));
-                input.setTeam2(normalizeTeamName(columns[8]));
-                input.setToss_winner(normalizeTeamName(columns[9]));
-
-                input.setToss_decision(columns[10]);
-                input.setWinner(normalizeTeamName(columns[11]));
-                input.setResult(columns[12]);
-                input.setResult_margin(columns[13]);
-                input.setTarget_runs(columns[14]);
-                input.setTarget_overs(columns[15]);
-                input.setSuper_over(columns[16]);
-                input.setMethod(columns[17]);
-                input.setUmpire1(columns[18]);
-                input.setUmpire2(columns[19]);
-
-                Match match = MatchProcessor.process(input);
-                matches.add(match);
-
-                // Track matches and wins per team (existing logic)
-                if (match.getTeam1() != null) {
-                    teamMap.putIfAbsent(match.getTeam1(), createTeamWithMeta(match.getTeam1(), teamMeta));
-                    teamMap.get(match.getTeam1()).setTotalMatches(teamMap.get(match.getTeam1()).getTotalMatches() + 1);
-                }
-
-                if (match.getTeam2() != null) {
-                    teamMap.putIfAbsent(match.getTeam2(), createTeamWithMeta(match.getTeam2(), teamMeta));
-                    teamMap.get(match.getTeam2()).setTotalMatches(teamMap.get(match.getTeam2()).getTotalMatches() + 1);
-                }
-
-                if (match.getMatchWinner() != null && !match.getMatchWinner().isBlank()) {
-                    teamMap.putIfAbsent(match.getMatchWinner(), createTeamWithMeta(match.getMatchWinner(), teamMeta));
-                    teamMap.get(match.getMatchWinner()).setTotalWins(teamMap.get(match.getMatchWinner()).getTotalWins() + 1);
-                }
-
-                // New: Track Player of the Match awards
-                String playerOfMatchName = input.getPlayer_of_match(); // Use getter from MatchInput
-                if (playerOfMatchName != null && !playerOfMatchName.isBlank() && !playerOfMatchName.equalsIgnoreCase("NA")) {
-                    // Use the correct constructor for Player
-                    playerMap.putIfAbsent(playerOfMatchName, new Player(playerOfMatchName, 0));
-                    // Use the correct getter for totalPlayerOfMatchAwards
-                    playerMap.get(playerOfMatchName).setTotalPlayerOfMatchAwards(
-                        playerMap.get(playerOfMatchName).getTotalPlayerOfMatchAwards() + 1
-                    );
+        Path csv = csvLocation();
+        // The snapshot holds normalised names, so it is only good for the aliases it was built with
+        long checksum = 31 * (csv != null ? SnapshotFile.checksum(csv) : checksumOfBundledCsv()) + teamNames.fingerprint();
+        Path snapshot = snapshotEnabled ? SnapshotFile.path(Path.of(snapshotDir), checksum) : null;
+        SnapshotFile.Contents contents = snapshot != null ? SnapshotFile.read(snapshot, checksum) : null;
+
+        List<Match> matches;
+        MatchAggregates aggregates;
+        if (contents != null) {
+            // Unchanged CSV: replay the processed rows, no parsing or team-name normalisation
+            long start = System.nanoTime();
+            matches = contents.matches();
+            aggregates = contents.aggregates();
+            for (int from = 0; from < matches.size(); from += batchSize) {
+                matchWriter.insert(matches.subList(from, Math.min(from + batchSize, matches.size())));
+            }
+            System.out.printf("✅ Loaded snapshot %s in %d ms%n", snapshot, (System.nanoTime() - start) / 1_000_000);
+        } else {
+            IngestionPipeline.Result result = ingest(csv);
+            matches = result.matches();
+            aggregates = result.aggregates();
+            if (snapshot != null) {
+                try {
+                    SnapshotFile.write(snapshot, checksum, matches, aggregates);
+                    System.out.println("✅ Snapshot written: " + snapshot);
+                } catch (IOException e) {
+                    System.err.println("Could not write snapshot " + snapshot + ": " + e.getMessage());
                 }
             }
         }
+        matchWriter.restartIdentityAfter(matches.size());
+
+        Map<String, Team> teamMap = new HashMap<>();
+        aggregates.getTeams().forEach((name, counts) -> {
+            Team team = newTeam(name);
+            team.setTotalMatches(counts[0]);
+            team.setTotalWins(counts[1]);
+            teamMap.put(name, team);
+        });
+
+        // Player of the Match awards
+        Map<String, Player> playerMap = new HashMap<>();
+        aggregates.getPlayerAwards().forEach((name, awards) -> playerMap.put(name, new Player(name, awards)));
 
-        // Persist processed data
-        matchRepo.saveAll(matches);
+        // Persist aggregates (matches were batch-inserted above)
         teamRepo.saveAll(teamMap.values());
         playerRepo.saveAll(playerMap.values());
 
         System.out.println("✅ Matches saved: " + matches.size());
         System.out.println("✅ Teams saved: " + teamMap.size());
         System.out.println("✅ Players saved: " + playerMap.size());
+
+        // Serve reads from memory from here on
+        matchStore.load(matches, teamMap.values(), playerMap.values());
     }
 
-    // Helper to create Team using metadata defaults
-    private Team createTeamWithMeta(String name, Map<String, String[]> teamMeta) {
-        String[] meta = teamMeta.getOrDefault(name, new String[]{"#2D3748", "#4A5568", ""});
-        return new Team(name, 0, 0, null, meta[0], meta[1], meta[2]);
+    // Full CSV ingestion through the parse -> transform -> write pipeline
+    private IngestionPipeline.Result ingest(Path csv) throws IOException, InterruptedException {
+        // Stage threads follow spring.threads.virtual.enabled (only honoured on Java 21+)
+        ThreadFactory stageThreads = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("ingest-").getVirtualThreadFactory()
+                : null;
+        IngestionPipeline pipeline = new IngestionPipeline(batchSize, queueCapacity,
+                transformThreads > 0 ? transformThreads : Runtime.getRuntime().availableProcessors(),
+                stageThreads);
+        IngestionPipeline.Result result;
+        long bytesParsed;
+        try (MatchSource source = openCsv(csv)) {
+            result = pipeline.run(source, teamNames::toMatch, matchWriter::insert);
+            bytesParsed = source.bytesConsumed();
+        }
+
+        for (IngestionPipeline.StageStats stage : result.stages()) {
+            System.out.printf("✅ Ingest %-9s %6d rows, %d thread(s), %,.0f rows/s%n",
+                    stage.stage(), stage.rows(), stage.threads(), stage.rowsPerSecond());
+        }
+        IngestionPipeline.StageStats parse = result.stages().get(0);
+        if (bytesParsed > 0 && parse.busyNanos() > 0) {
+            System.out.printf("✅ Ingest parse     %,.1f MB/s (%,d bytes)%n",
+                    bytesParsed * 1e9 / parse.busyNanos() / (1024 * 1024), bytesParsed);
+        }
+        System.out.printf("✅ Ingest total     %6d rows in %d ms%n",
+                result.matches().size(), result.wallNanos() / 1_000_000);
+        return result;
+    }
+
+    /** The configured match CSV, from the top; a full reload reads it again through this. */
+    public MatchSource openCsv() throws IOException {
+        try {
+            return openCsv(csvLocation());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private MatchSource openCsv(Path csv) throws IOException {
+        return csv != null
+                ? MappedCsvMatchSource.open(csv)
+                : new OpenCsvMatchSource(getClass().getResourceAsStream("/match-data.csv"));
     }
 
-    // Existing helper method
-    private String normalizeTeamName(String name) {
-        if (name == null || name.trim().equalsIgnoreCase("NA") || name.isBlank()) return null;
-
-        return switch (name.trim()) {
-            case "Rising Pune Supergiant", "Rising Pune Supergiants" -> "Rising Pune Supergiants";
-            case "Delhi Daredevils", "Delhi Capitals" -> "Delhi Capitals";
-            case "Kings XI Punjab", "Punjab Kings" -> "Punjab Kings";
-            case "Royal Challengers Bengaluru", "Royal Challengers Bangalore" -> "Royal Challengers Bangalore";
-            default -> name.trim();
-        };
+    // The CSV as a file that can be memory-mapped, or null when it is only available inside the jar
+    private Path csvLocation() throws URISyntaxException {
+        if (!csvPath.isBlank()) {
+            return Path.of(csvPath);
+        }
+        URL resource = getClass().getResource("/match-data.csv");
+        if (resource != null && "file".equals(resource.getProtocol())) {
+            return Path.of(resource.toURI());
+        }
+        return null;
+    }
+
+    private long checksumOfBundledCsv() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/match-data.csv")) {
+            return SnapshotFile.checksum(in);
+        }
+    }
+
+    // Helper to create Team using metadata defaults; also used for teams first seen by an incremental ingest
+    public static Team newTeam(String name) {
+        String[] meta = TEAM_META.getOrDefault(name, new String[]{"#2D3748", "#4A5568", ""});
+        return new Team(name, 0, 0, null, meta[0], meta[1], meta[2]);
     }
 }
@@ -0,0 +1,52 @@
+package com.ipl.ipl_dashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.netty.resources.LoopResources;
+
+import java.util.List;
+
+/**
+ * Netty server setup for {@code IPL_WEB_MODE=reactive}: a fixed, small set of event-loop threads
+ * serves every connection, and CORS mirrors {@link CorsConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    // Declared explicitly: with Tomcat also on the classpath, Boot would otherwise pick reactive Tomcat
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            @Value("${ipl.reactive.event-loop-threads:0}") int threads) {
+        // 0 = one event loop per available core
+        int loops = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(LoopResources.create("ipl-http", loops, true)));
+        System.out.println("✅ Reactive server running on " + loops + " Netty event-loop threads");
+        return factory;
+    }
+
+    @Bean
+    CorsWebFilter corsWebFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        // Allow local dev and Vercel deployments (including preview URLs)
+        cors.setAllowedOriginPatterns(List.of(
+                "http://localhost:3000",
+                "https://*.vercel.app",
+                "https://ipl-dashboard-frontend.vercel.app"
+        ));
+        cors.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        cors.addAllowedHeader("*");
+        cors.setAllowCredentials(false);
+        cors.setMaxAge(3600L);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        return new CorsWebFilter(source);
+    }
+}
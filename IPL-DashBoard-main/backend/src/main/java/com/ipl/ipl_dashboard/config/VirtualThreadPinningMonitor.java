@@ -0,0 +1,79 @@
+package com.ipl.ipl_dashboard.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In virtual-thread mode, streams the JFR {@code jdk.VirtualThreadPinned} event and logs where a
+ * virtual thread blocked while pinned to its carrier (inside a {@code synchronized} block or a native
+ * frame). Those are the spots that quietly cap throughput back at the carrier pool size.
+ */
+@Component
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Environment environment,
+                                       @Value("${ipl.threads.pinning-monitor.enabled:true}") boolean enabled,
+                                       @Value("${ipl.threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        this.enabled = enabled && Threading.VIRTUAL.isActive(environment);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::log);
+        stream.startAsync();
+        System.out.println("✅ Watching for virtual threads pinned longer than " + threshold.toMillis() + " ms");
+    }
+
+    private void log(RecordedEvent event) {
+        StringBuilder sb = new StringBuilder("Virtual thread pinned for ")
+                .append(event.getDuration().toMillis()).append(" ms");
+        RecordedStackTrace trace = event.getStackTrace();
+        if (trace != null) {
+            int shown = 0;
+            for (RecordedFrame frame : trace.getFrames()) {
+                if (shown++ == LOGGED_FRAMES) {
+                    break;
+                }
+                sb.append("\n    at ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        System.err.println(sb);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.ipl.ipl_dashboard.data.MappedCsvMatchSource;
+import com.ipl.ipl_dashboard.data.MatchSource;
+import com.ipl.ipl_dashboard.service.DatasetReloadService;
+import com.ipl.ipl_dashboard.service.MatchIngestService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+
+/**
+ * Data maintenance, authenticated with the {@code X-Admin-Token} header and off (403) while
+ * {@code ipl.admin.token} is unset:
+ * <ul>
+ *   <li>{@code POST /api/admin/matches}: bulk ingestion of a match CSV (same columns and header row as
+ *   {@code match-data.csv}), sent as {@code text/csv}; a header without those columns is a 400. Rows
+ *   whose {@code id} is already loaded are skipped. When a drop directory is configured, an accepted
+ *   body is also saved there, so it is applied again (and deduplicated) after a restart, which reloads
+ *   the original CSV.</li>
+ *   <li>{@code POST /api/admin/reload}: rebuilds the dataset with the current team-name aliases and
+ *   swaps it in without interrupting reads; see {@link DatasetReloadService}.</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final MatchIngestService ingestService;
+    private final DatasetReloadService reloadService;
+    private final byte[] adminToken;
+    private final Path dropDir;
+
+    public AdminController(MatchIngestService ingestService, DatasetReloadService reloadService,
+                           @Value("${ipl.admin.token:}") String adminToken,
+                           @Value("${ipl.ingest.drop-dir:}") String dropDir) {
+        this.ingestService = ingestService;
+        this.reloadService = reloadService;
+        this.adminToken = adminToken.isBlank() ? null : adminToken.getBytes(StandardCharsets.UTF_8);
+        this.dropDir = dropDir.isBlank() ? null : Path.of(dropDir);
+    }
+
+    @PostMapping(path = "/matches", consumes = "text/csv")
+    public MatchIngestService.Result ingest(@RequestHeader(name = "X-Admin-Token", required = false) String token,
+                                            @RequestBody byte[] csv) {
+        checkToken(token);
+        MatchIngestService.Result result;
+        try (MatchSource source = new MappedCsvMatchSource(ByteBuffer.wrap(csv))) {
+            result = ingestService.ingest(source, "POST /api/admin/matches");
+        } catch (IllegalArgumentException | IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        if (result.added() > 0 && dropDir != null) {
+            keep(csv);
+        }
+        return result;
+    }
+
+    @PostMapping("/reload")
+    public DatasetReloadService.Result reload(@RequestHeader(name = "X-Admin-Token", required = false) String token) {
+        checkToken(token);
+        try {
+            return reloadService.reload("POST /api/admin/reload");
+        } catch (IllegalArgumentException | IOException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    private void checkToken(String token) {
+        if (adminToken == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin endpoints are disabled");
+        }
+        if (token == null || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bad admin token");
+        }
+    }
+
+    // Written under a dot name and moved into place, so the directory scan never sees half a file
+    private void keep(byte[] csv) {
+        try {
+            Files.createDirectories(dropDir);
+            Path tmp = Files.createTempFile(dropDir, ".ingest-", ".tmp");
+            Files.write(tmp, csv);
+            Files.move(tmp, dropDir.resolve("ingest-" + System.currentTimeMillis() + ".csv"),
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not keep ingested batch in " + dropDir + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,28 +1,66 @@
 package com.ipl.ipl_dashboard.controller;
 
-import com.ipl.ipl_dashboard.dto.IconicMatchDto;
+import com.ipl.ipl_dashboard.cache.ResponseCache;
 import com.ipl.ipl_dashboard.service.IconicMatchService;
-import org.springframework.http.ResponseEntity;
+import com.ipl.ipl_dashboard.stats.IconicPool;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetLoadedEvent;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.EventListener;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/v1")
 public class IconicMatchController {
 
     private final IconicMatchService iconicMatchService;
+    private final MatchStore matchStore;
+    private final ResponseCache responseCache;
 
-    public IconicMatchController(IconicMatchService iconicMatchService) {
+    public IconicMatchController(IconicMatchService iconicMatchService, MatchStore matchStore,
+                                 ResponseCache responseCache) {
         this.iconicMatchService = iconicMatchService;
+        this.matchStore = matchStore;
+        this.responseCache = responseCache;
     }
 
+    // The pick is random, but each candidate's payload is rendered once per dataset. Entries are keyed
+    // by match id rather than row, so a key always names the same match whichever pool produced it
     @GetMapping("/iconic-match")
-    public ResponseEntity<?> getIconicMatch() {
-        IconicMatchDto dto = iconicMatchService.pickRandomIconicMatch();
-        if (dto == null) {
-            return ResponseEntity.noContent().build();
+    public void getIconicMatch(
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String team,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        IconicPool pool = dataset.view(IconicPool.class);
+        int row = pool.pick(SeasonController.seasonName(dataset, season), team);
+        if (row < 0) {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            return;
+        }
+        responseCache.respond(dataset, "iconic-match", key(pool, row), request, response,
+                () -> iconicMatchService.toDto(pool, row));
+    }
+
+    static String key(IconicPool pool, int row) {
+        return Integer.toString(pool.matches().id(row));
+    }
+
+    @EventListener
+    public void prerender(DatasetLoadedEvent event) {
+        Dataset dataset = event.dataset();
+        IconicPool pool = dataset.view(IconicPool.class);
+        for (int row : pool.candidates()) {
+            responseCache.prerender(dataset, "iconic-match", key(pool, row),
+                    () -> iconicMatchService.toDto(pool, row));
         }
-        return ResponseEntity.ok(dto);
     }
 }
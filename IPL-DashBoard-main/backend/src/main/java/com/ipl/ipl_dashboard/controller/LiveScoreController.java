@@ -0,0 +1,45 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.ipl.ipl_dashboard.live.LiveScore;
+import com.ipl.ipl_dashboard.live.LiveScoreEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Live scores. Clients subscribe to {@code /app/live/{matchId}} once for a snapshot, then to
+ * {@code /topic/live/{matchId}} for deltas; the REST endpoints serve the same snapshots for a page load
+ * or a resync after a version gap.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/live")
+public class LiveScoreController {
+
+    private final LiveScoreEngine liveScoreEngine;
+
+    @GetMapping
+    public List<LiveScore> getLiveMatches() {
+        return liveScoreEngine.snapshots();
+    }
+
+    @GetMapping("/{matchId}")
+    public ResponseEntity<LiveScore> getLiveMatch(@PathVariable String matchId) {
+        return ResponseEntity.of(liveScoreEngine.snapshot(matchId));
+    }
+
+    // STOMP SUBSCRIBE to /app/live/{matchId}: answered once, straight to the subscriber
+    @SubscribeMapping("/live/{matchId}")
+    public LiveScore subscribe(@DestinationVariable String matchId) {
+        return liveScoreEngine.snapshot(matchId).orElse(null);
+    }
+}
@@ -1,11 +1,24 @@
 package com.ipl.ipl_dashboard.controller;
 
+import com.ipl.ipl_dashboard.dto.MatchFilterPage;
+import com.ipl.ipl_dashboard.dto.MatchPage;
+import com.ipl.ipl_dashboard.filter.BitmapIndex;
+import com.ipl.ipl_dashboard.filter.MatchFilter;
+import com.ipl.ipl_dashboard.filter.RowBitmap;
 import com.ipl.ipl_dashboard.model.Match;
-import com.ipl.ipl_dashboard.repository.MatchRepository;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.MatchSelection;
+import com.ipl.ipl_dashboard.store.MatchStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 @RestController
 @RequestMapping({"/match", "/api/v1/match"})
@@ -13,11 +26,55 @@ import java.util.Random;
 @CrossOrigin
 public class MatchController {
 
-    private final MatchRepository matchRepo;
+    private final MatchStore matchStore;
+    private final MatchListResponses matchLists;
 
     @GetMapping("/{id}")
     public Match getMatchById(@PathVariable Long id) {
-        return matchRepo.findById(id).orElse(null);
+        return matchStore.findMatch(id).orElse(null);
+    }
+
+    /**
+     * Matches selected by a filter expression over any mix of dimensions (see {@link MatchFilter}), e.g.
+     * {@code q=stage:playoff AND venue:Wankhede* AND tossDecision:field AND tossWinnerWon:false AND year:2015..2020}.
+     * Returns the total count, per-value counts for each dimension named in {@code facets}, and one
+     * keyset page of the matches, newest first.
+     */
+    @GetMapping("/filter")
+    public MatchFilterPage<Object> filter(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchListResponses.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String fields) {
+        MatchFilter filter;
+        try {
+            filter = MatchFilter.parse(q);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Dataset dataset = matchStore.current();
+        BitmapIndex index = dataset.view(BitmapIndex.class);
+        RowBitmap hits = filter.evaluate(index);
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        if (facets != null && !facets.isBlank()) {
+            for (String name : facets.split(",")) {
+                String dimension = name.trim();
+                if (!BitmapIndex.dimensions().contains(dimension)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Unknown facet '" + dimension + "', expected one of " + BitmapIndex.dimensions());
+                }
+                counts.put(dimension, index.facet(dimension, hits));
+            }
+        }
+        MatchPage<Object> page = matchLists.page(MatchSelection.of(dataset, hits.toArray()), cursor, limit, fields, null);
+        return new MatchFilterPage<>(hits.cardinality(), counts, page.items(), page.nextCursor());
+    }
+
+    // Dimension names accepted by the filter and its facets
+    @GetMapping("/filter/dimensions")
+    public Set<String> filterDimensions() {
+        return BitmapIndex.dimensions();
     }
 }
- 
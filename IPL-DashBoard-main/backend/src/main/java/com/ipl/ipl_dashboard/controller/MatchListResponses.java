@@ -0,0 +1,109 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipl.ipl_dashboard.dto.MatchPage;
+import com.ipl.ipl_dashboard.store.MatchCursor;
+import com.ipl.ipl_dashboard.store.MatchProjection;
+import com.ipl.ipl_dashboard.store.MatchSelection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Shared plumbing for the match-list endpoints: {@code fields=} projections (summaries by default),
+ * cursor parsing, limit clamping and the NDJSON variant, which serializes one match per line as it
+ * walks the posting list.
+ */
+@Component
+@RequiredArgsConstructor
+class MatchListResponses {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private final ObjectMapper objectMapper;
+
+    /** Whole list, projected (summaries unless {@code fields} is given). */
+    List<Object> list(MatchSelection selection, String fields, String team) {
+        return selection.all(selection.mapper(projection(fields), team));
+    }
+
+    MatchPage<Object> page(MatchSelection selection, String cursor, int limit, String fields, String team) {
+        IntFunction<Object> mapper = selection.mapper(projection(fields), team);
+        return selection.page(cursor(cursor), Math.max(1, Math.min(limit, MAX_LIMIT)), mapper);
+    }
+
+    /**
+     * Reactive NDJSON: rows are pulled from the selection only as the client's demand allows, so a slow
+     * reader holds a cursor into the posting list rather than a serialized backlog.
+     */
+    Mono<ServerResponse> ndjsonFlux(MatchSelection selection, String cursor, String fields, String team) {
+        MatchCursor after = cursor(cursor);
+        IntFunction<Object> mapper = selection.mapper(projection(fields), team);
+        Flux<DataBuffer> lines = Flux.fromStream(() -> selection.stream(after, mapper))
+                .map(item -> {
+                    byte[] json = json(item);
+                    return DefaultDataBufferFactory.sharedInstance.allocateBuffer(json.length + 1)
+                            .write(json).write((byte) '\n');
+                });
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromDataBuffers(lines));
+    }
+
+    ResponseEntity<StreamingResponseBody> ndjson(MatchSelection selection, String cursor, String fields, String team) {
+        MatchCursor after = cursor(cursor);
+        IntFunction<Object> mapper = selection.mapper(projection(fields), team);
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 8192);
+            Iterator<Object> it = selection.stream(after, mapper).iterator();
+            while (it.hasNext()) {
+                buffered.write(json(it.next()));
+                buffered.write('\n');
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MatchProjection projection(String fields) {
+        try {
+            return MatchProjection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static MatchCursor cursor(String token) {
+        try {
+            return MatchCursor.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
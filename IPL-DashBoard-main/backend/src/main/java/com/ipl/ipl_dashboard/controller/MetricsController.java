@@ -0,0 +1,49 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.ipl.ipl_dashboard.broadcast.TopicBroadcaster;
+import com.ipl.ipl_dashboard.cache.ResponseCache;
+import com.ipl.ipl_dashboard.live.LiveScoreEngine;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final ResponseCache responseCache;
+    private final LiveScoreEngine liveScoreEngine;
+    private final ObjectProvider<TopicBroadcaster> topicBroadcaster;
+    private final MatchStore matchStore;
+
+    // Response cache size and per-endpoint hit/miss counters
+    @GetMapping("/cache")
+    public Map<String, Object> cache() {
+        return responseCache.metrics();
+    }
+
+    // Dataset version being served and retired versions not yet garbage collected
+    @GetMapping("/dataset")
+    public Map<String, Object> dataset() {
+        return matchStore.metrics();
+    }
+
+    // Live feed frames, versions and how many of them were conflated into fewer broadcasts
+    @GetMapping("/live")
+    public Map<String, Object> live() {
+        return liveScoreEngine.metrics();
+    }
+
+    // STOMP fan-out: sessions, subscriptions, publish-to-write latency, conflated/dropped messages
+    @GetMapping("/broadcast")
+    public Map<String, Object> broadcast() {
+        TopicBroadcaster broadcaster = topicBroadcaster.getIfAvailable();
+        return broadcaster == null ? Map.of() : broadcaster.metrics();
+    }
+}
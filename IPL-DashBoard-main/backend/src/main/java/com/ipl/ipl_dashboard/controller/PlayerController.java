@@ -1,14 +1,26 @@
 package com.ipl.ipl_dashboard.controller;
 
-import com.ipl.ipl_dashboard.model.Match;
+import com.ipl.ipl_dashboard.cache.ResponseCache;
+import com.ipl.ipl_dashboard.dto.Leaderboard;
+import com.ipl.ipl_dashboard.dto.MatchPage;
 import com.ipl.ipl_dashboard.model.Player;
-import com.ipl.ipl_dashboard.repository.MatchRepository;
-import com.ipl.ipl_dashboard.repository.PlayerRepository;
+import com.ipl.ipl_dashboard.stats.PlayerLeaderboards;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetLoadedEvent;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,25 +28,114 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class PlayerController {
 
-    private final PlayerRepository playerRepo;
-    private final MatchRepository matchRepo; // To fetch matches where player was Player of Match
+    static final int DEFAULT_LEADERBOARD_LIMIT = 10;
+    static final int MAX_LEADERBOARD_LIMIT = 100;
+
+    private final MatchStore matchStore;
+    private final ResponseCache responseCache;
+    private final MatchListResponses matchLists;
 
     // Get all players with their Player of Match awards
     @GetMapping
-    public List<Player> getAllPlayers() {
-        return playerRepo.findAll();
+    public void getAllPlayers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "players", "", request, response, () -> matchStore.players(dataset));
+    }
+
+    // Player of the Match leaderboard: overall, or for one season, team or venue
+    @GetMapping("/leaderboard")
+    public void getLeaderboard(
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String venue,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "" + DEFAULT_LEADERBOARD_LIMIT) int limit,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        Optional<Leaderboard> board = leaderboard(dataset, season, team, venue, offset, limit);
+        if (board.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        responseCache.respond(dataset, "leaderboard", key(board.get()), request, response, board::get);
+    }
+
+    // At most one of season, team and venue; 404 when it is not in the data
+    Optional<Leaderboard> leaderboard(Dataset dataset, String season, String team, String venue, int offset,
+                                      int limit) {
+        int scopes = (season != null ? 1 : 0) + (team != null ? 1 : 0) + (venue != null ? 1 : 0);
+        if (scopes > 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pass at most one of season, team and venue");
+        }
+        String scope = season != null ? PlayerLeaderboards.SEASON
+                : team != null ? PlayerLeaderboards.TEAM
+                : venue != null ? PlayerLeaderboards.VENUE
+                : PlayerLeaderboards.OVERALL;
+        String key = season != null ? SeasonController.seasonName(dataset, season) : team != null ? team : venue;
+        return dataset.view(PlayerLeaderboards.class)
+                .page(scope, key, Math.max(0, offset), Math.max(1, Math.min(limit, MAX_LEADERBOARD_LIMIT)));
+    }
+
+    static String key(Leaderboard board) {
+        return board.scope() + '|' + board.key() + '|' + board.offset() + '|' + board.limit();
     }
 
     // Get a specific player's details (e.g., total Player of Match awards)
     @GetMapping("/{playerName}")
-    public Player getPlayer(@PathVariable String playerName) {
-        return playerRepo.findById(playerName).orElse(null);
+    public void getPlayer(
+            @PathVariable String playerName,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "player", playerName, request, response,
+                () -> dataset.players().get(playerName));
     }
 
     // Get all matches where a specific player was Player of the Match
     @GetMapping("/{playerName}/player-of-match-awards")
-    public List<Match> getPlayerOfMatchAwards(@PathVariable String playerName) {
+    public void getPlayerOfMatchAwards(
+            @PathVariable String playerName,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         // Assuming 'playerOfMatch' field in Match model directly stores the player's name
-        return matchRepo.findByPlayerOfMatchOrderByDateDesc(playerName);
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "player-of-match-awards", playerName + '|' + fields, request, response,
+                () -> matchLists.list(matchStore.playerOfMatchSelection(dataset, playerName), fields, null));
+    }
+
+    // Player of the Match awards, newest first, one keyset page at a time
+    @GetMapping(value = "/{playerName}/player-of-match-awards/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public MatchPage<Object> getPlayerOfMatchAwardsPage(
+            @PathVariable String playerName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchListResponses.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String fields) {
+        return matchLists.page(matchStore.playerOfMatchSelection(playerName), cursor, limit, fields, null);
+    }
+
+    @GetMapping(value = "/{playerName}/player-of-match-awards/page", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPlayerOfMatchAwards(
+            @PathVariable String playerName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        return matchLists.ndjson(matchStore.playerOfMatchSelection(playerName), cursor, fields, null);
+    }
+
+    // Render the player list, the default leaderboard, player cards and award lists once per dataset
+    @EventListener
+    public void prerender(DatasetLoadedEvent event) {
+        Dataset dataset = event.dataset();
+        responseCache.prerender(dataset, "players", "", () -> matchStore.players(dataset));
+        dataset.view(PlayerLeaderboards.class)
+                .page(PlayerLeaderboards.OVERALL, null, 0, DEFAULT_LEADERBOARD_LIMIT)
+                .ifPresent(board -> responseCache.prerender(dataset, "leaderboard", key(board), () -> board));
+        for (Player player : dataset.players().values()) {
+            String name = player.getName();
+            responseCache.prerender(dataset, "player", name, () -> player);
+            responseCache.prerender(dataset, "player-of-match-awards", name + "|null",
+                    () -> matchLists.list(matchStore.playerOfMatchSelection(dataset, name), null, null));
+        }
     }
 }
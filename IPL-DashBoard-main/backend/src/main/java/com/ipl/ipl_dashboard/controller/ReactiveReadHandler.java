@@ -0,0 +1,235 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.ipl.ipl_dashboard.cache.ResponseCache;
+import com.ipl.ipl_dashboard.service.IconicMatchService;
+import com.ipl.ipl_dashboard.stats.HeadToHeadMatrix;
+import com.ipl.ipl_dashboard.stats.IconicPool;
+import com.ipl.ipl_dashboard.stats.TeamTimeSeries;
+import com.ipl.ipl_dashboard.stats.VenueTossStats;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.MatchSelection;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Handler functions behind {@link ReactiveRoutes}. Every read is answered from the in-memory dataset
+ * (or the response cache) without blocking, so the handlers run directly on the event loop; the
+ * payloads are the ones the servlet controllers build.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveReadHandler {
+
+    private final MatchStore matchStore;
+    private final ResponseCache responseCache;
+    private final MatchListResponses matchLists;
+    private final TeamController teams;
+    private final PlayerController players;
+    private final SearchController search;
+    private final IconicMatchService iconicMatchService;
+
+    Mono<ServerResponse> teams(ServerRequest request) {
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "teams", "", request, () -> matchStore.teams(dataset));
+    }
+
+    Mono<ServerResponse> team(ServerRequest request) {
+        String teamName = request.pathVariable("teamName");
+        String season = param(request, "season");
+        String fields = param(request, "fields");
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "team", teamName + '|' + season + '|' + fields, request,
+                () -> teams.loadTeam(dataset, teamName, season, fields));
+    }
+
+    Mono<ServerResponse> headToHead(ServerRequest request) {
+        String team1Name = required(request, "team1Name");
+        String team2Name = required(request, "team2Name");
+        String fields = param(request, "fields");
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "head-to-head", team1Name + '|' + team2Name + '|' + fields, request,
+                () -> teams.headToHead(dataset, team1Name, team2Name, fields));
+    }
+
+    Mono<ServerResponse> rivalries(ServerRequest request) {
+        String season = param(request, "season");
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "rivalries", String.valueOf(season), request,
+                () -> dataset.view(HeadToHeadMatrix.class).grid(season));
+    }
+
+    Mono<ServerResponse> teamMatches(ServerRequest request) {
+        String teamName = request.pathVariable("teamName");
+        return matches(request, matchStore.teamSelection(teamName, param(request, "season")), teamName);
+    }
+
+    Mono<ServerResponse> teamVenues(ServerRequest request) {
+        return jsonOrNotFound(matchStore.current().view(VenueTossStats.class)
+                .teamVenues(request.pathVariable("teamName")));
+    }
+
+    Mono<ServerResponse> winRate(ServerRequest request) {
+        return jsonOrNotFound(teams.series().winRate(request.pathVariable("teamName"),
+                dateParam(request, "from"), dateParam(request, "to")));
+    }
+
+    Mono<ServerResponse> form(ServerRequest request) {
+        return jsonOrNotFound(teams.form(request.pathVariable("teamName"),
+                intParam(request, "last", TeamController.DEFAULT_FORM), dateParam(request, "asOf")));
+    }
+
+    Mono<ServerResponse> trend(ServerRequest request) {
+        String teamName = request.pathVariable("teamName");
+        String bucket = request.queryParam("bucket").orElse(TeamTimeSeries.SEASON);
+        int window = intParam(request, "window", TeamController.DEFAULT_WINDOW);
+        String key = TeamController.trendKey(teamName, bucket, window);
+        Dataset dataset = matchStore.current();
+        TeamTimeSeries series = dataset.view(TeamTimeSeries.class);
+        if (!series.contains(teamName)) {
+            return ServerResponse.notFound().build();
+        }
+        return responseCache.respond(dataset, "trend", key, request,
+                () -> series.trend(teamName, bucket, window).orElseThrow());
+    }
+
+    Mono<ServerResponse> headToHeadMatches(ServerRequest request) {
+        String team1Name = required(request, "team1Name");
+        String team2Name = required(request, "team2Name");
+        return matches(request, matchStore.headToHeadSelection(team1Name, team2Name), team1Name);
+    }
+
+    Mono<ServerResponse> players(ServerRequest request) {
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "players", "", request, () -> matchStore.players(dataset));
+    }
+
+    Mono<ServerResponse> leaderboard(ServerRequest request) {
+        Dataset dataset = matchStore.current();
+        return players.leaderboard(dataset, param(request, "season"), param(request, "team"),
+                        param(request, "venue"), intParam(request, "offset", 0),
+                        intParam(request, "limit", PlayerController.DEFAULT_LEADERBOARD_LIMIT))
+                .map(board -> responseCache.respond(dataset, "leaderboard", PlayerController.key(board), request,
+                        () -> board))
+                .orElseGet(() -> ServerResponse.notFound().build());
+    }
+
+    Mono<ServerResponse> player(ServerRequest request) {
+        String playerName = request.pathVariable("playerName");
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "player", playerName, request,
+                () -> dataset.players().get(playerName));
+    }
+
+    Mono<ServerResponse> playerOfMatchAwards(ServerRequest request) {
+        String playerName = request.pathVariable("playerName");
+        String fields = param(request, "fields");
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "player-of-match-awards", playerName + '|' + fields, request,
+                () -> matchLists.list(matchStore.playerOfMatchSelection(dataset, playerName), fields, null));
+    }
+
+    Mono<ServerResponse> playerOfMatchAwardsPage(ServerRequest request) {
+        return matches(request, matchStore.playerOfMatchSelection(request.pathVariable("playerName")), null);
+    }
+
+    Mono<ServerResponse> seasons(ServerRequest request) {
+        Dataset dataset = matchStore.current();
+        return responseCache.respond(dataset, "seasons", "", request,
+                () -> SeasonController.tables(dataset).seasons());
+    }
+
+    Mono<ServerResponse> season(ServerRequest request) {
+        Dataset dataset = matchStore.current();
+        return SeasonController.tables(dataset).season(request.pathVariable("season"))
+                .map(table -> responseCache.respond(dataset, "season", table.summary().season(), request,
+                        () -> table))
+                .orElseGet(() -> ServerResponse.notFound().build());
+    }
+
+    Mono<ServerResponse> search(ServerRequest request) {
+        boolean fuzzy = Boolean.parseBoolean(request.queryParam("fuzzy").orElse("false"));
+        return json(search.search(required(request, "query"), fuzzy));
+    }
+
+    Mono<ServerResponse> suggest(ServerRequest request) {
+        return json(search.suggest(required(request, "query"), intParam(request, "limit", 10)));
+    }
+
+    Mono<ServerResponse> iconicMatch(ServerRequest request) {
+        Dataset dataset = matchStore.current();
+        IconicPool pool = dataset.view(IconicPool.class);
+        String season = SeasonController.seasonName(dataset, param(request, "season"));
+        int row = pool.pick(season, param(request, "team"));
+        if (row < 0) {
+            return ServerResponse.noContent().build();
+        }
+        return responseCache.respond(dataset, "iconic-match", IconicMatchController.key(pool, row), request,
+                () -> iconicMatchService.toDto(pool, row));
+    }
+
+    // One keyset page as JSON, or the rest of the list as NDJSON when asked for explicitly
+    private Mono<ServerResponse> matches(ServerRequest request, MatchSelection selection, String team) {
+        String cursor = param(request, "cursor");
+        String fields = param(request, "fields");
+        if (ReactiveRoutes.wantsNdjson(request)) {
+            return matchLists.ndjsonFlux(selection, cursor, fields, team);
+        }
+        int limit = intParam(request, "limit", MatchListResponses.DEFAULT_LIMIT);
+        return json(matchLists.page(selection, cursor, limit, fields, team));
+    }
+
+    private static Mono<ServerResponse> json(Object body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private static Mono<ServerResponse> jsonOrNotFound(Optional<?> body) {
+        return body.map(ReactiveReadHandler::json).orElseGet(() -> ServerResponse.notFound().build());
+    }
+
+    private static String param(ServerRequest request, String name) {
+        return request.queryParam(name).orElse(null);
+    }
+
+    private static String required(ServerRequest request, String name) {
+        return request.queryParam(name).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required parameter '" + name + "' is not present."));
+    }
+
+    private static LocalDate dateParam(ServerRequest request, String name) {
+        String value = param(request, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parameter '" + name + "' must be a date (yyyy-MM-dd)");
+        }
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = param(request, name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter '" + name + "' must be a number");
+        }
+    }
+}
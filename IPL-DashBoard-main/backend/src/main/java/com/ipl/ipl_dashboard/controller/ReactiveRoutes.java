@@ -0,0 +1,54 @@
+package com.ipl.ipl_dashboard.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Functional routes for the team, player, season, search and iconic-match reads when the app runs as a
+ * WebFlux server ({@code IPL_WEB_MODE=reactive}). Paths, parameters and payloads match the servlet
+ * controllers; router functions are consulted before annotated handlers, so these win.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRoutes {
+
+    @Bean
+    RouterFunction<ServerResponse> readRoutes(ReactiveReadHandler handler) {
+        return route()
+                .path("/api/v1/team", team -> team
+                        .GET("", handler::teams)
+                        .GET("/head-to-head/matches", handler::headToHeadMatches)
+                        .GET("/head-to-head", handler::headToHead)
+                        .GET("/rivalries", handler::rivalries)
+                        .GET("/{teamName}/matches", handler::teamMatches)
+                        .GET("/{teamName}/venues", handler::teamVenues)
+                        .GET("/{teamName}/win-rate", handler::winRate)
+                        .GET("/{teamName}/form", handler::form)
+                        .GET("/{teamName}/trend", handler::trend)
+                        .GET("/{teamName}", handler::team))
+                .path("/api/v1/players", players -> players
+                        .GET("", handler::players)
+                        .GET("/leaderboard", handler::leaderboard)
+                        .GET("/{playerName}/player-of-match-awards/page", handler::playerOfMatchAwardsPage)
+                        .GET("/{playerName}/player-of-match-awards", handler::playerOfMatchAwards)
+                        .GET("/{playerName}", handler::player))
+                .GET("/api/v1/seasons", handler::seasons)
+                .GET("/api/v1/seasons/{season}", handler::season)
+                .GET("/api/v1/search/suggest", handler::suggest)
+                .GET("/api/v1/search", handler::search)
+                .GET("/api/v1/iconic-match", handler::iconicMatch)
+                .build();
+    }
+
+    // Like the servlet produces= split: NDJSON only when the client names it, JSON for */*
+    static boolean wantsNdjson(ServerRequest request) {
+        return request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+}
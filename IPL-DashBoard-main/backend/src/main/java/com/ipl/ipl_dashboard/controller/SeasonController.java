@@ -0,0 +1,78 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.ipl.ipl_dashboard.cache.ResponseCache;
+import com.ipl.ipl_dashboard.dto.SeasonSummary;
+import com.ipl.ipl_dashboard.dto.SeasonTable;
+import com.ipl.ipl_dashboard.stats.SeasonTables;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetLoadedEvent;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Season pages, served from the {@link SeasonTables} materialised with each dataset. A season is named
+ * as in the data ("2021") or, for the two-year ones, by the year it was played in ("2008" for 2007/08).
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/seasons")
+public class SeasonController {
+
+    private final MatchStore matchStore;
+    private final ResponseCache responseCache;
+
+    // Every season with its champion and runner-up, oldest first
+    @GetMapping
+    public void getSeasons(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "seasons", "", request, response, () -> tables(dataset).seasons());
+    }
+
+    // League table with form, playoff matches and champion of one season; 404 for an unknown season
+    @GetMapping("/{season}")
+    public void getSeason(
+            @PathVariable String season,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        Optional<SeasonTable> table = tables(dataset).season(season);
+        if (table.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Keyed by the season's own name, so "2008" and "2007/08" share an entry
+        responseCache.respond(dataset, "season", table.get().summary().season(), request, response, table::get);
+    }
+
+    static SeasonTables tables(Dataset dataset) {
+        return dataset.view(SeasonTables.class);
+    }
+
+    // A ?season= parameter as named in the data, so every endpoint takes "2010" for 2009/10; null stays null
+    static String seasonName(Dataset dataset, String season) {
+        return season == null ? null : tables(dataset).name(season).orElse(season);
+    }
+
+    @EventListener
+    public void prerender(DatasetLoadedEvent event) {
+        Dataset dataset = event.dataset();
+        SeasonTables tables = tables(dataset);
+        responseCache.prerender(dataset, "seasons", "", tables::seasons);
+        for (SeasonSummary summary : tables.seasons()) {
+            tables.season(summary.season()).ifPresent(table ->
+                    responseCache.prerender(dataset, "season", summary.season(), () -> table));
+        }
+    }
+}
@@ -1,15 +1,35 @@
 package com.ipl.ipl_dashboard.controller;
 
-import com.ipl.ipl_dashboard.model.Match;
-import com.ipl.ipl_dashboard.model.Team;
-import com.ipl.ipl_dashboard.repository.MatchRepository;
-import com.ipl.ipl_dashboard.repository.TeamRepository;
+import com.ipl.ipl_dashboard.cache.ResponseCache;
+import com.ipl.ipl_dashboard.dto.MatchPage;
+import com.ipl.ipl_dashboard.dto.TeamDetail;
+import com.ipl.ipl_dashboard.dto.TeamForm;
+import com.ipl.ipl_dashboard.dto.WinRate;
+import com.ipl.ipl_dashboard.model.VenueStats;
+import com.ipl.ipl_dashboard.stats.HeadToHeadMatrix;
+import com.ipl.ipl_dashboard.stats.TeamTimeSeries;
+import com.ipl.ipl_dashboard.stats.VenueTossStats;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetLoadedEvent;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -17,60 +37,208 @@ import java.util.Map;
 @RequestMapping("/api/v1/team")
 public class TeamController {
 
-    private final TeamRepository teamRepo;
-    private final MatchRepository matchRepo;
+    static final int DEFAULT_FORM = 5;
+    static final int DEFAULT_WINDOW = 10;
+
+    private final MatchStore matchStore;
+    private final ResponseCache responseCache;
+    private final MatchListResponses matchLists;
 
     // Get all teams
     @GetMapping
-    public List<Team> getAllTeams() {
-        return teamRepo.findAll();
+    public void getAllTeams(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "teams", "", request, response, () -> matchStore.teams(dataset));
     }
 
     // Get team details + all matches (or filtered by season)
     @GetMapping("/{teamName}")
-    public Team getTeam(
+    public void getTeam(
             @PathVariable String teamName,
-            @RequestParam(required = false) String season) {
-        Team team = teamRepo.findById(teamName).orElse(null);
-
-        if (team != null) {
-            List<Match> matches;
-            if (season != null && !season.isBlank()) {
-                matches = matchRepo.findBySeasonAndTeam1OrSeasonAndTeam2OrderByDateDesc(
-                        season, teamName, season, teamName);
-            } else {
-                matches = matchRepo.findByTeam1OrTeam2OrderByDateDesc(teamName, teamName);
-            }
-            team.setMatches(matches); // Corrected setter name
-        }
-        return team;
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "team", teamName + '|' + season + '|' + fields, request, response,
+                () -> loadTeam(dataset, teamName, season, fields));
+    }
+
+    // Matches are summaries (or the requested fields), never the Match entity itself
+    TeamDetail loadTeam(Dataset dataset, String teamName, String season, String fields) {
+        return matchStore.team(dataset, teamName)
+                .map(team -> TeamDetail.of(team,
+                        matchLists.list(matchStore.teamSelection(dataset, teamName, season), fields, teamName)))
+                .orElse(null);
     }
 
     // Get head-to-head matches and stats between two teams
     @GetMapping("/head-to-head")
-    public Map<String, Object> getHeadToHead(
+    public void getHeadToHead(
             @RequestParam String team1Name,
-            @RequestParam String team2Name) {
-
-        List<Match> headToHeadMatches = matchRepo.findByTeam1AndTeam2OrTeam2AndTeam1OrderByDateDesc(
-                team1Name, team2Name, team1Name, team2Name);
-
-        long team1Wins = headToHeadMatches.stream()
-                .filter(match -> match.getMatchWinner() != null && match.getMatchWinner().equals(team1Name)) // Corrected getter
-                .count();
+            @RequestParam String team2Name,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "head-to-head", team1Name + '|' + team2Name + '|' + fields, request,
+                response, () -> headToHead(dataset, team1Name, team2Name, fields));
+    }
 
-        long team2Wins = headToHeadMatches.stream()
-                .filter(match -> match.getMatchWinner() != null && match.getMatchWinner().equals(team2Name)) // Corrected getter
-                .count();
+    Map<String, Object> headToHead(Dataset dataset, String team1Name, String team2Name, String fields) {
+        List<Object> headToHeadMatches = matchLists.list(
+                matchStore.headToHeadSelection(dataset, team1Name, team2Name), fields, team1Name);
+        // Counts come straight from the precomputed rivalry matrix
+        HeadToHeadMatrix.Cell record = dataset.view(HeadToHeadMatrix.class)
+                .cell(team1Name, team2Name, null);
 
         Map<String, Object> result = new HashMap<>();
         result.put("team1Name", team1Name);
         result.put("team2Name", team2Name);
-        result.put("totalMatches", headToHeadMatches.size());
-        result.put("team1Wins", team1Wins);
-        result.put("team2Wins", team2Wins);
+        result.put("totalMatches", record.played());
+        result.put("team1Wins", (long) record.won());
+        result.put("team2Wins", (long) record.lost());
         result.put("matches", headToHeadMatches);
 
         return result;
     }
+
+    // Full rivalry grid (played / won / no result / last meeting) for all seasons or one season
+    @GetMapping("/rivalries")
+    public void getRivalries(
+            @RequestParam(required = false) String season,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Dataset dataset = matchStore.current();
+        responseCache.respond(dataset, "rivalries", String.valueOf(season), request, response,
+                () -> dataset.view(HeadToHeadMatrix.class).grid(season));
+    }
+
+    // The team's record at every venue it has played at, most matches first; 404 for an unknown team
+    @GetMapping("/{teamName}/venues")
+    public ResponseEntity<Map<String, VenueStats>> getTeamVenues(@PathVariable String teamName) {
+        return ResponseEntity.of(matchStore.current().view(VenueTossStats.class).teamVenues(teamName));
+    }
+
+    // Record between two dates (inclusive, ISO yyyy-MM-dd, either optional)
+    @GetMapping("/{teamName}/win-rate")
+    public ResponseEntity<WinRate> getWinRate(
+            @PathVariable String teamName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.of(series().winRate(teamName, from, to));
+    }
+
+    // Last N results up to a date (default: the team's latest match), newest first
+    @GetMapping("/{teamName}/form")
+    public ResponseEntity<TeamForm> getForm(
+            @PathVariable String teamName,
+            @RequestParam(defaultValue = "" + DEFAULT_FORM) int last,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.of(form(teamName, last, asOf));
+    }
+
+    // 400 for a last that is not positive
+    Optional<TeamForm> form(String teamName, int last, LocalDate asOf) {
+        try {
+            return series().form(teamName, last, asOf);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Per-season or per-month record with a rolling win percentage, for the team page chart
+    @GetMapping("/{teamName}/trend")
+    public void getTrend(
+            @PathVariable String teamName,
+            @RequestParam(defaultValue = TeamTimeSeries.SEASON) String bucket,
+            @RequestParam(defaultValue = "" + DEFAULT_WINDOW) int window,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String key = trendKey(teamName, bucket, window);
+        Dataset dataset = matchStore.current();
+        TeamTimeSeries series = dataset.view(TeamTimeSeries.class);
+        if (!series.contains(teamName)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Only built on a cache miss
+        responseCache.respond(dataset, "trend", key, request, response,
+                () -> series.trend(teamName, bucket, window).orElseThrow());
+    }
+
+    // Cache key of a trend; 400 for a bad bucket or window
+    static String trendKey(String teamName, String bucket, int window) {
+        try {
+            TeamTimeSeries.checkTrend(bucket, window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return teamName + '|' + bucket.toLowerCase() + '|' + window;
+    }
+
+    TeamTimeSeries series() {
+        return matchStore.current().view(TeamTimeSeries.class);
+    }
+
+    // A team's matches (optionally one season), newest first, one keyset page at a time
+    @GetMapping(value = "/{teamName}/matches", produces = MediaType.APPLICATION_JSON_VALUE)
+    public MatchPage<Object> getTeamMatches(
+            @PathVariable String teamName,
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchListResponses.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String fields) {
+        return matchLists.page(matchStore.teamSelection(teamName, season), cursor, limit, fields, teamName);
+    }
+
+    // Same list as NDJSON, streamed row by row (Accept: application/x-ndjson)
+    @GetMapping(value = "/{teamName}/matches", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTeamMatches(
+            @PathVariable String teamName,
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        return matchLists.ndjson(matchStore.teamSelection(teamName, season), cursor, fields, teamName);
+    }
+
+    @GetMapping(value = "/head-to-head/matches", produces = MediaType.APPLICATION_JSON_VALUE)
+    public MatchPage<Object> getHeadToHeadMatches(
+            @RequestParam String team1Name,
+            @RequestParam String team2Name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchListResponses.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String fields) {
+        return matchLists.page(matchStore.headToHeadSelection(team1Name, team2Name), cursor, limit, fields, team1Name);
+    }
+
+    @GetMapping(value = "/head-to-head/matches", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHeadToHeadMatches(
+            @RequestParam String team1Name,
+            @RequestParam String team2Name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        return matchLists.ndjson(matchStore.headToHeadSelection(team1Name, team2Name), cursor, fields, team1Name);
+    }
+
+    // Render the default team, trend, head-to-head and rivalry payloads once per dataset
+    @EventListener
+    public void prerender(DatasetLoadedEvent event) {
+        Dataset dataset = event.dataset();
+        responseCache.prerender(dataset, "teams", "", () -> matchStore.teams(dataset));
+        responseCache.prerender(dataset, "rivalries", "null",
+                () -> dataset.view(HeadToHeadMatrix.class).grid(null));
+        for (String team : dataset.teams().keySet()) {
+            responseCache.prerender(dataset, "team", team + "|null|null", () -> loadTeam(dataset, team, null, null));
+            dataset.view(TeamTimeSeries.class).trend(team, TeamTimeSeries.SEASON, DEFAULT_WINDOW).ifPresent(trend ->
+                    responseCache.prerender(dataset, "trend", trendKey(team, TeamTimeSeries.SEASON, DEFAULT_WINDOW),
+                            () -> trend));
+            for (String opponent : dataset.teams().keySet()) {
+                if (!opponent.equals(team)) {
+                    responseCache.prerender(dataset, "head-to-head", team + '|' + opponent + "|null",
+                            () -> headToHead(dataset, team, opponent, null));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.ipl.ipl_dashboard.controller;
+
+import com.ipl.ipl_dashboard.dto.TossImpact;
+import com.ipl.ipl_dashboard.dto.VenueDetail;
+import com.ipl.ipl_dashboard.dto.VenueSummary;
+import com.ipl.ipl_dashboard.stats.VenueTossStats;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Venue and toss-impact statistics, read from the {@link VenueTossStats} tallied with each dataset.
+ * Unknown venues, seasons and teams get a 404.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1")
+public class VenueController {
+
+    private final MatchStore matchStore;
+
+    // Every venue with its batting-first, chasing and toss-winner records, most matches first
+    @GetMapping("/venues")
+    public List<VenueSummary> getVenues() {
+        return stats().venues();
+    }
+
+    // One venue's summary plus each team's record there
+    @GetMapping("/venues/{venue}")
+    public ResponseEntity<VenueDetail> getVenue(@PathVariable String venue) {
+        return ResponseEntity.of(stats().venue(venue));
+    }
+
+    // Toss winner's record by decision, and batting first vs chasing, for a season and/or team
+    @GetMapping("/stats/toss")
+    public ResponseEntity<TossImpact> getTossImpact(
+            @RequestParam(required = false) String season,
+            @RequestParam(required = false) String team) {
+        Dataset dataset = matchStore.current();
+        return ResponseEntity.of(dataset.view(VenueTossStats.class)
+                .toss(SeasonController.seasonName(dataset, season), team));
+    }
+
+    private VenueTossStats stats() {
+        return matchStore.current().view(VenueTossStats.class);
+    }
+}
@@ -0,0 +1,211 @@
+package com.ipl.ipl_dashboard.data;
+
+import com.ipl.ipl_dashboard.model.Match;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Three-stage ingestion: a single parse thread reads {@link MatchInput} rows from a {@link MatchSource},
+ * a pool of transform workers turns them into {@link Match} rows and tallies aggregates, and a single
+ * writer hands each batch to the sink (JDBC batch insert). Stages are connected by bounded queues so a
+ * slow writer throttles the parser instead of buffering the whole file.
+ *
+ * <p>Match ids are assigned from the CSV row position ({@code ordinal + 1}), so the result is identical
+ * regardless of how batches interleave between the workers.
+ */
+public class IngestionPipeline {
+
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int transformThreads;
+    private final ThreadFactory threadFactory;
+
+    public IngestionPipeline(int batchSize, int queueCapacity, int transformThreads) {
+        this(batchSize, queueCapacity, transformThreads, null);
+    }
+
+    /** @param threadFactory creates the stage threads (e.g. virtual threads); null for daemon platform threads */
+    public IngestionPipeline(int batchSize, int queueCapacity, int transformThreads, ThreadFactory threadFactory) {
+        if (batchSize < 1 || queueCapacity < 1 || transformThreads < 1) {
+            throw new IllegalArgumentException("batchSize, queueCapacity and transformThreads must be positive");
+        }
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.transformThreads = transformThreads;
+        this.threadFactory = threadFactory;
+    }
+
+    public Result run(MatchSource source, Function<MatchInput, Match> transform, Consumer<List<Match>> sink)
+            throws InterruptedException {
+        BlockingQueue<Batch<MatchInput>> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch<Match>> transformed = new ArrayBlockingQueue<>(queueCapacity);
+        Batch<MatchInput> endOfInput = new Batch<>(-1, List.of());
+        Batch<Match> endOfMatches = new Batch<>(-1, List.of());
+
+        MatchAggregates[] aggregates = new MatchAggregates[transformThreads];
+        List<Batch<Match>> written = new ArrayList<>();
+
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(transformThreads + 2,
+                threadFactory != null ? threadFactory : r -> {
+                    Thread t = new Thread(r, "ingest-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        ExecutorCompletionService<StageStats> stages = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+
+        stages.submit(() -> parse(source, parsed, endOfInput));
+        for (int w = 0; w < transformThreads; w++) {
+            MatchAggregates local = aggregates[w] = new MatchAggregates();
+            stages.submit(() -> transform(parsed, endOfInput, transformed, endOfMatches, transform, local));
+        }
+        stages.submit(() -> write(transformed, endOfMatches, sink, written));
+
+        List<StageStats> finished = new ArrayList<>();
+        try {
+            for (int i = 0; i < transformThreads + 2; i++) {
+                finished.add(stages.take().get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ingestion stage failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Interrupts any stage still blocked on a queue after a failure
+            executor.shutdownNow();
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        MatchAggregates merged = new MatchAggregates();
+        for (MatchAggregates local : aggregates) {
+            merged.merge(local);
+        }
+
+        written.sort(Comparator.comparingInt(Batch::firstOrdinal));
+        List<Match> matches = new ArrayList<>();
+        for (Batch<Match> batch : written) {
+            matches.addAll(batch.rows());
+        }
+
+        return new Result(matches, merged, combine(finished), wallNanos);
+    }
+
+    private StageStats parse(MatchSource source, BlockingQueue<Batch<MatchInput>> out, Batch<MatchInput> end)
+            throws Exception {
+        long busy = 0;
+        int ordinal = 0;
+        List<MatchInput> rows = new ArrayList<>(batchSize);
+        long t = System.nanoTime();
+        MatchInput input;
+        while ((input = source.next()) != null) {
+            rows.add(input);
+            if (rows.size() == batchSize) {
+                busy += System.nanoTime() - t;
+                out.put(new Batch<>(ordinal, rows));
+                ordinal += rows.size();
+                rows = new ArrayList<>(batchSize);
+                t = System.nanoTime();
+            }
+        }
+        busy += System.nanoTime() - t;
+        if (!rows.isEmpty()) {
+            out.put(new Batch<>(ordinal, rows));
+            ordinal += rows.size();
+        }
+        for (int w = 0; w < transformThreads; w++) {
+            out.put(end);
+        }
+        return new StageStats("parse", 1, ordinal, busy);
+    }
+
+    private StageStats transform(BlockingQueue<Batch<MatchInput>> in, Batch<MatchInput> endIn,
+                                 BlockingQueue<Batch<Match>> out, Batch<Match> endOut,
+                                 Function<MatchInput, Match> transform, MatchAggregates local) throws Exception {
+        long busy = 0;
+        long rows = 0;
+        Batch<MatchInput> batch;
+        while ((batch = in.take()) != endIn) {
+            long t = System.nanoTime();
+            List<Match> matches = new ArrayList<>(batch.rows().size());
+            for (int i = 0; i < batch.rows().size(); i++) {
+                Match match = transform.apply(batch.rows().get(i));
+                match.setId((long) batch.firstOrdinal() + i + 1);
+                local.add(match);
+                matches.add(match);
+            }
+            busy += System.nanoTime() - t;
+            rows += matches.size();
+            out.put(new Batch<>(batch.firstOrdinal(), matches));
+        }
+        out.put(endOut);
+        return new StageStats("transform", 1, rows, busy);
+    }
+
+    private StageStats write(BlockingQueue<Batch<Match>> in, Batch<Match> end,
+                             Consumer<List<Match>> sink, List<Batch<Match>> written) throws Exception {
+        long busy = 0;
+        long rows = 0;
+        int ended = 0;
+        while (ended < transformThreads) {
+            Batch<Match> batch = in.take();
+            if (batch == end) {
+                ended++;
+                continue;
+            }
+            long t = System.nanoTime();
+            sink.accept(batch.rows());
+            busy += System.nanoTime() - t;
+            rows += batch.rows().size();
+            written.add(batch);
+        }
+        return new StageStats("write", 1, rows, busy);
+    }
+
+    // Folds the per-worker transform stats into a single entry and orders stages as they run
+    private static List<StageStats> combine(List<StageStats> finished) {
+        List<StageStats> result = new ArrayList<>();
+        for (String stage : List.of("parse", "transform", "write")) {
+            int threads = 0;
+            long rows = 0;
+            long busy = 0;
+            for (StageStats s : finished) {
+                if (s.stage().equals(stage)) {
+                    threads += s.threads();
+                    rows += s.rows();
+                    busy += s.busyNanos();
+                }
+            }
+            result.add(new StageStats(stage, threads, rows, busy));
+        }
+        return result;
+    }
+
+    private record Batch<T>(int firstOrdinal, List<T> rows) {
+    }
+
+    /**
+     * Rows handled by a stage and the time its threads spent working (queue waits excluded).
+     */
+    public record StageStats(String stage, int threads, long rows, long busyNanos) {
+
+        /** Throughput of the stage as a whole, i.e. busy time is spread over its threads. */
+        public double rowsPerSecond() {
+            return busyNanos == 0 ? 0 : rows * 1e9 * threads / busyNanos;
+        }
+    }
+
+    public record Result(List<Match> matches, MatchAggregates aggregates, List<StageStats> stages, long wallNanos) {
+    }
+}
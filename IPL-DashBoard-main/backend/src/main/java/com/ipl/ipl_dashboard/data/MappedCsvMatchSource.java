@@ -0,0 +1,341 @@
+package com.ipl.ipl_dashboard.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link MatchSource} specialised for the 20-column match CSV. It scans a memory-mapped (or any other)
+ * {@link ByteBuffer} in place: cells are located as byte ranges, dimension values (teams, venues,
+ * umpires, margins...) are resolved through a byte-keyed intern pool so repeated values never allocate,
+ * and dates are decoded straight into {@link LocalDate}. Only the CSV {@code id} column, which is unique
+ * per row, produces a fresh String.
+ *
+ * <p>Handles RFC 4180 quoting (e.g. {@code "Punjab Cricket Association Stadium, Mohali"}) including
+ * doubled quotes, and both LF and CRLF line endings. Cells are read by position, so the header row must
+ * name the {@link #HEADER} columns in that order. Not thread-safe; the pipeline reads it from a single
+ * parse thread.
+ */
+public class MappedCsvMatchSource implements MatchSource {
+
+    /** The columns of {@code match-data.csv}, in order. */
+    public static final List<String> HEADER = List.of("id", "season", "city", "date", "match_type",
+            "player_of_match", "venue", "team1", "team2", "toss_winner", "toss_decision", "winner", "result",
+            "result_margin", "target_runs", "target_overs", "super_over", "method", "umpire1", "umpire2");
+
+    private static final int COLUMNS = HEADER.size();
+
+    private final FileChannel channel;
+    private final ByteBuffer buf;
+    private final int limit;
+    private int pos;
+
+    private final BytePool pool = new BytePool();
+    private final int[] start = new int[COLUMNS];
+    private final int[] length = new int[COLUMNS];
+    private final boolean[] escaped = new boolean[COLUMNS];
+    private byte[] scratch = new byte[64];
+
+    public static MappedCsvMatchSource open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is larger than a single 2 GB mapping");
+            }
+            return new MappedCsvMatchSource(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @throws IOException when the header row is missing or does not name the {@link #HEADER} columns */
+    public MappedCsvMatchSource(ByteBuffer buffer) throws IOException {
+        this(null, buffer);
+    }
+
+    private MappedCsvMatchSource(FileChannel channel, ByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buf = buffer;
+        this.limit = buffer.limit();
+        this.pos = buffer.position();
+        checkHeader();
+    }
+
+    // Reads the header row; a missing one or any other column layout would be misread row by row
+    private void checkHeader() throws IOException {
+        int s = pos;
+        skipLine();
+        byte[] line = new byte[Math.max(0, Math.min(pos, limit) - s)];
+        buf.get(s, line);
+        String text = new String(line, StandardCharsets.UTF_8).replace("\uFEFF", "").strip();
+        List<String> names = new ArrayList<>();
+        for (String cell : text.split(",", -1)) {
+            names.add(cell.strip().replace("\"", "").toLowerCase());
+        }
+        if (names.equals(HEADER)) {
+            return;
+        }
+        List<String> missing = new ArrayList<>(HEADER);
+        missing.removeAll(names);
+        if (text.isEmpty()) {
+            throw new IOException("Missing header row, expected " + String.join(",", HEADER));
+        }
+        throw new IOException(missing.isEmpty()
+                ? "Header columns must be " + String.join(",", HEADER) + ", got " + String.join(",", names)
+                : "Header is missing columns " + missing);
+    }
+
+    @Override
+    public MatchInput next() throws IOException {
+        while (pos < limit && (buf.get(pos) == '\n' || buf.get(pos) == '\r')) {
+            pos++;
+        }
+        if (pos >= limit) {
+            return null;
+        }
+
+        int rowStart = pos;
+        for (int c = 0; c < COLUMNS; c++) {
+            scanField(c);
+            if (c < COLUMNS - 1) {
+                if (pos >= limit || buf.get(pos) != ',') {
+                    throw new IOException("Row at byte " + rowStart + " has fewer than " + COLUMNS + " columns");
+                }
+                pos++;
+            }
+        }
+        if (pos < limit && buf.get(pos) == '\r') {
+            pos++;
+        }
+        if (pos < limit && buf.get(pos) != '\n') {
+            throw new IOException("Row at byte " + rowStart + " has more than " + COLUMNS + " columns");
+        }
+        pos++;
+
+        MatchInput input = new MatchInput();
+        input.setId(fresh(0));
+        input.setSeason(text(1));
+        input.setCity(text(2));
+        LocalDate date = decodeDate(3);
+        if (date != null) {
+            input.setParsedDate(date);
+        } else {
+            input.setDate(text(3));
+        }
+        input.setMatch_type(text(4));
+        input.setPlayer_of_match(text(5));
+        input.setVenue(text(6));
+        input.setTeam1(text(7));
+        input.setTeam2(text(8));
+        input.setToss_winner(text(9));
+        input.setToss_decision(text(10));
+        input.setWinner(text(11));
+        input.setResult(text(12));
+        input.setResult_margin(text(13));
+        input.setTarget_runs(text(14));
+        input.setTarget_overs(text(15));
+        input.setSuper_over(text(16));
+        input.setMethod(text(17));
+        input.setUmpire1(text(18));
+        input.setUmpire2(text(19));
+        return input;
+    }
+
+    @Override
+    public long bytesConsumed() {
+        return Math.min(pos, limit);
+    }
+
+    private void scanField(int c) throws IOException {
+        if (pos < limit && buf.get(pos) == '"') {
+            int s = ++pos;
+            boolean esc = false;
+            while (true) {
+                if (pos >= limit) {
+                    throw new IOException("Unterminated quoted field starting at byte " + (s - 1));
+                }
+                if (buf.get(pos) == '"') {
+                    if (pos + 1 < limit && buf.get(pos + 1) == '"') {
+                        esc = true;
+                        pos += 2;
+                        continue;
+                    }
+                    break;
+                }
+                pos++;
+            }
+            start[c] = s;
+            length[c] = pos - s;
+            escaped[c] = esc;
+            pos++; // closing quote
+        } else {
+            int s = pos;
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b == ',' || b == '\n' || b == '\r') {
+                    break;
+                }
+                pos++;
+            }
+            start[c] = s;
+            length[c] = pos - s;
+            escaped[c] = false;
+        }
+    }
+
+    // Interned value of a cell; doubled quotes are collapsed into the scratch buffer first
+    private String text(int c) {
+        if (!escaped[c]) {
+            return pool.intern(buf, start[c], length[c]);
+        }
+        int n = 0;
+        ensureScratch(length[c]);
+        for (int i = start[c], end = start[c] + length[c]; i < end; i++) {
+            byte b = buf.get(i);
+            scratch[n++] = b;
+            if (b == '"') {
+                i++; // skip the second quote of the pair
+            }
+        }
+        return pool.intern(ByteBuffer.wrap(scratch), 0, n);
+    }
+
+    // For unique-per-row cells where interning would only grow the pool
+    private String fresh(int c) {
+        if (escaped[c]) {
+            return new String(text(c));
+        }
+        ensureScratch(length[c]);
+        buf.get(start[c], scratch, 0, length[c]);
+        return new String(scratch, 0, length[c], StandardCharsets.UTF_8);
+    }
+
+    // dd-MM-yyyy -> LocalDate without going through a String; null if the cell is in any other shape or
+    // not a real date, so the caller falls back to the text (and its error)
+    private LocalDate decodeDate(int c) {
+        int s = start[c];
+        if (escaped[c] || length[c] != 10 || buf.get(s + 2) != '-' || buf.get(s + 5) != '-') {
+            return null;
+        }
+        int day = digits(s, 2);
+        int month = digits(s + 3, 2);
+        int year = digits(s + 6, 4);
+        if (day < 1 || month < 1 || month > 12 || year < 0 || day > YearMonth.of(year, month).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private void skipLine() {
+        while (pos < limit && buf.get(pos) != '\n') {
+            pos++;
+        }
+        pos++;
+    }
+
+    private void ensureScratch(int size) {
+        if (scratch.length < size) {
+            scratch = new byte[Math.max(size, scratch.length * 2)];
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Open-addressing table from UTF-8 byte ranges to canonical Strings. Lookups hash and compare
+     * straight against the source buffer; a String is only created the first time a value is seen.
+     */
+    static final class BytePool {
+
+        private byte[][] keys = new byte[256][];
+        private String[] values = new String[256];
+        private int[] hashes = new int[256];
+        private int size;
+
+        String intern(ByteBuffer src, int off, int len) {
+            int h = 1;
+            for (int i = off; i < off + len; i++) {
+                h = 31 * h + src.get(i);
+            }
+            int mask = keys.length - 1;
+            int slot = h & mask;
+            while (keys[slot] != null) {
+                if (hashes[slot] == h && sameBytes(keys[slot], src, off, len)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            byte[] key = new byte[len];
+            src.get(off, key);
+            String value = new String(key, StandardCharsets.UTF_8);
+            keys[slot] = key;
+            values[slot] = value;
+            hashes[slot] = h;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return value;
+        }
+
+        private static boolean sameBytes(byte[] key, ByteBuffer src, int off, int len) {
+            if (key.length != len) {
+                return false;
+            }
+            for (int i = 0; i < len; i++) {
+                if (key[i] != src.get(off + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            int[] oldHashes = hashes;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            hashes = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = oldHashes[i] & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    hashes[slot] = oldHashes[i];
+                }
+            }
+        }
+    }
+}
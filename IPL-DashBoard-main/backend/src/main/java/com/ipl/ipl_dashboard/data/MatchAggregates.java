@@ -0,0 +1,56 @@
+package com.ipl.ipl_dashboard.data;
+
+import com.ipl.ipl_dashboard.model.Match;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Team and Player-of-the-Match tallies. Each transform worker keeps its own instance; they are
+ * merged once the pipeline drains, so the hot path never touches shared state.
+ */
+public class MatchAggregates {
+
+    // name -> {totalMatches, totalWins}
+    private final Map<String, long[]> teams = new HashMap<>();
+    private final Map<String, Long> playerAwards = new HashMap<>();
+
+    public void add(Match match) {
+        if (match.getTeam1() != null) {
+            team(match.getTeam1())[0]++;
+        }
+        if (match.getTeam2() != null) {
+            team(match.getTeam2())[0]++;
+        }
+        if (match.getMatchWinner() != null && !match.getMatchWinner().isBlank()) {
+            team(match.getMatchWinner())[1]++;
+        }
+
+        String playerOfMatchName = match.getPlayerOfMatch();
+        if (playerOfMatchName != null && !playerOfMatchName.isBlank() && !playerOfMatchName.equalsIgnoreCase("NA")) {
+            playerAwards.merge(playerOfMatchName, 1L, Long::sum);
+        }
+    }
+
+    public void merge(MatchAggregates other) {
+        other.teams.forEach((name, counts) -> {
+            long[] mine = team(name);
+            mine[0] += counts[0];
+            mine[1] += counts[1];
+        });
+        other.playerAwards.forEach((name, awards) -> playerAwards.merge(name, awards, Long::sum));
+    }
+
+    private long[] team(String name) {
+        return teams.computeIfAbsent(name, k -> new long[2]);
+    }
+
+    /** name -> {totalMatches, totalWins} */
+    public Map<String, long[]> getTeams() {
+        return teams;
+    }
+
+    public Map<String, Long> getPlayerAwards() {
+        return playerAwards;
+    }
+}
@@ -2,6 +2,8 @@ package com.ipl.ipl_dashboard.data;
 
 import lombok.Data; // Ensure lombok.Data is imported
 
+import java.time.LocalDate;
+
 @Data // This annotation generates getters and setters
 public class MatchInput {
     private String id;
@@ -24,4 +26,7 @@ public class MatchInput {
     private String method;
     private String umpire1;
     private String umpire2;
+
+    // Set by parsers that decode the date column themselves; `date` is left null in that case
+    private LocalDate parsedDate;
 }
@@ -7,15 +7,18 @@ import java.time.format.DateTimeFormatter;
 
 public class MatchProcessor {
 
+    // Date format in your CSV is like: 18-04-2008
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
     public static Match process(MatchInput input) {
         Match match = new Match();
 
-        // Date format in your CSV is like: 18-04-2008
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-
         // Setters for Match model (camelCase) using getters from MatchInput (snake_case)
+        match.setSourceId(input.getId() == null || input.getId().isBlank() ? null : input.getId().trim());
         match.setCity(input.getCity());
-        match.setDate(LocalDate.parse(input.getDate(), formatter));
+        match.setDate(input.getParsedDate() != null
+                ? input.getParsedDate()
+                : LocalDate.parse(input.getDate(), DATE_FORMAT));
         match.setPlayerOfMatch(input.getPlayer_of_match()); // Corrected: playerOfMatch
         match.setVenue(input.getVenue());
         match.setTeam1(input.getTeam1());
@@ -0,0 +1,20 @@
+package com.ipl.ipl_dashboard.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Parse stage input for {@link IngestionPipeline}: yields one raw {@link MatchInput} per CSV row.
+ * Team names are handed over exactly as they appear in the file; normalisation happens in the
+ * transform stage.
+ */
+public interface MatchSource extends Closeable {
+
+    /** Next row, or {@code null} once the source is exhausted. */
+    MatchInput next() throws IOException;
+
+    /** Bytes of input consumed so far, or -1 when the source cannot tell. */
+    default long bytesConsumed() {
+        return -1;
+    }
+}
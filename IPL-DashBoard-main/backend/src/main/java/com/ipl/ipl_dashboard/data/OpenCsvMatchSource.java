@@ -0,0 +1,66 @@
+package com.ipl.ipl_dashboard.data;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link MatchSource} backed by opencsv. Works for any stream, including resources packed inside the jar.
+ */
+public class OpenCsvMatchSource implements MatchSource {
+
+    private final CSVReader csvReader;
+
+    public OpenCsvMatchSource(InputStream in) {
+        this.csvReader = new CSVReaderBuilder(new InputStreamReader(in, StandardCharsets.UTF_8))
+                .withSkipLines(1) // header
+                .build();
+    }
+
+    @Override
+    public MatchInput next() throws IOException {
+        String[] columns;
+        try {
+            columns = csvReader.readNext();
+        } catch (CsvValidationException e) {
+            throw new IOException("Malformed match CSV row", e);
+        }
+        return columns == null ? null : toInput(columns);
+    }
+
+    // Assign values from CSV columns to MatchInput fields
+    static MatchInput toInput(String[] columns) {
+        MatchInput input = new MatchInput();
+        input.setId(columns[0]);
+        input.setSeason(columns[1]);
+        input.setCity(columns[2]);
+        input.setDate(columns[3]);
+        input.setMatch_type(columns[4]);
+        input.setPlayer_of_match(columns[5]);
+        input.setVenue(columns[6]);
+        input.setTeam1(columns[7]);
+        input.setTeam2(columns[8]);
+        input.setToss_winner(columns[9]);
+        input.setToss_decision(columns[10]);
+        input.setWinner(columns[11]);
+        input.setResult(columns[12]);
+        input.setResult_margin(columns[13]);
+        input.setTarget_runs(columns[14]);
+        input.setTarget_overs(columns[15]);
+        input.setSuper_over(columns[16]);
+        input.setMethod(columns[17]);
+        input.setUmpire1(columns[18]);
+        input.setUmpire2(columns[19]);
+        return input;
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+}
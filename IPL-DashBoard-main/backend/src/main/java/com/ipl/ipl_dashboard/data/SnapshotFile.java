@@ -0,0 +1,216 @@
+package com.ipl.ipl_dashboard.data;
+
+import com.ipl.ipl_dashboard.model.Match;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of a fully processed dataset: {@link Match} rows (team names already normalised) plus
+ * the team and Player-of-the-Match tallies. Written once per source CSV and keyed by its checksum, so a
+ * restart with unchanged data maps the file and skips parsing entirely.
+ *
+ * <pre>
+ * int    magic "IPLS", int format version, long source checksum
+ * int    string count, then per string: int byte length + UTF-8 bytes
+ * int    match count, then per match: long id, int epoch day, 19 x int string ref (-1 = null)
+ * int    team count, then per team: int name ref, long matches, long wins
+ * int    player count, then per player: int name ref, long awards
+ * </pre>
+ *
+ * Bump {@link #FORMAT_VERSION} whenever the layout or the ingestion rules (e.g. team name normalisation)
+ * change, so older snapshots are ignored instead of served.
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x49504C53; // "IPLS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private SnapshotFile() {
+    }
+
+    public record Contents(List<Match> matches, MatchAggregates aggregates) {
+    }
+
+    public static long checksum(Path csv) throws IOException {
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            CRC32C crc = new CRC32C();
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return crc.getValue();
+        }
+    }
+
+    public static long checksum(InputStream in) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] chunk = new byte[64 * 1024];
+        int n;
+        while ((n = in.read(chunk)) > 0) {
+            crc.update(chunk, 0, n);
+        }
+        return crc.getValue();
+    }
+
+    public static Path path(Path dir, long checksum) {
+        return dir.resolve("matches-" + Long.toHexString(checksum) + ".snap");
+    }
+
+    /**
+     * Reads the snapshot at {@code file}, or returns {@code null} when it is missing, truncated, from an
+     * older format or built from a different CSV.
+     */
+    public static Contents read(Path file, long expectedChecksum) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer b = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (b.getInt() != MAGIC || b.getInt() != FORMAT_VERSION || b.getLong() != expectedChecksum) {
+                return null;
+            }
+
+            String[] strings = new String[b.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[b.getInt()];
+                b.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int matchCount = b.getInt();
+            List<Match> matches = new ArrayList<>(matchCount);
+            for (int i = 0; i < matchCount; i++) {
+                Match m = new Match();
+                m.setId(b.getLong());
+                int epochDay = b.getInt();
+                m.setDate(epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay));
+                m.setCity(ref(b, strings));
+                m.setPlayerOfMatch(ref(b, strings));
+                m.setVenue(ref(b, strings));
+                m.setTeam1(ref(b, strings));
+                m.setTeam2(ref(b, strings));
+                m.setTossWinner(ref(b, strings));
+                m.setTossDecision(ref(b, strings));
+                m.setMatchWinner(ref(b, strings));
+                m.setResult(ref(b, strings));
+                m.setResultMargin(ref(b, strings));
+                m.setUmpire1(ref(b, strings));
+                m.setUmpire2(ref(b, strings));
+                m.setSeason(ref(b, strings));
+                m.setMatchType(ref(b, strings));
+                m.setTargetRuns(ref(b, strings));
+                m.setTargetOvers(ref(b, strings));
+                m.setSuperOver(ref(b, strings));
+                m.setMethod(ref(b, strings));
+                m.setSourceId(ref(b, strings));
+                matches.add(m);
+            }
+
+            MatchAggregates aggregates = new MatchAggregates();
+            int teamCount = b.getInt();
+            for (int i = 0; i < teamCount; i++) {
+                String name = ref(b, strings);
+                aggregates.getTeams().put(name, new long[]{b.getLong(), b.getLong()});
+            }
+            int playerCount = b.getInt();
+            for (int i = 0; i < playerCount; i++) {
+                String name = ref(b, strings);
+                aggregates.getPlayerAwards().put(name, b.getLong());
+            }
+            return new Contents(matches, aggregates);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable snapshot " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /** Writes to a temporary file first, then moves it into place so readers never see a partial file. */
+    public static void write(Path file, long checksum, List<Match> matches, MatchAggregates aggregates)
+            throws IOException {
+        Map<String, Integer> refs = new LinkedHashMap<>();
+        for (Match m : matches) {
+            for (String s : fields(m)) {
+                intern(refs, s);
+            }
+        }
+        aggregates.getTeams().keySet().forEach(name -> intern(refs, name));
+        aggregates.getPlayerAwards().keySet().forEach(name -> intern(refs, name));
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "matches-", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(checksum);
+
+                out.writeInt(refs.size());
+                for (String s : refs.keySet()) {
+                    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+
+                out.writeInt(matches.size());
+                for (Match m : matches) {
+                    out.writeLong(m.getId());
+                    out.writeInt(m.getDate() == null ? NO_DATE : (int) m.getDate().toEpochDay());
+                    for (String s : fields(m)) {
+                        out.writeInt(s == null ? -1 : refs.get(s));
+                    }
+                }
+
+                out.writeInt(aggregates.getTeams().size());
+                for (Map.Entry<String, long[]> team : aggregates.getTeams().entrySet()) {
+                    out.writeInt(refs.get(team.getKey()));
+                    out.writeLong(team.getValue()[0]);
+                    out.writeLong(team.getValue()[1]);
+                }
+                out.writeInt(aggregates.getPlayerAwards().size());
+                for (Map.Entry<String, Long> player : aggregates.getPlayerAwards().entrySet()) {
+                    out.writeInt(refs.get(player.getKey()));
+                    out.writeLong(player.getValue());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // String-valued Match fields in snapshot order; must line up with the setters in read()
+    private static String[] fields(Match m) {
+        return new String[]{
+                m.getCity(), m.getPlayerOfMatch(), m.getVenue(), m.getTeam1(), m.getTeam2(),
+                m.getTossWinner(), m.getTossDecision(), m.getMatchWinner(), m.getResult(), m.getResultMargin(),
+                m.getUmpire1(), m.getUmpire2(), m.getSeason(), m.getMatchType(), m.getTargetRuns(),
+                m.getTargetOvers(), m.getSuperOver(), m.getMethod(), m.getSourceId()
+        };
+    }
+
+    private static void intern(Map<String, Integer> refs, String s) {
+        if (s != null) {
+            refs.putIfAbsent(s, refs.size());
+        }
+    }
+
+    private static String ref(ByteBuffer b, String[] strings) {
+        int ref = b.getInt();
+        return ref < 0 ? null : strings[ref];
+    }
+}
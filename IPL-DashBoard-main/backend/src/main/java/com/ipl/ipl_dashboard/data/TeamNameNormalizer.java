@@ -0,0 +1,98 @@
+package com.ipl.ipl_dashboard.data;
+
+import com.ipl.ipl_dashboard.model.Match;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical team names for the transform stage: renamed franchises (Delhi Daredevils, Kings XI Punjab...)
+ * are folded into their current name so their history counts as one team, and "NA" or blank becomes null.
+ * Used for the startup load and for every incremental ingest, so both agree on names.
+ *
+ * <p>The renames come from {@code ipl.teams.aliases}, one {@code name = canonical name} per line with
+ * {@code #} comments. A full reload reads the file again ({@link #readAliases()}), builds the new
+ * dataset with the result and only then switches this normalizer over ({@link #use}), so ingests never
+ * see names the published data does not have.
+ */
+@Component
+public class TeamNameNormalizer {
+
+    private final Resource aliasFile;
+    private volatile Map<String, String> aliases;
+
+    public TeamNameNormalizer(ResourceLoader resources,
+                              @Value("${ipl.teams.aliases:classpath:team-aliases.txt}") String aliasFile) {
+        this.aliasFile = resources.getResource(aliasFile);
+        try {
+            this.aliases = readAliases();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read team aliases from " + aliasFile, e);
+        }
+    }
+
+    /** Reads the alias file again; nothing changes until the result is passed to {@link #use}. */
+    public Map<String, String> readAliases() throws IOException {
+        Map<String, String> out = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(aliasFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int eq = line.indexOf('=');
+                if (eq <= 0 || eq == line.length() - 1) {
+                    throw new IOException(aliasFile.getDescription() + " line " + lineNo + ": expected 'name = canonical name'");
+                }
+                out.put(line.substring(0, eq).strip(), line.substring(eq + 1).strip());
+            }
+        }
+        return Map.copyOf(out);
+    }
+
+    public void use(Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+
+    /** Changes whenever the aliases in use do; part of the startup snapshot key. */
+    public long fingerprint() {
+        return new TreeMap<>(aliases).toString().hashCode();
+    }
+
+    public String normalize(String name) {
+        return normalize(name, aliases);
+    }
+
+    public static String normalize(String name, Map<String, String> aliases) {
+        if (name == null || name.trim().equalsIgnoreCase("NA") || name.isBlank()) return null;
+
+        String trimmed = name.trim();
+        return aliases.getOrDefault(trimmed, trimmed);
+    }
+
+    // Canonical team names, then the usual MatchInput -> Match mapping
+    public Match toMatch(MatchInput input) {
+        return toMatch(input, aliases);
+    }
+
+    public static Match toMatch(MatchInput input, Map<String, String> aliases) {
+        input.setTeam1(normalize(input.getTeam1(), aliases));
+        input.setTeam2(normalize(input.getTeam2(), aliases));
+        input.setToss_winner(normalize(input.getToss_winner(), aliases));
+        input.setWinner(normalize(input.getWinner(), aliases));
+        return MatchProcessor.process(input);
+    }
+}
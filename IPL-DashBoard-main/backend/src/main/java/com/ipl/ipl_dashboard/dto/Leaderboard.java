@@ -0,0 +1,23 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.util.List;
+
+/**
+ * One page of a Player of the Match leaderboard. {@code key} names the season, team or venue (null
+ * overall). {@code ranked} is how many players have at least one award in it, and {@code total} how many
+ * of them can be paged through: only the first {@code depth} ranks are kept. Players level on awards are
+ * ordered by name, so ranks are stable between requests.
+ */
+public record Leaderboard(
+        String scope,
+        String key,
+        int total,
+        int ranked,
+        int depth,
+        int offset,
+        int limit,
+        List<Entry> entries) {
+
+    public record Entry(int rank, String player, int awards) {
+    }
+}
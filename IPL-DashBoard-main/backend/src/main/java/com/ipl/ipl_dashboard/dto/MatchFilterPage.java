@@ -0,0 +1,12 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a match filter result, newest first: how many matches the filter selects in total, the
+ * requested per-value counts over all of them, and the page itself ({@code nextCursor} null on the last).
+ */
+public record MatchFilterPage<T>(int count, Map<String, Map<String, Integer>> facets, List<T> items,
+                                 String nextCursor) {
+}
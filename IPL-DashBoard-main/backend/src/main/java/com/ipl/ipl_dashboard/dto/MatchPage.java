@@ -0,0 +1,7 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.util.List;
+
+/** One page of a newest-first match list; {@code nextCursor} is null on the last page. */
+public record MatchPage<T>(List<T> items, String nextCursor) {
+}
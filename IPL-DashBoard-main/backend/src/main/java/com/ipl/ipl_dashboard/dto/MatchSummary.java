@@ -0,0 +1,20 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.time.LocalDate;
+
+/**
+ * List-view projection of a match: the fields a match card shows, without umpires, toss and
+ * target details. Field names match {@code Match}, so clients can switch without changes.
+ */
+public record MatchSummary(
+        Long id,
+        LocalDate date,
+        String season,
+        String team1,
+        String team2,
+        String venue,
+        String matchWinner,
+        String result,
+        String resultMargin,
+        String playerOfMatch) {
+}
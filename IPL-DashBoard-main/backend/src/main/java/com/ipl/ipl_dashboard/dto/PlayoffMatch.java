@@ -0,0 +1,5 @@
+package com.ipl.ipl_dashboard.dto;
+
+/** A knockout match of a season, labelled with its stage ("Qualifier 1", "Eliminator", "Final"...). */
+public record PlayoffMatch(String stage, MatchSummary match) {
+}
@@ -0,0 +1,7 @@
+package com.ipl.ipl_dashboard.dto;
+
+/**
+ * One autocomplete hit. {@code score} is the team's total wins or the player's Player of the Match awards.
+ */
+public record SearchSuggestion(String type, String name, long score) {
+}
@@ -0,0 +1,18 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.util.List;
+
+/**
+ * One row of a season's league table. Points are 2 per win and 1 per no result; {@code form} is the
+ * team's last five results of the season, playoffs included, newest first ("W", "L" or "N").
+ */
+public record SeasonStanding(
+        int position,
+        String team,
+        int played,
+        int won,
+        int lost,
+        int noResult,
+        int points,
+        List<String> form) {
+}
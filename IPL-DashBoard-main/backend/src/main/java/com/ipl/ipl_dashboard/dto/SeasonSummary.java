@@ -0,0 +1,9 @@
+package com.ipl.ipl_dashboard.dto;
+
+/** A season in the season list: matches played and the final's winner and loser, when it had one. */
+public record SeasonSummary(
+        String season,
+        int matches,
+        String champion,
+        String runnerUp) {
+}
@@ -0,0 +1,10 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.util.List;
+
+/** Everything on a season page: the summary, the league table and the playoff matches in date order. */
+public record SeasonTable(
+        SeasonSummary summary,
+        List<SeasonStanding> standings,
+        List<PlayoffMatch> playoffs) {
+}
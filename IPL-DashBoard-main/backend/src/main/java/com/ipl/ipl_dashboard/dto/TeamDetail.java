@@ -0,0 +1,21 @@
+package com.ipl.ipl_dashboard.dto;
+
+import com.ipl.ipl_dashboard.model.Team;
+
+import java.util.List;
+
+/** Team page payload: the team's stats and theme plus its (projected) match list. */
+public record TeamDetail(
+        String teamName,
+        long totalMatches,
+        long totalWins,
+        String primaryColor,
+        String secondaryColor,
+        String tagline,
+        List<?> matches) {
+
+    public static TeamDetail of(Team team, List<?> matches) {
+        return new TeamDetail(team.getTeamName(), team.getTotalMatches(), team.getTotalWins(),
+                team.getPrimaryColor(), team.getSecondaryColor(), team.getTagline(), matches);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A team's last {@code matches} results up to and including {@code asOf}, newest first ("W", "L" or
+ * "N" for no result), with their totals.
+ */
+public record TeamForm(
+        String team,
+        LocalDate asOf,
+        int matches,
+        int won,
+        int lost,
+        int noResult,
+        double winPercentage,
+        List<String> results) {
+}
@@ -0,0 +1,26 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A team's record per season or per month (only periods with matches), for charts. Each point also
+ * carries the win percentage over the team's last {@code window} matches as of the end of the period.
+ */
+public record TeamTrend(
+        String team,
+        String bucket,
+        int window,
+        List<Point> points) {
+
+    public record Point(
+            String period,
+            LocalDate from,
+            LocalDate to,
+            int played,
+            int won,
+            int noResult,
+            double winPercentage,
+            double rollingWinPercentage) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.ipl.ipl_dashboard.dto;
+
+import com.ipl.ipl_dashboard.model.VenueStats;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What winning the toss was worth, for one season and/or team (null = all): the toss winner's record
+ * overall and by what they chose, and the records of batting first and chasing. {@code bySeason} breaks
+ * the same numbers down per season when no season was asked for.
+ */
+public record TossImpact(
+        String season,
+        String team,
+        VenueStats tossWinner,
+        Map<String, VenueStats> byDecision,
+        VenueStats battingFirst,
+        VenueStats chasing,
+        List<TossImpact> bySeason) {
+}
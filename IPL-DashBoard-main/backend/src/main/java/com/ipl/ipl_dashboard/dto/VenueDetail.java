@@ -0,0 +1,9 @@
+package com.ipl.ipl_dashboard.dto;
+
+import com.ipl.ipl_dashboard.model.VenueStats;
+
+import java.util.Map;
+
+/** A venue's summary plus every team's record there, most matches first. */
+public record VenueDetail(VenueSummary summary, Map<String, VenueStats> teams) {
+}
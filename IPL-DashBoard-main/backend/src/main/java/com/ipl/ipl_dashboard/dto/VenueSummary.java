@@ -0,0 +1,16 @@
+package com.ipl.ipl_dashboard.dto;
+
+import com.ipl.ipl_dashboard.model.VenueStats;
+
+/**
+ * How matches at a venue tend to go: records of the side that batted first, the side that chased and
+ * the toss winner. Each record counts matches with a known outcome for that side.
+ */
+public record VenueSummary(
+        String venue,
+        long matches,
+        long noResult,
+        VenueStats battingFirst,
+        VenueStats chasing,
+        VenueStats tossWinner) {
+}
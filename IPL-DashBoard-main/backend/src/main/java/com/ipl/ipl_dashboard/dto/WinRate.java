@@ -0,0 +1,18 @@
+package com.ipl.ipl_dashboard.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A team's record between two dates (inclusive; null for an open end). No-result matches count as
+ * played, as in the team totals, so {@code winPercentage} is won over played.
+ */
+public record WinRate(
+        String team,
+        LocalDate from,
+        LocalDate to,
+        int played,
+        int won,
+        int lost,
+        int noResult,
+        double winPercentage) {
+}
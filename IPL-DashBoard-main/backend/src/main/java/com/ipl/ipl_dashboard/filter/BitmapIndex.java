@@ -0,0 +1,207 @@
+package com.ipl.ipl_dashboard.filter;
+
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * One {@link RowBitmap} per value of every filterable match dimension, so any combination of
+ * conditions is answered with bitmap AND/OR/AND NOT instead of a scan. Values are matched ignoring
+ * case. Besides the stored columns there are a few derived dimensions analysts kept asking for:
+ * {@code year} (calendar year of the match date, which unlike {@code season} is a number and can be
+ * given as a range), {@code stage} ({@code league} or {@code playoff}) and {@code tossWinnerWon}
+ * ({@code true}/{@code false}, unset when there was no winner). {@code team} and {@code umpire} cover
+ * both columns of a pair.
+ */
+public final class BitmapIndex {
+
+    private interface Reader {
+        // slot 1 is only asked for by two-column dimensions
+        String read(MatchColumns c, int row, int slot);
+    }
+
+    private record Dimension(String name, int slots, boolean numeric, Reader reader) {
+    }
+
+    /** One value of a dimension, as spelled in the data, and the rows that have it. */
+    private record Posting(String value, RowBitmap rows) {
+    }
+
+    private static final Map<String, Dimension> DIMENSIONS = new LinkedHashMap<>();
+
+    static {
+        dimension("season", 1, false, (c, r, s) -> c.seasons().valueOf(c.season(r)));
+        dimension("year", 1, true, (c, r, s) ->
+                c.date(r) == MatchColumns.NO_DATE ? null : String.valueOf(LocalDate.ofEpochDay(c.date(r)).getYear()));
+        dimension("city", 1, false, (c, r, s) -> c.cities().valueOf(c.city(r)));
+        dimension("venue", 1, false, (c, r, s) -> c.venues().valueOf(c.venue(r)));
+        dimension("team", 2, false, (c, r, s) -> c.teams().valueOf(s == 0 ? c.team1(r) : c.team2(r)));
+        dimension("matchType", 1, false, (c, r, s) -> c.labels().valueOf(c.matchType(r)));
+        dimension("stage", 1, false, (c, r, s) -> {
+            String type = c.labels().valueOf(c.matchType(r));
+            return type == null ? null : type.equalsIgnoreCase("League") ? "league" : "playoff";
+        });
+        dimension("tossWinner", 1, false, (c, r, s) -> c.teams().valueOf(c.tossWinner(r)));
+        dimension("tossDecision", 1, false, (c, r, s) -> c.labels().valueOf(c.tossDecision(r)));
+        dimension("tossWinnerWon", 1, false, (c, r, s) ->
+                c.tossWinner(r) == Dictionary.NONE || c.matchWinner(r) == Dictionary.NONE ? null
+                        : String.valueOf(c.tossWinner(r) == c.matchWinner(r)));
+        dimension("matchWinner", 1, false, (c, r, s) -> c.teams().valueOf(c.matchWinner(r)));
+        dimension("result", 1, false, (c, r, s) -> c.labels().valueOf(c.result(r)));
+        dimension("method", 1, false, (c, r, s) -> c.labels().valueOf(c.method(r)));
+        dimension("superOver", 1, false, (c, r, s) -> c.labels().valueOf(c.superOver(r)));
+        dimension("umpire", 2, false, (c, r, s) -> c.umpires().valueOf(s == 0 ? c.umpire1(r) : c.umpire2(r)));
+        dimension("playerOfMatch", 1, false, (c, r, s) -> c.players().valueOf(c.playerOfMatch(r)));
+    }
+
+    private static void dimension(String name, int slots, boolean numeric, Reader reader) {
+        DIMENSIONS.put(name, new Dimension(name, slots, numeric, reader));
+    }
+
+    private final int size;
+    private final RowBitmap all;
+    // dimension -> lower-cased value -> posting, values in order
+    private final Map<String, Map<String, Posting>> postings;
+
+    private BitmapIndex(int size, Map<String, Map<String, Posting>> postings) {
+        this.size = size;
+        this.all = RowBitmap.all(size);
+        this.postings = postings;
+    }
+
+    public static BitmapIndex of(MatchColumns c) {
+        return new BitmapIndex(0, Map.of()).append(c, 0);
+    }
+
+    /**
+     * The index for {@code c}, whose rows before {@code firstNewRow} are the ones this index covers. New
+     * rows have higher row numbers than any indexed one, so each touched bitmap is extended at the end;
+     * untouched ones are shared.
+     */
+    public BitmapIndex append(MatchColumns c, int firstNewRow) {
+        Map<String, Map<String, Posting>> next = new HashMap<>();
+        for (Dimension dim : DIMENSIONS.values()) {
+            Map<String, Rows> added = new HashMap<>();
+            for (int row = firstNewRow; row < c.size(); row++) {
+                String first = null;
+                for (int slot = 0; slot < dim.slots(); slot++) {
+                    String value = dim.reader().read(c, row, slot);
+                    if (value != null && !value.equals(first)) {
+                        added.computeIfAbsent(value.toLowerCase(Locale.ROOT), k -> new Rows(value)).add(row);
+                        first = value;
+                    }
+                }
+            }
+            Map<String, Posting> values = new TreeMap<>(postings.getOrDefault(dim.name(), Map.of()));
+            added.forEach((key, rows) -> values.merge(key, new Posting(rows.value, RowBitmap.of(rows.rows, rows.n)),
+                    (old, extra) -> new Posting(old.value(), old.rows().or(extra.rows()))));
+            next.put(dim.name(), Collections.unmodifiableMap(values));
+        }
+        return new BitmapIndex(c.size(), next);
+    }
+
+    /** Names of the dimensions that can be filtered on, in a stable order. */
+    public static Set<String> dimensions() {
+        return Collections.unmodifiableSet(DIMENSIONS.keySet());
+    }
+
+    static boolean isDimension(String name) {
+        return DIMENSIONS.containsKey(name);
+    }
+
+    static boolean isNumeric(String name) {
+        return DIMENSIONS.get(name).numeric();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public RowBitmap all() {
+        return all;
+    }
+
+    /** Rows whose {@code dimension} equals {@code value}, or starts with it when it ends in {@code *}. */
+    public RowBitmap equal(String dimension, String value) {
+        Map<String, Posting> values = postings.getOrDefault(dimension, Map.of());
+        String key = value.toLowerCase(Locale.ROOT);
+        if (!key.endsWith("*")) {
+            Posting p = values.get(key);
+            return p == null ? RowBitmap.EMPTY : p.rows();
+        }
+        String prefix = key.substring(0, key.length() - 1);
+        RowBitmap out = RowBitmap.EMPTY;
+        for (Map.Entry<String, Posting> e : values.entrySet()) {
+            if (e.getKey().startsWith(prefix)) {
+                out = out.or(e.getValue().rows());
+            }
+        }
+        return out;
+    }
+
+    /** Rows whose numeric {@code dimension} lies in {@code [from, to]}. */
+    public RowBitmap range(String dimension, long from, long to) {
+        RowBitmap out = RowBitmap.EMPTY;
+        for (Posting p : postings.getOrDefault(dimension, Map.of()).values()) {
+            long v = Long.parseLong(p.value());
+            if (v >= from && v <= to) {
+                out = out.or(p.rows());
+            }
+        }
+        return out;
+    }
+
+    /** How many of {@code rows} have each value of {@code dimension}, most frequent first (zeros left out). */
+    public Map<String, Integer> facet(String dimension, RowBitmap rows) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (Posting p : postings.getOrDefault(dimension, Map.of()).values()) {
+            int n = p.rows().andCardinality(rows);
+            if (n > 0) {
+                counts.add(Map.entry(p.value(), n));
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> out = new LinkedHashMap<>();
+        counts.forEach(e -> out.put(e.getKey(), e.getValue()));
+        return out;
+    }
+
+    public long estimatedBytes() {
+        long bytes = all.estimatedBytes();
+        for (Map<String, Posting> values : postings.values()) {
+            for (Posting p : values.values()) {
+                bytes += 64 + 2L * p.value().length() + p.rows().estimatedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // Ascending rows of one value while the index is being built
+    private static final class Rows {
+        final String value;
+        int[] rows = new int[8];
+        int n;
+
+        Rows(String value) {
+            this.value = value;
+        }
+
+        void add(int row) {
+            if (n == rows.length) {
+                rows = Arrays.copyOf(rows, n * 2);
+            }
+            rows[n++] = row;
+        }
+    }
+}
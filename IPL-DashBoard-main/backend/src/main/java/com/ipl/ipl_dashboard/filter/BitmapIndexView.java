@@ -0,0 +1,24 @@
+package com.ipl.ipl_dashboard.filter;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BitmapIndexView implements DatasetView<BitmapIndex> {
+
+    @Override
+    public Class<BitmapIndex> type() {
+        return BitmapIndex.class;
+    }
+
+    @Override
+    public BitmapIndex build(Dataset dataset) {
+        return BitmapIndex.of(dataset.matches());
+    }
+
+    @Override
+    public BitmapIndex update(BitmapIndex previous, Dataset dataset, int firstNewRow) {
+        return previous.append(dataset.matches(), firstNewRow);
+    }
+}
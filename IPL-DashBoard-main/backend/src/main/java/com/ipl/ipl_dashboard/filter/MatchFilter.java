@@ -0,0 +1,210 @@
+package com.ipl.ipl_dashboard.filter;
+
+/**
+ * A parsed match filter expression, evaluated against a {@link BitmapIndex}. The syntax is
+ *
+ * <pre>
+ * stage:playoff AND venue:"Wankhede Stadium*" AND tossDecision:field AND tossWinnerWon:false AND year:2015..2020
+ * (team:"Mumbai Indians" OR team:"Chennai Super Kings") AND NOT result:"no result"
+ * </pre>
+ *
+ * <ul>
+ *   <li>a condition is {@code dimension:value}; values with spaces, commas or parentheses are quoted, a
+ *   trailing {@code *} matches any value with that prefix, and {@code year} also takes {@code from..to};</li>
+ *   <li>{@code AND}, {@code OR} and {@code NOT} (any case) combine conditions, with the usual precedence
+ *   NOT &gt; AND &gt; OR and parentheses to group; conditions side by side are ANDed;</li>
+ *   <li>an empty expression matches every match.</li>
+ * </ul>
+ * Errors are reported as {@link IllegalArgumentException}s naming the position in the expression.
+ */
+public final class MatchFilter {
+
+    private sealed interface Node permits And, Or, Not, Equal, Range, All {
+        RowBitmap evaluate(BitmapIndex index);
+    }
+
+    private record And(Node left, Node right) implements Node {
+        public RowBitmap evaluate(BitmapIndex index) {
+            // AND NOT needs no complement: a AND NOT b is a minus b
+            if (right instanceof Not not) {
+                return left.evaluate(index).andNot(not.node().evaluate(index));
+            }
+            return left.evaluate(index).and(right.evaluate(index));
+        }
+    }
+
+    private record Or(Node left, Node right) implements Node {
+        public RowBitmap evaluate(BitmapIndex index) {
+            return left.evaluate(index).or(right.evaluate(index));
+        }
+    }
+
+    private record Not(Node node) implements Node {
+        public RowBitmap evaluate(BitmapIndex index) {
+            return index.all().andNot(node.evaluate(index));
+        }
+    }
+
+    private record Equal(String dimension, String value) implements Node {
+        public RowBitmap evaluate(BitmapIndex index) {
+            return index.equal(dimension, value);
+        }
+    }
+
+    private record Range(String dimension, long from, long to) implements Node {
+        public RowBitmap evaluate(BitmapIndex index) {
+            return index.range(dimension, from, to);
+        }
+    }
+
+    private record All() implements Node {
+        public RowBitmap evaluate(BitmapIndex index) {
+            return index.all();
+        }
+    }
+
+    private final String text;
+    private final Node root;
+    private int pos;
+
+    private MatchFilter(String text) {
+        this.text = text;
+        skipSpace();
+        if (pos == text.length()) {
+            this.root = new All();
+            return;
+        }
+        Node node = or();
+        if (pos < text.length()) {
+            throw error("unexpected '" + text.charAt(pos) + "'");
+        }
+        this.root = node;
+    }
+
+    /** Parses {@code expression}; null or blank matches everything. */
+    public static MatchFilter parse(String expression) {
+        return new MatchFilter(expression == null ? "" : expression);
+    }
+
+    public RowBitmap evaluate(BitmapIndex index) {
+        return root.evaluate(index);
+    }
+
+    private Node or() {
+        Node node = and();
+        while (keyword("OR")) {
+            node = new Or(node, and());
+        }
+        return node;
+    }
+
+    private Node and() {
+        Node node = unary();
+        while (true) {
+            if (keyword("AND")) {
+                node = new And(node, unary());
+            } else if (pos < text.length() && text.charAt(pos) != ')' && !peekKeyword("OR")) {
+                node = new And(node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (keyword("NOT")) {
+            return new Not(unary());
+        }
+        if (pos < text.length() && text.charAt(pos) == '(') {
+            pos++;
+            skipSpace();
+            Node node = or();
+            if (pos >= text.length() || text.charAt(pos) != ')') {
+                throw error("missing ')'");
+            }
+            pos++;
+            skipSpace();
+            return node;
+        }
+        return condition();
+    }
+
+    private Node condition() {
+        int start = pos;
+        while (pos < text.length() && Character.isLetterOrDigit(text.charAt(pos))) {
+            pos++;
+        }
+        String dimension = text.substring(start, pos);
+        if (dimension.isEmpty() || pos >= text.length() || text.charAt(pos) != ':') {
+            pos = start;
+            throw error("expected dimension:value");
+        }
+        if (!BitmapIndex.isDimension(dimension)) {
+            pos = start;
+            throw error("unknown dimension '" + dimension + "', expected one of " + BitmapIndex.dimensions());
+        }
+        pos++;
+        int valueStart = pos;
+        String value = value();
+        int dots = value.indexOf("..");
+        if (dots >= 0 && BitmapIndex.isNumeric(dimension)) {
+            try {
+                return new Range(dimension, Long.parseLong(value.substring(0, dots).trim()),
+                        Long.parseLong(value.substring(dots + 2).trim()));
+            } catch (NumberFormatException e) {
+                pos = valueStart;
+                throw error("expected a range like 2015..2020");
+            }
+        }
+        return new Equal(dimension, value);
+    }
+
+    private String value() {
+        String value;
+        if (pos < text.length() && text.charAt(pos) == '"') {
+            int close = text.indexOf('"', pos + 1);
+            if (close < 0) {
+                throw error("unterminated quote");
+            }
+            value = text.substring(pos + 1, close);
+            pos = close + 1;
+        } else {
+            int start = pos;
+            while (pos < text.length() && !Character.isWhitespace(text.charAt(pos)) && text.charAt(pos) != ')') {
+                pos++;
+            }
+            value = text.substring(start, pos);
+        }
+        if (value.isEmpty()) {
+            throw error("missing value");
+        }
+        skipSpace();
+        return value;
+    }
+
+    private boolean keyword(String word) {
+        if (!peekKeyword(word)) {
+            return false;
+        }
+        pos += word.length();
+        skipSpace();
+        return true;
+    }
+
+    // The word itself, not the start of a dimension name such as "order:"
+    private boolean peekKeyword(String word) {
+        int end = pos + word.length();
+        return text.regionMatches(true, pos, word, 0, word.length())
+                && (end == text.length() || Character.isWhitespace(text.charAt(end)) || text.charAt(end) == '(');
+    }
+
+    private void skipSpace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Filter at " + (pos + 1) + ": " + message);
+    }
+}
@@ -0,0 +1,398 @@
+package com.ipl.ipl_dashboard.filter;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of match rows, laid out like a Roaring bitmap: rows are split into chunks of
+ * 65,536 by their high 16 bits, and each non-empty chunk is stored as either a sorted {@code char[]} of
+ * low bits (up to {@value #ARRAY_MAX} rows) or a 1,024-word {@code long[]} bitmap (denser chunks).
+ * Sparse values such as one umpire cost two bytes per row, dense ones such as a toss decision an eighth
+ * of a byte, and AND/OR/AND NOT work chunk by chunk without expanding either side to a row list.
+ */
+public final class RowBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    public static final RowBitmap EMPTY = new RowBitmap(new char[0], new Object[0], new int[0]);
+
+    // High 16 bits of each chunk, ascending; containers[i] is a char[] or a long[WORDS]
+    private final char[] keys;
+    private final Object[] containers;
+    private final int[] cardinalities;
+
+    private RowBitmap(char[] keys, Object[] containers, int[] cardinalities) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinalities = cardinalities;
+    }
+
+    /** The set of {@code rows}, which must be strictly ascending. */
+    public static RowBitmap of(int[] rows, int length) {
+        Builder b = new Builder();
+        int i = 0;
+        while (i < length) {
+            char key = (char) (rows[i] >>> 16);
+            int end = i;
+            while (end < length && rows[end] >>> 16 == key) {
+                end++;
+            }
+            char[] low = new char[end - i];
+            for (int j = i; j < end; j++) {
+                low[j - i] = (char) rows[j];
+            }
+            b.add(key, low.length > ARRAY_MAX ? toBits(low, low.length) : low, low.length);
+            i = end;
+        }
+        return b.build();
+    }
+
+    /** Rows {@code [0, size)}. */
+    public static RowBitmap all(int size) {
+        Builder b = new Builder();
+        for (int from = 0; from < size; from += 1 << 16) {
+            int count = Math.min(1 << 16, size - from);
+            Object container;
+            if (count <= ARRAY_MAX) {
+                char[] low = new char[count];
+                for (int j = 0; j < count; j++) {
+                    low[j] = (char) j;
+                }
+                container = low;
+            } else {
+                long[] bits = new long[WORDS];
+                Arrays.fill(bits, 0, count >>> 6, -1L);
+                if ((count & 63) != 0) {
+                    bits[count >>> 6] = (1L << (count & 63)) - 1;
+                }
+                container = bits;
+            }
+            b.add((char) (from >>> 16), container, count);
+        }
+        return b.build();
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int c : cardinalities) {
+            n += c;
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /** The rows, ascending. */
+    public int[] toArray() {
+        int[] out = new int[cardinality()];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int high = keys[i] << 16;
+            if (containers[i] instanceof char[] low) {
+                for (char l : low) {
+                    out[n++] = high | l;
+                }
+            } else {
+                long[] bits = (long[]) containers[i];
+                for (int w = 0; w < WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        out[n++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 8L + cardinalities.length * 4L;
+        for (Object c : containers) {
+            bytes += 16 + (c instanceof char[] low ? low.length * 2L : WORDS * 8L);
+        }
+        return bytes;
+    }
+
+    public RowBitmap and(RowBitmap other) {
+        Builder b = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                b.addNormalized(keys[i], and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return b.build();
+    }
+
+    /** {@code and(other).cardinality()}, without building the intersection. */
+    public int andCardinality(RowBitmap other) {
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                n += andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    public RowBitmap or(RowBitmap other) {
+        Builder b = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j >= other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                b.add(keys[i], containers[i], cardinalities[i]);
+                i++;
+            } else if (i >= keys.length || other.keys[j] < keys[i]) {
+                b.add(other.keys[j], other.containers[j], other.cardinalities[j]);
+                j++;
+            } else {
+                b.addNormalized(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return b.build();
+    }
+
+    /** Rows in this set and not in {@code other}. */
+    public RowBitmap andNot(RowBitmap other) {
+        Builder b = new Builder();
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.keys.length && other.keys[j] == keys[i]) {
+                b.addNormalized(keys[i], andNot(containers[i], other.containers[j]));
+            } else {
+                b.add(keys[i], containers[i], cardinalities[i]);
+            }
+        }
+        return b.build();
+    }
+
+    // Container operations. Results may be a char[] or a long[]; Builder.addNormalized picks the layout.
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] x && b instanceof char[] y) {
+            char[] out = new char[Math.min(x.length, y.length)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length && j < y.length) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    out[n++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+        if (a instanceof char[] || b instanceof char[]) {
+            char[] x = a instanceof char[] low ? low : (char[]) b;
+            long[] bits = (long[]) (a instanceof char[] ? b : a);
+            char[] out = new char[x.length];
+            int n = 0;
+            for (char l : x) {
+                if (contains(bits, l)) {
+                    out[n++] = l;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+        long[] x = (long[]) a;
+        long[] y = (long[]) b;
+        long[] out = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            out[w] = x[w] & y[w];
+        }
+        return out;
+    }
+
+    private static int andCardinality(Object a, Object b) {
+        if (a instanceof long[] x && b instanceof long[] y) {
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                n += Long.bitCount(x[w] & y[w]);
+            }
+            return n;
+        }
+        if (a instanceof char[] x && b instanceof long[] bits) {
+            return countIn(x, bits);
+        }
+        if (a instanceof long[] bits && b instanceof char[] y) {
+            return countIn(y, bits);
+        }
+        return ((char[]) and(a, b)).length;
+    }
+
+    private static int countIn(char[] low, long[] bits) {
+        int n = 0;
+        for (char l : low) {
+            if (contains(bits, l)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] x && b instanceof char[] y && x.length + y.length <= ARRAY_MAX) {
+            char[] out = new char[x.length + y.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length || j < y.length) {
+                if (j >= y.length || (i < x.length && x[i] < y[j])) {
+                    out[n++] = x[i++];
+                } else if (i >= x.length || y[j] < x[i]) {
+                    out[n++] = y[j++];
+                } else {
+                    out[n++] = x[i++];
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+        long[] out = a instanceof long[] bits ? bits.clone() : toBits((char[]) a, ((char[]) a).length);
+        if (b instanceof char[] y) {
+            for (char l : y) {
+                out[l >>> 6] |= 1L << l;
+            }
+        } else {
+            long[] y = (long[]) b;
+            for (int w = 0; w < WORDS; w++) {
+                out[w] |= y[w];
+            }
+        }
+        return out;
+    }
+
+    private static Object andNot(Object a, Object b) {
+        if (a instanceof char[] x) {
+            char[] out = new char[x.length];
+            int n = 0;
+            if (b instanceof long[] bits) {
+                for (char l : x) {
+                    if (!contains(bits, l)) {
+                        out[n++] = l;
+                    }
+                }
+            } else {
+                char[] y = (char[]) b;
+                int j = 0;
+                for (char l : x) {
+                    while (j < y.length && y[j] < l) {
+                        j++;
+                    }
+                    if (j >= y.length || y[j] != l) {
+                        out[n++] = l;
+                    }
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+        long[] out = ((long[]) a).clone();
+        if (b instanceof char[] y) {
+            for (char l : y) {
+                out[l >>> 6] &= ~(1L << l);
+            }
+        } else {
+            long[] y = (long[]) b;
+            for (int w = 0; w < WORDS; w++) {
+                out[w] &= ~y[w];
+            }
+        }
+        return out;
+    }
+
+    private static boolean contains(long[] bits, char low) {
+        return (bits[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static long[] toBits(char[] low, int length) {
+        long[] bits = new long[WORDS];
+        for (int i = 0; i < length; i++) {
+            bits[low[i] >>> 6] |= 1L << low[i];
+        }
+        return bits;
+    }
+
+    private static final class Builder {
+
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int[] cardinalities = new int[4];
+        private int size;
+
+        void add(char key, Object container, int cardinality) {
+            if (cardinality == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+                cardinalities = Arrays.copyOf(cardinalities, size * 2);
+            }
+            keys[size] = key;
+            containers[size] = container;
+            cardinalities[size] = cardinality;
+            size++;
+        }
+
+        // Counts the container and switches it to the layout its cardinality calls for
+        void addNormalized(char key, Object container) {
+            if (container instanceof char[] low) {
+                add(key, low.length > ARRAY_MAX ? toBits(low, low.length) : low, low.length);
+                return;
+            }
+            long[] bits = (long[]) container;
+            int n = 0;
+            for (long word : bits) {
+                n += Long.bitCount(word);
+            }
+            if (n > ARRAY_MAX) {
+                add(key, bits, n);
+                return;
+            }
+            char[] low = new char[n];
+            int k = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    low[k++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            add(key, low, n);
+        }
+
+        RowBitmap build() {
+            return size == 0 ? EMPTY : new RowBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size),
+                    Arrays.copyOf(cardinalities, size));
+        }
+    }
+}
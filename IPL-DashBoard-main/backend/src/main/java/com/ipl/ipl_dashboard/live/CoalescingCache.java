@@ -0,0 +1,93 @@
+package com.ipl.ipl_dashboard.live;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Front for an expensive asynchronous fetch (an upstream HTTP call):
+ * <ul>
+ *   <li>a result younger than {@code freshFor} is returned without fetching;</li>
+ *   <li>callers asking for a key while a fetch for it is running share that fetch (single flight);</li>
+ *   <li>when a fetch fails, the last good result is returned instead as long as it is no older than
+ *   {@code maxStale}; past that, callers see the failure.</li>
+ * </ul>
+ * Each caller gets its own copy of the shared future, so cancelling one does not cancel the fetch.
+ */
+public final class CoalescingCache<K, V> {
+
+    private final long freshNanos;
+    private final long maxStaleNanos;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, Stored<V>> lastGood = new ConcurrentHashMap<>();
+
+    private final LongAdder fresh = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    private record Stored<V>(V value, long fetchedAt) {
+    }
+
+    public CoalescingCache(Duration freshFor, Duration maxStale) {
+        this.freshNanos = freshFor.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+    }
+
+    public CompletableFuture<V> get(K key, Supplier<CompletableFuture<V>> fetch) {
+        Stored<V> stored = lastGood.get(key);
+        if (stored != null && System.nanoTime() - stored.fetchedAt() < freshNanos) {
+            fresh.increment();
+            return CompletableFuture.completedFuture(stored.value());
+        }
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> shared = inFlight.putIfAbsent(key, created);
+        if (shared != null) {
+            joined.increment();
+            return shared.copy();
+        }
+
+        fetches.increment();
+        CompletableFuture<V> upstream;
+        try {
+            upstream = fetch.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((value, error) -> {
+            // Record the outcome before letting the next caller start a fetch
+            if (error == null) {
+                lastGood.put(key, new Stored<>(value, System.nanoTime()));
+                inFlight.remove(key, created);
+                created.complete(value);
+                return;
+            }
+            failures.increment();
+            inFlight.remove(key, created);
+            Stored<V> last = lastGood.get(key);
+            if (last != null && System.nanoTime() - last.fetchedAt() <= maxStaleNanos) {
+                stale.increment();
+                created.complete(last.value());
+            } else {
+                created.completeExceptionally(error);
+            }
+        });
+        return created.copy();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("fresh", fresh.sum());
+        m.put("joined", joined.sum());
+        m.put("fetches", fetches.sum());
+        m.put("failures", failures.sum());
+        m.put("staleServed", stale.sum());
+        return m;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ipl.ipl_dashboard.live;
+
+import java.util.Map;
+
+/**
+ * One observation of a match from a feed source. Field names follow the old live-score payload
+ * ({@code status}, {@code team1Runs}, {@code team1Overs}, ...); a field that is absent is left as it was.
+ */
+public record LiveFeedFrame(String matchId, Map<String, Object> fields) {
+}
@@ -0,0 +1,24 @@
+package com.ipl.ipl_dashboard.live;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where live scores come from. {@link LiveScoreEngine} polls every source bean and merges what they
+ * report; a source only has to return the latest known fields per match, the engine works out what
+ * changed.
+ */
+public interface LiveFeedSource {
+
+    /** Short name used in logs. */
+    String name();
+
+    /** The current state of every match the source is following (or just those that moved). */
+    List<LiveFeedFrame> poll() throws IOException;
+
+    /** Source-specific counters for {@code /api/metrics/live}. */
+    default Map<String, Object> metrics() {
+        return Map.of();
+    }
+}
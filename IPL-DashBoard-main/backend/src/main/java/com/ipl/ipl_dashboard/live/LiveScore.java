@@ -0,0 +1,8 @@
+package com.ipl.ipl_dashboard.live;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** Full, immutable state of one live match; {@code version} goes up by one for every change. */
+public record LiveScore(String matchId, long version, Instant updatedAt, Map<String, Object> fields) {
+}
@@ -0,0 +1,27 @@
+package com.ipl.ipl_dashboard.live;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What a subscriber of {@code /topic/live/{matchId}} receives: the fields that changed between
+ * version {@code from} and {@code version}, with null for a field that went away. Updates in between
+ * are folded in, so a client holding {@code from} applies the changes and is at {@code version}; a
+ * client holding anything else should take a fresh snapshot.
+ */
+public record LiveScoreDelta(String matchId, long from, long version, Map<String, Object> changes) {
+
+    /**
+     * This delta followed by {@code later}, as one: from {@code from} to {@code later.version}. Used when a
+     * subscriber has both waiting. If they do not chain, {@code later} is returned as it is.
+     */
+    public LiveScoreDelta merge(LiveScoreDelta later) {
+        if (later.from() != version) {
+            return later;
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(changes);
+        merged.putAll(later.changes());
+        return new LiveScoreDelta(matchId, from, later.version(), Collections.unmodifiableMap(merged));
+    }
+}
@@ -0,0 +1,225 @@
+package com.ipl.ipl_dashboard.live;
+
+import com.ipl.ipl_dashboard.broadcast.TopicBroadcaster;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the latest state of every live match and pushes changes to {@code /topic/live/{matchId}}.
+ *
+ * <p>Sources are polled by {@code LiveScoreScheduler}. Feed frames are merged into an immutable
+ * {@link LiveScore} per match as they arrive, but nothing is sent then: a match only becomes dirty.
+ * Every {@code ipl.live.broadcast-interval-ms} the dirty matches get one {@link LiveScoreDelta} each,
+ * from the last broadcast version to the current one. A burst of updates therefore goes out as a
+ * single message carrying only the fields that ended up different, and no subscriber is ever handed a
+ * backlog of intermediate states. New subscribers take a snapshot first (see
+ * {@code LiveScoreController}); it is the published state, so the next delta always starts from it.
+ * Deltas go out through {@link TopicBroadcaster}, which merges them with {@link LiveScoreDelta#merge} for
+ * a subscriber that cannot keep up.
+ *
+ * <p>Matches are dropped after polling their source: a complete or abandoned one once its final state
+ * has been broadcast and unchanged for {@code ipl.live.evict.finished-after}, and any match its source
+ * has not reported for {@code ipl.live.evict.missing-after}, so one that vanishes from the feed
+ * mid-innings does not keep {@code LiveScoreScheduler} polling at the in-play rate.
+ */
+@Component
+public class LiveScoreEngine {
+
+    public static final String TOPIC_PREFIX = "/topic/live/";
+
+    private final List<LiveFeedSource> sources;
+    private final ObjectProvider<TopicBroadcaster> broadcaster;
+    private final Duration finishedAfter;
+    private final Duration missingAfter;
+
+    private final Map<String, MatchFeed> feeds = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder versions = new LongAdder();
+    private final LongAdder deltas = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder pollFailures = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    // What subscribers have been told (published) versus what we know (current), and who last reported it
+    private record MatchFeed(LiveScore current, LiveScore published, LiveFeedSource source, Instant lastSeen) {
+    }
+
+    public LiveScoreEngine(List<LiveFeedSource> sources, ObjectProvider<TopicBroadcaster> broadcaster,
+                           @Value("${ipl.live.evict.finished-after:10m}") Duration finishedAfter,
+                           @Value("${ipl.live.evict.missing-after:15m}") Duration missingAfter) {
+        this.sources = sources;
+        this.broadcaster = broadcaster;
+        this.finishedAfter = finishedAfter;
+        this.missingAfter = missingAfter;
+        // A subscriber that falls behind gets the deltas waiting for it folded into one
+        broadcaster.ifAvailable(b -> b.conflateWith(TOPIC_PREFIX, LiveScoreDelta.class, LiveScoreDelta::merge));
+        for (LiveFeedSource source : sources) {
+            System.out.println("✅ Live score source: " + source.name());
+        }
+    }
+
+    public boolean hasSources() {
+        return !sources.isEmpty();
+    }
+
+    /** Polls every source once; driven by {@code LiveScoreScheduler}, which picks the interval. */
+    public void poll() {
+        for (LiveFeedSource source : sources) {
+            try {
+                List<LiveFeedFrame> polled = source.poll();
+                Instant now = Instant.now();
+                polled.forEach(frame -> accept(source, frame, now));
+                evict(source, now);
+            } catch (IOException | RuntimeException e) {
+                pollFailures.increment();
+                System.err.println("Live source " + source.name() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Merges one frame; absent fields keep their value and a null value removes the field. */
+    private void accept(LiveFeedSource source, LiveFeedFrame frame, Instant now) {
+        frames.increment();
+        feeds.compute(frame.matchId(), (id, feed) -> {
+            LiveScore current = feed == null ? null : feed.current();
+            Map<String, Object> fields = current == null ? new LinkedHashMap<>() : new LinkedHashMap<>(current.fields());
+            boolean changed = current == null;
+            for (Map.Entry<String, Object> e : frame.fields().entrySet()) {
+                if (e.getValue() == null ? fields.remove(e.getKey()) != null
+                        : !Objects.equals(fields.put(e.getKey(), e.getValue()), e.getValue())) {
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                return new MatchFeed(current, feed.published(), source, now);
+            }
+            versions.increment();
+            dirty.add(id);
+            LiveScore next = new LiveScore(id, current == null ? 1 : current.version() + 1, Instant.now(),
+                    Collections.unmodifiableMap(fields));
+            return new MatchFeed(next, feed == null ? null : feed.published(), source, now);
+        });
+    }
+
+    // Only after a successful poll, so a source that is down does not lose its matches early
+    private void evict(LiveFeedSource source, Instant now) {
+        feeds.forEach((id, feed) -> {
+            if (feed.source() != source) {
+                return;
+            }
+            boolean missing = feed.lastSeen().plus(missingAfter).isBefore(now);
+            boolean finished = finished(feed.current()) && feed.published() == feed.current()
+                    && feed.current().updatedAt().plus(finishedAfter).isBefore(now);
+            // remove(key, value) leaves the match alone if a frame or flush replaced it meanwhile
+            if ((missing || finished) && feeds.remove(id, feed)) {
+                evicted.increment();
+            }
+        });
+    }
+
+    private static boolean finished(LiveScore score) {
+        Object state = score.fields().get("state");
+        String s = state == null ? "" : state.toString().toLowerCase(Locale.ENGLISH);
+        return s.equals("complete") || s.equals("abandon");
+    }
+
+    @Scheduled(fixedRateString = "${ipl.live.broadcast-interval-ms:250}")
+    public void flush() {
+        TopicBroadcaster topics = broadcaster.getIfAvailable();
+        for (String id : dirty) {
+            dirty.remove(id);
+            LiveScoreDelta[] out = new LiveScoreDelta[1];
+            feeds.computeIfPresent(id, (k, feed) -> {
+                out[0] = diff(feed.published(), feed.current());
+                return new MatchFeed(feed.current(), feed.current(), feed.source(), feed.lastSeen());
+            });
+            LiveScoreDelta delta = out[0];
+            if (delta == null || delta.changes().isEmpty()) {
+                continue;
+            }
+            deltas.increment();
+            conflated.add(delta.version() - delta.from() - 1);
+            if (topics != null) {
+                topics.publish(TOPIC_PREFIX + id, delta);
+            }
+        }
+    }
+
+    private static LiveScoreDelta diff(LiveScore from, LiveScore to) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Map<String, Object> before = from == null ? Map.of() : from.fields();
+        to.fields().forEach((key, value) -> {
+            if (!Objects.equals(before.get(key), value)) {
+                changes.put(key, value);
+            }
+        });
+        for (String key : before.keySet()) {
+            if (!to.fields().containsKey(key)) {
+                changes.put(key, null);
+            }
+        }
+        return new LiveScoreDelta(to.matchId(), from == null ? 0 : from.version(), to.version(),
+                Collections.unmodifiableMap(changes));
+    }
+
+    /**
+     * State of a match as last broadcast, so the next delta applies to it; empty until the first flush
+     * after the match appears.
+     */
+    public Optional<LiveScore> snapshot(String matchId) {
+        MatchFeed feed = feeds.get(matchId);
+        return feed == null ? Optional.empty() : Optional.ofNullable(feed.published());
+    }
+
+    /** Every match broadcast so far, as last broadcast, most recently updated first. */
+    public List<LiveScore> snapshots() {
+        return sorted(feeds.values().stream().map(MatchFeed::published).filter(Objects::nonNull).toList());
+    }
+
+    /** Every match followed, including changes not broadcast yet; for polling decisions, not for clients. */
+    public List<LiveScore> latest() {
+        return sorted(feeds.values().stream().map(MatchFeed::current).toList());
+    }
+
+    private static List<LiveScore> sorted(List<LiveScore> scores) {
+        List<LiveScore> out = new ArrayList<>(scores);
+        out.sort(Comparator.comparing(LiveScore::updatedAt).reversed());
+        return out;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        Map<String, Object> bySource = new LinkedHashMap<>();
+        sources.forEach(source -> bySource.put(source.name(), source.metrics()));
+        m.put("sources", bySource);
+        m.put("matches", feeds.size());
+        m.put("frames", frames.sum());
+        m.put("versions", versions.sum());
+        m.put("deltas", deltas.sum());
+        // Versions folded into a later delta instead of being sent on their own
+        m.put("conflated", conflated.sum());
+        m.put("pollFailures", pollFailures.sum());
+        m.put("evicted", evicted.sum());
+        return m;
+    }
+}
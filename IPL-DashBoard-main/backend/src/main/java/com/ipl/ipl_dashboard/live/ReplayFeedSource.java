@@ -0,0 +1,89 @@
+package com.ipl.ipl_dashboard.live;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for a real feed: replays NDJSON frames from a file, a few per poll. Each line is one
+ * frame, {@code {"matchId": "...", "status": "...", "team1Runs": 87, ...}}; several matches can be
+ * interleaved in the same file, and a null value clears a field. Used for demos and for exercising
+ * the broadcast path without an API key.
+ */
+@Component
+@ConditionalOnProperty(name = "ipl.live.source", havingValue = "replay")
+public class ReplayFeedSource implements LiveFeedSource {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> FRAME = new TypeReference<>() {
+    };
+
+    private final List<LiveFeedFrame> frames;
+    private final int framesPerPoll;
+    private final boolean loop;
+    private final String location;
+    private int next;
+
+    public ReplayFeedSource(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+                            @Value("${ipl.live.replay.path:classpath:live/replay.ndjson}") String location,
+                            @Value("${ipl.live.replay.frames-per-poll:1}") int framesPerPoll,
+                            @Value("${ipl.live.replay.loop:true}") boolean loop) throws IOException {
+        this.location = location;
+        this.framesPerPoll = Math.max(1, framesPerPoll);
+        this.loop = loop;
+        this.frames = read(resourceLoader.getResource(location), objectMapper);
+        System.out.println("✅ Replay feed: " + frames.size() + " frames from " + location);
+    }
+
+    private static List<LiveFeedFrame> read(Resource resource, ObjectMapper objectMapper) throws IOException {
+        List<LiveFeedFrame> out = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> fields = objectMapper.readValue(line, FRAME);
+                Object matchId = fields.remove("matchId");
+                if (matchId == null) {
+                    throw new IOException("Replay frame without matchId: " + line);
+                }
+                out.add(new LiveFeedFrame(matchId.toString(), fields));
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public String name() {
+        return "replay(" + location + ")";
+    }
+
+    @Override
+    public synchronized List<LiveFeedFrame> poll() {
+        List<LiveFeedFrame> out = new ArrayList<>(framesPerPoll);
+        while (out.size() < framesPerPoll && !frames.isEmpty()) {
+            if (next == frames.size()) {
+                if (!loop) {
+                    break;
+                }
+                next = 0;
+            }
+            out.add(frames.get(next++));
+        }
+        return out;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*; // Ensure all lombok annotations are imported
 
 @Entity
+@Table(indexes = @Index(name = "idx_match_source_id", columnList = "sourceId"))
 @Data // This annotation generates getters, setters, equals, hashCode, and toString
 @NoArgsConstructor // Generates a constructor with no arguments
 @AllArgsConstructor // Generates a constructor with all arguments
@@ -12,6 +13,7 @@ public class Match {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    private String sourceId; // The CSV id column; unique per match, used to skip rows already ingested
     private String city;
     private java.time.LocalDate date; // Use java.time.LocalDate
     private String playerOfMatch; // Corrected field name (camelCase)
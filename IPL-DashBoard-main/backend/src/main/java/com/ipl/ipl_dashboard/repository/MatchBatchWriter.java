@@ -0,0 +1,59 @@
+package com.ipl.ipl_dashboard.repository;
+
+import com.ipl.ipl_dashboard.model.Match;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Plain JDBC batch insert for {@link Match} rows. {@code Match} uses an IDENTITY id, which stops Hibernate
+ * from batching, so bulk loads go through here with ids assigned by the caller.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO match (id, source_id, city, date, player_of_match, venue, team1, team2, "
+            + "toss_winner, toss_decision, match_winner, result, result_margin, umpire1, umpire2, season, match_type, "
+            + "target_runs, target_overs, super_over, method) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<Match> matches) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, matches, matches.size(), (ps, m) -> {
+            ps.setLong(1, m.getId());
+            ps.setString(2, m.getSourceId());
+            ps.setString(3, m.getCity());
+            ps.setDate(4, m.getDate() != null ? Date.valueOf(m.getDate()) : null);
+            ps.setString(5, m.getPlayerOfMatch());
+            ps.setString(6, m.getVenue());
+            ps.setString(7, m.getTeam1());
+            ps.setString(8, m.getTeam2());
+            ps.setString(9, m.getTossWinner());
+            ps.setString(10, m.getTossDecision());
+            ps.setString(11, m.getMatchWinner());
+            ps.setString(12, m.getResult());
+            ps.setString(13, m.getResultMargin());
+            ps.setString(14, m.getUmpire1());
+            ps.setString(15, m.getUmpire2());
+            ps.setString(16, m.getSeason());
+            ps.setString(17, m.getMatchType());
+            ps.setString(18, m.getTargetRuns());
+            ps.setString(19, m.getTargetOvers());
+            ps.setString(20, m.getSuperOver());
+            ps.setString(21, m.getMethod());
+        });
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM match");
+    }
+
+    // Explicit ids don't advance the identity column, so move it past them for any later JPA inserts
+    public void restartIdentityAfter(long lastId) {
+        jdbcTemplate.execute("ALTER TABLE match ALTER COLUMN id RESTART WITH " + (lastId + 1));
+    }
+}
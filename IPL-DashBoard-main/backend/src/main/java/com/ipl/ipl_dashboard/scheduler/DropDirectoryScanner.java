@@ -0,0 +1,91 @@
+package com.ipl.ipl_dashboard.scheduler;
+
+import com.ipl.ipl_dashboard.data.MappedCsvMatchSource;
+import com.ipl.ipl_dashboard.data.MatchSource;
+import com.ipl.ipl_dashboard.service.MatchIngestService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Watches {@code ipl.ingest.drop-dir} for match CSVs and feeds them to {@link MatchIngestService}. The
+ * directory is scanned every {@code ipl.ingest.drop-scan}; a {@code *.csv} file is ingested once its
+ * size and modification time are the same on two scans in a row, so a file still being copied in is
+ * left alone, and again whenever it changes. Files stay where they are: after a restart every one of
+ * them is read again and its rows are skipped as already known.
+ */
+@Component
+public class DropDirectoryScanner {
+
+    private record Seen(long size, long modified) {
+    }
+
+    private final MatchIngestService ingestService;
+    private final TaskScheduler taskScheduler;
+    private final Path dir;
+    private final Duration interval;
+    // last size/mtime observed, and the version of each file that has been ingested (or rejected)
+    private final Map<Path, Seen> observed = new HashMap<>();
+    private final Map<Path, Seen> done = new HashMap<>();
+
+    public DropDirectoryScanner(MatchIngestService ingestService, TaskScheduler taskScheduler,
+                                @Value("${ipl.ingest.drop-dir:}") String dir,
+                                @Value("${ipl.ingest.drop-scan:5s}") Duration interval) {
+        this.ingestService = ingestService;
+        this.taskScheduler = taskScheduler;
+        this.dir = dir.isBlank() ? null : Path.of(dir);
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (dir != null) {
+            System.out.println("✅ Watching " + dir.toAbsolutePath() + " for match CSVs every " + interval.toMillis() + " ms");
+            taskScheduler.scheduleWithFixedDelay(this::scan, interval);
+        }
+    }
+
+    void scan() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Set<Path> present = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.csv")) {
+            for (Path file : files) {
+                present.add(file);
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                Seen now = new Seen(attrs.size(), attrs.lastModifiedTime().toMillis());
+                Seen before = observed.put(file, now);
+                if (now.equals(before) && !now.equals(done.get(file))) {
+                    done.put(file, now);
+                    ingest(file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Drop directory scan of " + dir + " failed: " + e.getMessage());
+        }
+        observed.keySet().retainAll(present);
+        done.keySet().retainAll(present);
+    }
+
+    private void ingest(Path file) {
+        try (MatchSource source = MappedCsvMatchSource.open(file)) {
+            ingestService.ingest(source, file.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Skipping " + file + ": " + e.getMessage());
+        }
+    }
+}
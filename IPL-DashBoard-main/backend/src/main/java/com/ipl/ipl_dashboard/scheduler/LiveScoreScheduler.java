@@ -1,5 +1,88 @@
 package com.ipl.ipl_dashboard.scheduler;
 
+import com.ipl.ipl_dashboard.live.LiveScore;
+import com.ipl.ipl_dashboard.live.LiveScoreEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Drives {@link LiveScoreEngine#poll()} with an interval that follows the matches: every
+ * {@code ipl.live.poll.in-play} while any innings is in progress, {@code ipl.live.poll.break} during
+ * toss, innings breaks, delays and other stoppages, and {@code ipl.live.poll.idle} when nothing is live.
+ * Upstream quota is spent on overs being bowled rather than on rain.
+ */
+@Component
 public class LiveScoreScheduler {
-    // This scheduler has been intentionally disabled. To fully remove, delete this class.
-}
\ No newline at end of file
+
+    enum Phase { IN_PLAY, BREAK, IDLE }
+
+    private final LiveScoreEngine engine;
+    private final TaskScheduler taskScheduler;
+    private final Duration inPlay;
+    private final Duration breakInterval;
+    private final Duration idle;
+    private volatile Phase phase;
+
+    public LiveScoreScheduler(LiveScoreEngine engine, TaskScheduler taskScheduler,
+                              @Value("${ipl.live.poll.in-play:10s}") Duration inPlay,
+                              @Value("${ipl.live.poll.break:60s}") Duration breakInterval,
+                              @Value("${ipl.live.poll.idle:5m}") Duration idle) {
+        this.engine = engine;
+        this.taskScheduler = taskScheduler;
+        this.inPlay = inPlay;
+        this.breakInterval = breakInterval;
+        this.idle = idle;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (engine.hasSources()) {
+            taskScheduler.schedule(this::run, Instant.now());
+        }
+    }
+
+    private void run() {
+        try {
+            engine.poll();
+        } finally {
+            Phase next = phase(engine.latest());
+            if (next != phase) {
+                phase = next;
+                System.out.println("✅ Live polling every " + interval(next).toMillis() + " ms (" + next + ")");
+            }
+            taskScheduler.schedule(this::run, Instant.now().plus(interval(next)));
+        }
+    }
+
+    Duration interval(Phase phase) {
+        return switch (phase) {
+            case IN_PLAY -> inPlay;
+            case BREAK -> breakInterval;
+            case IDLE -> idle;
+        };
+    }
+
+    // The busiest match decides: one innings in progress keeps polling fast
+    static Phase phase(List<LiveScore> matches) {
+        Phase phase = Phase.IDLE;
+        for (LiveScore match : matches) {
+            Object state = match.fields().get("state");
+            String s = state == null ? "" : state.toString().toLowerCase(Locale.ENGLISH);
+            if (s.equals("in progress")) {
+                return Phase.IN_PLAY;
+            }
+            if (!s.isEmpty() && !s.equals("complete") && !s.equals("abandon") && !s.equals("upcoming")) {
+                phase = Phase.BREAK;
+            }
+        }
+        return phase;
+    }
+}
@@ -0,0 +1,142 @@
+package com.ipl.ipl_dashboard.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance, for "everything within k edits" lookups.
+ * Each key carries the ids of the entries it came from.
+ *
+ * <p>Distances are computed with a cut-off of {@code k + largest child edge}: a node further away than
+ * that cannot have any child within range, so the exact distance is never needed and most comparisons
+ * stop after a few DP rows.
+ */
+final class BkTree {
+
+    private Node root;
+    private int maxKeyLength;
+
+    private static final class Node {
+        final String key;
+        int[] ids = new int[0];
+        final Map<Integer, Node> children = new HashMap<>();
+        int maxEdge;
+
+        Node(String key) {
+            this.key = key;
+        }
+
+        void addId(int id) {
+            for (int existing : ids) {
+                if (existing == id) {
+                    return;
+                }
+            }
+            ids = Arrays.copyOf(ids, ids.length + 1);
+            ids[ids.length - 1] = id;
+        }
+    }
+
+    interface Hit {
+        void accept(int id, int distance);
+    }
+
+    void add(String key, int id) {
+        maxKeyLength = Math.max(maxKeyLength, key.length());
+        if (root == null) {
+            root = new Node(key);
+            root.addId(id);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(key, node.key, Integer.MAX_VALUE, null);
+            if (d == 0) {
+                node.addId(id);
+                return;
+            }
+            Node child = node.children.get(d);
+            if (child == null) {
+                child = new Node(key);
+                child.addId(id);
+                node.children.put(d, child);
+                node.maxEdge = Math.max(node.maxEdge, d);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Reports every id whose key is within {@code k} edits of {@code query}. Stops early once
+     * {@code deadlineNanos} (a {@link System#nanoTime()} value) has passed.
+     *
+     * @return false if the deadline cut the search short
+     */
+    boolean search(String query, int k, long deadlineNanos, Hit hit) {
+        if (root == null) {
+            return true;
+        }
+        int[][] rows = {new int[maxKeyLength + 1], new int[maxKeyLength + 1]};
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            if (System.nanoTime() > deadlineNanos) {
+                return false;
+            }
+            Node node = pending.pop();
+            int cutoff = k + node.maxEdge;
+            int d = distance(query, node.key, cutoff, rows);
+            if (d <= k) {
+                for (int id : node.ids) {
+                    hit.accept(id, d);
+                }
+            }
+            if (d > cutoff) {
+                continue;
+            }
+            for (Map.Entry<Integer, Node> e : node.children.entrySet()) {
+                int edge = e.getKey();
+                if (edge >= d - k && edge <= d + k) {
+                    pending.push(e.getValue());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Levenshtein distance, or {@code cutoff + 1} as soon as it is known to exceed {@code cutoff}.
+     * {@code rows} optionally supplies two scratch rows of at least {@code b.length() + 1}.
+     */
+    static int distance(String a, String b, int cutoff, int[][] rows) {
+        if (Math.abs(a.length() - b.length()) > cutoff) {
+            return cutoff + 1;
+        }
+        int[] prev = rows != null ? rows[0] : new int[b.length() + 1];
+        int[] cur = rows != null ? rows[1] : new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > cutoff) {
+                return cutoff + 1;
+            }
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return Math.min(prev[b.length()], cutoff == Integer.MAX_VALUE ? Integer.MAX_VALUE : cutoff + 1);
+    }
+}
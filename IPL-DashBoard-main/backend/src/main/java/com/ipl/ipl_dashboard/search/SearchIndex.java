@@ -0,0 +1,313 @@
+package com.ipl.ipl_dashboard.search;
+
+import com.ipl.ipl_dashboard.dto.SearchSuggestion;
+import com.ipl.ipl_dashboard.model.Player;
+import com.ipl.ipl_dashboard.model.Team;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.PostingLists;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable name index over teams and players, built once per dataset.
+ * <ul>
+ *   <li>a trie over every word-start suffix of each name plus the team aliases ("csk", "mi"...), where each
+ *   node caches its best {@value #TOP_K} entries by score, so a prefix lookup is O(prefix length);</li>
+ *   <li>an n-gram index (all substrings of length 1-3) for "contains" queries: short queries are a single
+ *   lookup, longer ones intersect their trigram lists and verify the few survivors;</li>
+ *   <li>a {@link BkTree} over player names and their longer name tokens ("mccullum") for typo-tolerant
+ *   lookups within a small edit distance.</li>
+ * </ul>
+ * Entry ids are assigned teams first, then players, each alphabetically, so id order is result order.
+ */
+public final class SearchIndex {
+
+    static final int TOP_K = 20;
+
+    private final Entry[] entries;
+    private final int teamCount;
+    // Rank of each entry by (score desc, name asc); lower is better
+    private final int[] rank;
+    private final Map<String, Integer> exactTeams;
+    private final Map<String, int[]> grams;
+    private final Node root = new Node();
+    private final BkTree fuzzyPlayers = new BkTree();
+
+    private record Entry(boolean team, String name, String lower, long score, Object value) {
+    }
+
+    private static final class Node {
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        int[] top = new int[0];
+
+        Node child(char c, boolean create) {
+            int at = Arrays.binarySearch(labels, c);
+            if (at >= 0) {
+                return children[at];
+            }
+            if (!create) {
+                return null;
+            }
+            int insert = -at - 1;
+            Node node = new Node();
+            char[] l = new char[labels.length + 1];
+            Node[] ch = new Node[children.length + 1];
+            System.arraycopy(labels, 0, l, 0, insert);
+            System.arraycopy(children, 0, ch, 0, insert);
+            l[insert] = c;
+            ch[insert] = node;
+            System.arraycopy(labels, insert, l, insert + 1, labels.length - insert);
+            System.arraycopy(children, insert, ch, insert + 1, children.length - insert);
+            labels = l;
+            children = ch;
+            return node;
+        }
+    }
+
+    private SearchIndex(Collection<Team> teams, Collection<Player> players) {
+        List<Entry> list = new ArrayList<>();
+        teams.stream().sorted(Comparator.comparing(Team::getTeamName)).forEach(t ->
+                list.add(new Entry(true, t.getTeamName(), lower(t.getTeamName()), t.getTotalWins(), t)));
+        teamCount = list.size();
+        players.stream().sorted(Comparator.comparing(Player::getName)).forEach(p ->
+                list.add(new Entry(false, p.getName(), lower(p.getName()), p.getTotalPlayerOfMatchAwards(), p)));
+        entries = list.toArray(new Entry[0]);
+
+        Integer[] byRank = new Integer[entries.length];
+        for (int i = 0; i < byRank.length; i++) {
+            byRank[i] = i;
+        }
+        Arrays.sort(byRank, Comparator.<Integer>comparingLong(i -> -entries[i].score())
+                .thenComparing(i -> entries[i].lower())
+                .thenComparing(i -> i));
+        rank = new int[entries.length];
+        for (int r = 0; r < byRank.length; r++) {
+            rank[byRank[r]] = r;
+        }
+
+        exactTeams = new HashMap<>();
+        for (int id = 0; id < teamCount; id++) {
+            exactTeams.put(entries[id].lower(), id);
+        }
+        TeamAliases.ALIASES.forEach((alias, teamName) -> {
+            Integer id = exactTeams.get(lower(teamName));
+            if (id != null) {
+                exactTeams.putIfAbsent(alias, id);
+            }
+        });
+
+        Map<String, List<Integer>> gramLists = new HashMap<>();
+        for (int id = 0; id < entries.length; id++) {
+            String name = entries[id].lower();
+            Set<String> seen = new LinkedHashSet<>();
+            for (int len = 1; len <= 3; len++) {
+                for (int i = 0; i + len <= name.length(); i++) {
+                    seen.add(name.substring(i, i + len));
+                }
+            }
+            for (String g : seen) {
+                gramLists.computeIfAbsent(g, k -> new ArrayList<>()).add(id);
+            }
+
+            insert(name, id);
+            for (int i = 1; i < name.length(); i++) {
+                if (name.charAt(i - 1) == ' ' && name.charAt(i) != ' ') {
+                    insert(name.substring(i), id);
+                }
+            }
+        }
+        exactTeams.forEach((key, id) -> insert(key, id));
+
+        for (int id = teamCount; id < entries.length; id++) {
+            String name = entries[id].lower();
+            fuzzyPlayers.add(name, id);
+            for (String token : name.split(" ")) {
+                if (token.length() >= 3) {
+                    fuzzyPlayers.add(token, id);
+                }
+            }
+        }
+
+        grams = new HashMap<>();
+        gramLists.forEach((g, ids) -> grams.put(g, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    public static SearchIndex of(Dataset dataset) {
+        return new SearchIndex(dataset.teams().values(), dataset.players().values());
+    }
+
+    /** Team whose full name or alias equals the query, ignoring case. */
+    public Optional<Team> exactTeam(String query) {
+        Integer id = exactTeams.get(lower(query));
+        return id == null ? Optional.empty() : Optional.of(Dataset.copy((Team) entries[id].value()));
+    }
+
+    public List<Team> teamsContaining(String query) {
+        List<Team> out = new ArrayList<>();
+        for (int id : containing(lower(query))) {
+            if (id < teamCount) {
+                out.add(Dataset.copy((Team) entries[id].value()));
+            }
+        }
+        return out;
+    }
+
+    public List<Player> playersContaining(String query) {
+        List<Player> out = new ArrayList<>();
+        for (int id : containing(lower(query))) {
+            if (id >= teamCount) {
+                out.add((Player) entries[id].value());
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Up to {@code limit} suggestions: names with a word starting with the query (or a matching alias)
+     * first, then names merely containing it, each group ranked by score.
+     */
+    public List<SearchSuggestion> suggest(String query, int limit) {
+        String q = lower(query.trim());
+        int max = Math.max(1, Math.min(limit, TOP_K));
+        Set<Integer> picked = new LinkedHashSet<>();
+        if (!q.isEmpty()) {
+            Node node = root;
+            for (int i = 0; i < q.length() && node != null; i++) {
+                node = node.child(q.charAt(i), false);
+            }
+            if (node != null) {
+                for (int id : node.top) {
+                    if (picked.size() == max) {
+                        break;
+                    }
+                    picked.add(id);
+                }
+            }
+        }
+        if (picked.size() < max) {
+            int[] more = containing(q);
+            Integer[] ranked = new Integer[more.length];
+            for (int i = 0; i < more.length; i++) {
+                ranked[i] = more[i];
+            }
+            Arrays.sort(ranked, Comparator.comparingInt(id -> rank[id]));
+            for (int id : ranked) {
+                if (picked.size() == max) {
+                    break;
+                }
+                picked.add(id);
+            }
+        }
+
+        List<SearchSuggestion> out = new ArrayList<>(picked.size());
+        for (int id : picked) {
+            Entry e = entries[id];
+            out.add(new SearchSuggestion(e.team() ? "team" : "player", e.name(), e.score()));
+        }
+        return out;
+    }
+
+    /**
+     * Players whose name, or one of its words, is within {@code maxDistance} edits of the query or of one
+     * of its words, closest first and then by awards. The tree walks give up once {@code budgetNanos} is
+     * spent and return what they found so far.
+     */
+    public List<Player> fuzzyPlayers(String query, int maxDistance, long budgetNanos) {
+        String q = lower(query.trim());
+        Map<Integer, Integer> best = new HashMap<>();
+        BkTree.Hit hit = (id, distance) -> best.merge(id, distance, Math::min);
+        long deadline = System.nanoTime() + budgetNanos;
+        if (!q.isEmpty() && fuzzyPlayers.search(q, allowedEdits(q, maxDistance), deadline, hit)) {
+            for (String token : q.split(" +")) {
+                if (token.length() >= 3 && !token.equals(q)
+                        && !fuzzyPlayers.search(token, allowedEdits(token, maxDistance), deadline, hit)) {
+                    break;
+                }
+            }
+        }
+        List<Integer> ids = new ArrayList<>(best.keySet());
+        ids.sort(Comparator.<Integer>comparingInt(best::get).thenComparingInt(id -> rank[id]));
+        List<Player> out = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            out.add((Player) entries[id].value());
+        }
+        return out;
+    }
+
+    // Two edits turn most 3-4 letter words into something else entirely ("mek" -> "mok")
+    private static int allowedEdits(String term, int maxDistance) {
+        return term.length() <= 4 ? Math.min(1, maxDistance) : maxDistance;
+    }
+
+    // Ascending ids of entries whose lower-cased name contains q
+    private int[] containing(String q) {
+        if (q.isEmpty()) {
+            int[] all = new int[entries.length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        if (q.length() <= 3) {
+            return grams.getOrDefault(q, PostingLists.EMPTY);
+        }
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            int[] list = grams.getOrDefault(q.substring(i, i + 3), PostingLists.EMPTY);
+            candidates = candidates == null ? list : PostingLists.intersect(candidates, list);
+            if (candidates.length == 0) {
+                return candidates;
+            }
+        }
+        int[] out = new int[candidates.length];
+        int n = 0;
+        for (int id : candidates) {
+            if (entries[id].lower().contains(q)) {
+                out[n++] = id;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void insert(String key, int id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i), true);
+            offer(node, id);
+        }
+    }
+
+    // Keeps node.top sorted by rank, distinct and at most TOP_K long
+    private void offer(Node node, int id) {
+        int[] top = node.top;
+        int at = 0;
+        while (at < top.length && rank[top[at]] < rank[id]) {
+            at++;
+        }
+        if (at < top.length && top[at] == id) {
+            return;
+        }
+        if (at >= TOP_K) {
+            return;
+        }
+        int size = Math.min(top.length + 1, TOP_K);
+        int[] next = new int[size];
+        System.arraycopy(top, 0, next, 0, at);
+        next[at] = id;
+        System.arraycopy(top, at, next, at + 1, size - at - 1);
+        node.top = next;
+    }
+
+    private static String lower(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ipl.ipl_dashboard.search;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SearchIndexView implements DatasetView<SearchIndex> {
+
+    @Override
+    public Class<SearchIndex> type() {
+        return SearchIndex.class;
+    }
+
+    @Override
+    public SearchIndex build(Dataset dataset) {
+        return SearchIndex.of(dataset);
+    }
+}
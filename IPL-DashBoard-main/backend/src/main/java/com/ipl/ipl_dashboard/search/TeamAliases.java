@@ -0,0 +1,32 @@
+package com.ipl.ipl_dashboard.search;
+
+import java.util.Map;
+
+/**
+ * Common abbreviations users type for franchises, including defunct ones.
+ */
+final class TeamAliases {
+
+    static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("mi", "Mumbai Indians"),
+            Map.entry("csk", "Chennai Super Kings"),
+            Map.entry("rcb", "Royal Challengers Bangalore"),
+            Map.entry("kkr", "Kolkata Knight Riders"),
+            Map.entry("srh", "Sunrisers Hyderabad"),
+            Map.entry("rr", "Rajasthan Royals"),
+            Map.entry("pbks", "Punjab Kings"),
+            Map.entry("kxip", "Punjab Kings"),
+            Map.entry("dc", "Delhi Capitals"),
+            Map.entry("dd", "Delhi Capitals"),
+            Map.entry("lsg", "Lucknow Super Giants"),
+            Map.entry("gt", "Gujarat Titans"),
+            Map.entry("dcg", "Deccan Chargers"), // Old team
+            Map.entry("ktk", "Kochi Tuskers Kerala"), // Old team
+            Map.entry("rps", "Rising Pune Supergiants"), // Old team
+            Map.entry("rpsg", "Rising Pune Supergiants"), // Old team
+            Map.entry("gl", "Gujarat Lions") // Old team
+    );
+
+    private TeamAliases() {
+    }
+}
@@ -0,0 +1,196 @@
+package com.ipl.ipl_dashboard.service;
+
+import com.ipl.ipl_dashboard.config.DataLoader;
+import com.ipl.ipl_dashboard.data.MappedCsvMatchSource;
+import com.ipl.ipl_dashboard.data.MatchAggregates;
+import com.ipl.ipl_dashboard.data.MatchInput;
+import com.ipl.ipl_dashboard.data.MatchSource;
+import com.ipl.ipl_dashboard.data.TeamNameNormalizer;
+import com.ipl.ipl_dashboard.model.Match;
+import com.ipl.ipl_dashboard.model.Player;
+import com.ipl.ipl_dashboard.model.Team;
+import com.ipl.ipl_dashboard.repository.MatchBatchWriter;
+import com.ipl.ipl_dashboard.repository.PlayerRepository;
+import com.ipl.ipl_dashboard.repository.TeamRepository;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the whole dataset while the current one keeps serving, e.g. after a team-name alias was
+ * corrected. The rows are read again from the match CSV, then from the drop directory's files (in name
+ * order), then any match only the current dataset has (ingested by POST without a drop directory),
+ * and every team name goes through the freshly read aliases. A match keeps its id when its CSV id was
+ * already loaded. Totals are recomputed from scratch.
+ *
+ * <p>The H2 tables are replaced in one transaction and the new dataset is published after it commits;
+ * requests in flight finish on the dataset they started with. Ingests wait while a reload runs.
+ */
+@Service
+public class DatasetReloadService {
+
+    private final MatchStore matchStore;
+    private final DataLoader dataLoader;
+    private final MatchBatchWriter matchWriter;
+    private final TeamRepository teamRepo;
+    private final PlayerRepository playerRepo;
+    private final TeamNameNormalizer teamNames;
+    private final TransactionTemplate transactionTemplate;
+    private final Path dropDir;
+
+    /** The version now being served and what it holds. */
+    public record Result(long version, int matches, int teams, int players, long millis) {
+    }
+
+    public DatasetReloadService(MatchStore matchStore, DataLoader dataLoader, MatchBatchWriter matchWriter,
+                                TeamRepository teamRepo, PlayerRepository playerRepo, TeamNameNormalizer teamNames,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${ipl.ingest.drop-dir:}") String dropDir) {
+        this.matchStore = matchStore;
+        this.dataLoader = dataLoader;
+        this.matchWriter = matchWriter;
+        this.teamRepo = teamRepo;
+        this.playerRepo = playerRepo;
+        this.teamNames = teamNames;
+        this.transactionTemplate = transactionTemplate;
+        this.dropDir = dropDir.isBlank() ? null : Path.of(dropDir);
+    }
+
+    /**
+     * Rebuilds and publishes the next dataset; {@code origin} names the trigger in the log.
+     *
+     * @throws IOException              when the CSV or the alias file cannot be read (nothing is applied)
+     * @throws IllegalArgumentException when a CSV row cannot be processed (nothing is applied)
+     * @throws IllegalStateException    before the initial load has finished
+     */
+    public Result reload(String origin) throws IOException {
+        matchStore.updateLock().lock();
+        try {
+            Dataset base = matchStore.current();
+            if (base.version() == 0) {
+                throw new IllegalStateException("Initial data load has not finished");
+            }
+            long start = System.nanoTime();
+            Map<String, String> aliases = teamNames.readAliases();
+
+            // CSV id -> match; the first file to mention an id wins, as with ingests
+            Map<String, Match> bySource = new LinkedHashMap<>();
+            List<Match> unkeyed = new ArrayList<>();
+            try (MatchSource source = dataLoader.openCsv()) {
+                read(source, "the match CSV", aliases, bySource, unkeyed);
+            }
+            for (Path file : dropFiles()) {
+                try (MatchSource source = MappedCsvMatchSource.open(file)) {
+                    read(source, file.toString(), aliases, bySource, unkeyed);
+                } catch (IOException | IllegalArgumentException e) {
+                    // Same treatment as the drop directory scan gives it
+                    System.err.println("Reload skipping " + file + ": " + e.getMessage());
+                }
+            }
+
+            // Ingests require a CSV id, so a loaded match without one came from the CSV read above
+            MatchColumns c = base.matches();
+            for (int row = 0; row < c.size(); row++) {
+                String sourceId = c.sourceId(row);
+                if (sourceId != null && !bySource.containsKey(sourceId)) {
+                    Match m = c.toMatch(row);
+                    m.setTeam1(TeamNameNormalizer.normalize(m.getTeam1(), aliases));
+                    m.setTeam2(TeamNameNormalizer.normalize(m.getTeam2(), aliases));
+                    m.setTossWinner(TeamNameNormalizer.normalize(m.getTossWinner(), aliases));
+                    m.setMatchWinner(TeamNameNormalizer.normalize(m.getMatchWinner(), aliases));
+                    bySource.put(sourceId, m);
+                }
+            }
+
+            List<Match> all = new ArrayList<>(bySource.values());
+            all.addAll(unkeyed);
+            int nextId = c.maxId() + 1;
+            MatchAggregates aggregates = new MatchAggregates();
+            for (Match m : all) {
+                if (m.getId() == null) {
+                    int row = m.getSourceId() == null ? -1 : c.rowOfSource(m.getSourceId());
+                    m.setId(row >= 0 ? (long) c.id(row) : nextId++);
+                }
+                aggregates.add(m);
+            }
+            Map<String, Team> teams = new HashMap<>();
+            aggregates.getTeams().forEach((name, counts) -> {
+                Team existing = base.teams().get(name);
+                Team team = existing != null ? Dataset.copy(existing) : DataLoader.newTeam(name);
+                team.setTotalMatches(counts[0]);
+                team.setTotalWins(counts[1]);
+                teams.put(name, team);
+            });
+            List<Player> players = new ArrayList<>();
+            aggregates.getPlayerAwards().forEach((name, awards) -> players.add(new Player(name, awards)));
+
+            Dataset next = matchStore.build(all, teams.values(), players);
+            transactionTemplate.executeWithoutResult(status -> {
+                matchWriter.deleteAll();
+                teamRepo.deleteAllInBatch();
+                playerRepo.deleteAllInBatch();
+                matchWriter.insert(all);
+                teamRepo.saveAll(teams.values());
+                playerRepo.saveAll(players);
+            });
+            matchWriter.restartIdentityAfter(next.matches().maxId());
+            matchStore.publish(next);
+            teamNames.use(aliases);
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("✅ Reloaded dataset v%d (%s): %d matches, %d teams, %d players in %d ms%n",
+                    next.version(), origin, all.size(), teams.size(), players.size(), millis);
+            return new Result(next.version(), all.size(), teams.size(), players.size(), millis);
+        } finally {
+            matchStore.updateLock().unlock();
+        }
+    }
+
+    private static void read(MatchSource source, String name, Map<String, String> aliases,
+                             Map<String, Match> bySource, List<Match> unkeyed) throws IOException {
+        MatchInput input;
+        int rowNo = 0;
+        while ((input = source.next()) != null) {
+            rowNo++;
+            if (input.getParsedDate() == null && (input.getDate() == null || input.getDate().isBlank())) {
+                throw new IllegalArgumentException(name + " row " + rowNo + ": missing date");
+            }
+            Match match;
+            try {
+                match = TeamNameNormalizer.toMatch(input, aliases);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException(name + " row " + rowNo + ": bad date '" + input.getDate() + "'", e);
+            }
+            if (match.getSourceId() == null) {
+                unkeyed.add(match);
+            } else {
+                bySource.putIfAbsent(match.getSourceId(), match);
+            }
+        }
+    }
+
+    private List<Path> dropFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (dropDir != null && Files.isDirectory(dropDir)) {
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(dropDir, "*.csv")) {
+                dir.forEach(files::add);
+            }
+            files.sort(null);
+        }
+        return files;
+    }
+}
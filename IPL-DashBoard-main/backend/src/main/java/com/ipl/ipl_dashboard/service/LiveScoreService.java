@@ -2,105 +2,177 @@ package com.ipl.ipl_dashboard.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-// Autowiring removed - this service is disabled and no longer a Spring bean
+import com.ipl.ipl_dashboard.live.CoalescingCache;
+import com.ipl.ipl_dashboard.live.LiveFeedFrame;
+import com.ipl.ipl_dashboard.live.LiveFeedSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import reactor.util.retry.Retry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-public class LiveScoreService {
+/**
+ * Cricbuzz (RapidAPI) live scores as a {@link LiveFeedSource} ({@code ipl.live.source=cricbuzz}).
+ *
+ * <p>Upstream calls go through a {@link CoalescingCache}. Concurrent callers share one in-flight
+ * request, a result is reused for {@code fresh-for}, and while the API is failing the last good result
+ * is served for up to {@code max-stale}. Each attempt has a timeout. Timeouts, connection errors, 5xx
+ * and 429 are retried with jittered exponential backoff; other 4xx (bad key, quota) fail straight away.
+ * The fetch itself is non-blocking; only {@link #poll()} waits for it, on the scheduler thread.
+ */
+@Service
+@ConditionalOnProperty(name = "ipl.live.source", havingValue = "cricbuzz")
+public class LiveScoreService implements LiveFeedSource {
+
+    private static final String LIVE_MATCHES_ENDPOINT = "/matches/v1/live";
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
-    private static final String API_KEY = "9395e3e324msh3cffefd12124a60p1ad060jsnfdd2b9fd4aad";
-    private static final String RAPIDAPI_HOST = "cricbuzz-cricket.p.rapidapi.com";
-    private static final String API_BASE_URL = "https://cricbuzz-cricket.p.rapidapi.com";
-    private static final String LIVE_MATCHES_ENDPOINT = "/matches/v1/live";
+    private final String series;
+    private final Duration timeout;
+    private final int retries;
+    private final Duration retryBackoff;
+    private final Duration pollBudget;
+    private final CoalescingCache<String, List<LiveFeedFrame>> upstream;
 
-    public LiveScoreService(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
-        this.webClient = webClientBuilder.baseUrl(API_BASE_URL).build();
+    public LiveScoreService(WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+                            @Value("${ipl.live.cricbuzz.base-url:https://cricbuzz-cricket.p.rapidapi.com}") String baseUrl,
+                            @Value("${ipl.live.cricbuzz.api-key:}") String apiKey,
+                            @Value("${ipl.live.cricbuzz.series:Indian Premier League}") String series,
+                            @Value("${ipl.live.cricbuzz.timeout:5s}") Duration timeout,
+                            @Value("${ipl.live.cricbuzz.retries:2}") int retries,
+                            @Value("${ipl.live.cricbuzz.retry-backoff:500ms}") Duration retryBackoff,
+                            @Value("${ipl.live.cricbuzz.fresh-for:5s}") Duration freshFor,
+                            @Value("${ipl.live.cricbuzz.max-stale:2m}") Duration maxStale) {
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader("x-rapidapi-key", apiKey)
+                .defaultHeader("x-rapidapi-host", hostOf(baseUrl))
+                .build();
         this.objectMapper = objectMapper;
+        this.series = series;
+        this.timeout = timeout;
+        this.retries = retries;
+        this.retryBackoff = retryBackoff;
+        // Every attempt may time out, with growing backoff in between
+        this.pollBudget = timeout.plus(retryBackoff.multipliedBy(2)).multipliedBy(retries + 1L);
+        this.upstream = new CoalescingCache<>(freshFor, maxStale);
+        if (apiKey.isBlank()) {
+            System.err.println("No Cricbuzz API key set (ipl.live.cricbuzz.api-key); live polling will fail");
+        }
+    }
+
+    private static String hostOf(String baseUrl) {
+        return baseUrl.replaceFirst("^https?://", "").replaceFirst("[:/].*$", "");
     }
 
-    public Map<String, Object> getLiveScoreData() {
+    @Override
+    public String name() {
+        return "cricbuzz(" + series + ")";
+    }
+
+    @Override
+    public List<LiveFeedFrame> poll() throws IOException {
         try {
-            String liveMatchesJson = this.webClient.get()
-                    .uri(LIVE_MATCHES_ENDPOINT)
-                    .header("x-rapidapi-key", API_KEY)
-                    .header("x-rapidapi-host", RAPIDAPI_HOST)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(5))
-                            .filter(throwable -> throwable instanceof WebClientResponseException && ((WebClientResponseException) throwable).getStatusCode().is4xxClientError()))
-                    .block();
-
-            JsonNode rootNode = objectMapper.readTree(liveMatchesJson);
-            JsonNode typeMatches = rootNode.path("typeMatches");
-            
-            JsonNode targetMatchNode = null;
-
-            for (JsonNode matchTypeNode : typeMatches) {
-                if ("League".equalsIgnoreCase(matchTypeNode.path("matchType").asText())) {
-                    for (JsonNode seriesMatch : matchTypeNode.path("seriesMatches")) {
-                        JsonNode seriesAdWrapper = seriesMatch.path("seriesAdWrapper");
-                        if (seriesAdWrapper.has("adDetail")) {
-                            continue;
-                        }
-                        if (seriesAdWrapper.path("seriesName").asText().contains("Delhi Premier League 2025")) {
-                            JsonNode matches = seriesAdWrapper.path("matches");
-                            if (matches.isArray() && matches.size() > 0) {
-                                targetMatchNode = matches.get(0).path("matchInfo");
-                                break;
-                            }
-                        }
-                    }
-                }
-                if (targetMatchNode != null) break;
-            }
+            return liveMatches().get(pollBudget.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("Cricbuzz live matches unavailable: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Cricbuzz live matches timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching live matches", e);
+        }
+    }
 
-            if (targetMatchNode != null) {
-                Map<String, Object> liveScoreData = new HashMap<>();
-                
-                String matchStatus = targetMatchNode.path("status").asText();
-                
-                liveScoreData.put("matchDesc", targetMatchNode.path("matchDesc").asText());
-                liveScoreData.put("status", matchStatus);
-                
-                if ("Delay".equalsIgnoreCase(targetMatchNode.path("state").asText())) {
-                    liveScoreData.put("stateTitle", targetMatchNode.path("stateTitle").asText());
-                }
+    /** Live matches of the configured series, shared with any concurrent caller. */
+    public CompletableFuture<List<LiveFeedFrame>> liveMatches() {
+        return upstream.get(LIVE_MATCHES_ENDPOINT, () -> fetch(LIVE_MATCHES_ENDPOINT).thenApply(this::parseLiveMatches));
+    }
 
-                JsonNode matchScoreNode = targetMatchNode.path("matchScore");
-                if (!matchScoreNode.isMissingNode()) {
-                    JsonNode team1ScoreNode = matchScoreNode.path("team1Score").path("inngs1");
-                    liveScoreData.put("team1Name", targetMatchNode.path("team1").path("teamName").asText());
-                    if (!team1ScoreNode.isMissingNode()) {
-                        liveScoreData.put("team1Runs", team1ScoreNode.path("runs").asInt());
-                        liveScoreData.put("team1Wickets", team1ScoreNode.path("wickets").asInt());
-                        liveScoreData.put("team1Overs", team1ScoreNode.path("overs").asDouble());
-                    }
+    private CompletableFuture<String> fetch(String path) {
+        return webClient.get()
+                .uri(path)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(timeout)
+                .retryWhen(Retry.backoff(retries, retryBackoff).jitter(0.5).filter(LiveScoreService::retryable))
+                .toFuture();
+    }
+
+    static boolean retryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
 
-                    JsonNode team2ScoreNode = matchScoreNode.path("team2Score").path("inngs1");
-                    liveScoreData.put("team2Name", targetMatchNode.path("team2").path("teamName").asText());
-                    if (!team2ScoreNode.isMissingNode()) {
-                        liveScoreData.put("team2Runs", team2ScoreNode.path("runs").asInt());
-                        liveScoreData.put("team2Wickets", team2ScoreNode.path("wickets").asInt());
-                        liveScoreData.put("team2Overs", team2ScoreNode.path("overs").asDouble());
+    List<LiveFeedFrame> parseLiveMatches(String json) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<LiveFeedFrame> frames = new ArrayList<>();
+        for (JsonNode matchTypeNode : root.path("typeMatches")) {
+            for (JsonNode seriesMatch : matchTypeNode.path("seriesMatches")) {
+                JsonNode seriesAdWrapper = seriesMatch.path("seriesAdWrapper");
+                if (seriesAdWrapper.has("adDetail") || !seriesAdWrapper.path("seriesName").asText().contains(series)) {
+                    continue;
+                }
+                for (JsonNode match : seriesAdWrapper.path("matches")) {
+                    JsonNode info = match.path("matchInfo");
+                    if (info.hasNonNull("matchId")) {
+                        frames.add(new LiveFeedFrame(info.path("matchId").asText(), fields(match, info)));
                     }
                 }
-
-                return liveScoreData;
-            } else {
-                System.out.println("No live Delhi Premier League 2025 match found.");
-                return Collections.emptyMap();
             }
-        } catch (Exception e) {
-            System.err.println("Failed to fetch live score data from API: " + e.getMessage());
-            return Collections.emptyMap();
         }
+        return frames;
+    }
+
+    private static Map<String, Object> fields(JsonNode match, JsonNode info) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("matchDesc", info.path("matchDesc").asText());
+        fields.put("status", info.path("status").asText());
+        fields.put("state", info.path("state").asText());
+        // Only meaningful during a delay; null clears it once play resumes
+        fields.put("stateTitle", "Delay".equalsIgnoreCase(info.path("state").asText())
+                ? info.path("stateTitle").asText() : null);
+        fields.put("team1Name", info.path("team1").path("teamName").asText());
+        fields.put("team2Name", info.path("team2").path("teamName").asText());
+
+        JsonNode matchScore = match.has("matchScore") ? match.path("matchScore") : info.path("matchScore");
+        score(fields, "team1", matchScore.path("team1Score").path("inngs1"));
+        score(fields, "team2", matchScore.path("team2Score").path("inngs1"));
+        return fields;
+    }
+
+    private static void score(Map<String, Object> fields, String team, JsonNode innings) {
+        if (!innings.isMissingNode()) {
+            fields.put(team + "Runs", innings.path("runs").asInt());
+            fields.put(team + "Wickets", innings.path("wickets").asInt());
+            fields.put(team + "Overs", innings.path("overs").asDouble());
+        }
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        return upstream.metrics();
     }
-}
\ No newline at end of file
+}
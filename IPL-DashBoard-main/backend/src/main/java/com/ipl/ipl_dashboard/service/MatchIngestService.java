@@ -0,0 +1,151 @@
+package com.ipl.ipl_dashboard.service;
+
+import com.ipl.ipl_dashboard.config.DataLoader;
+import com.ipl.ipl_dashboard.data.MatchAggregates;
+import com.ipl.ipl_dashboard.data.MatchInput;
+import com.ipl.ipl_dashboard.data.MatchSource;
+import com.ipl.ipl_dashboard.data.TeamNameNormalizer;
+import com.ipl.ipl_dashboard.model.Match;
+import com.ipl.ipl_dashboard.model.Player;
+import com.ipl.ipl_dashboard.model.Team;
+import com.ipl.ipl_dashboard.repository.MatchBatchWriter;
+import com.ipl.ipl_dashboard.repository.PlayerRepository;
+import com.ipl.ipl_dashboard.repository.TeamRepository;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Appends new matches to a running instance, without the full reload a restart does.
+ *
+ * <p>Rows are deduplicated on the CSV {@code id} column ({@link Match#getSourceId()}), against both the
+ * loaded data and earlier rows of the same batch, so re-sending a file is harmless. The new matches get
+ * the next ids. Team and Player-of-the-Match totals are updated from a tally of only the new rows.
+ * The next in-memory dataset is built off to the side (see {@link MatchStore#extend}). The match rows
+ * and the changed team and player rows are then written in one transaction, and the new dataset is
+ * published only after that commits. A failed batch therefore changes neither H2 nor what readers see.
+ * Batches are applied one at a time, and never while a full reload is running.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchIngestService {
+
+    private final MatchStore matchStore;
+    private final MatchBatchWriter matchWriter;
+    private final TeamRepository teamRepo;
+    private final PlayerRepository playerRepo;
+    private final TeamNameNormalizer teamNames;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile boolean ready;
+
+    /** What one batch did: rows read, matches added, rows skipped as already known, matches now loaded. */
+    public record Result(int received, int added, int duplicates, int totalMatches, long millis) {
+    }
+
+    // DataLoader runs before this; until then there is nothing consistent to append to
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        ready = true;
+    }
+
+    /**
+     * Ingests every row of {@code source}; {@code origin} names it in the log.
+     *
+     * @throws IllegalArgumentException when a row cannot be processed (nothing is applied)
+     * @throws IllegalStateException    before the initial load has finished
+     */
+    public Result ingest(MatchSource source, String origin) throws IOException {
+        if (!ready) {
+            throw new IllegalStateException("Initial data load has not finished");
+        }
+        matchStore.updateLock().lock();
+        try {
+            long start = System.nanoTime();
+            Dataset base = matchStore.current();
+            int nextId = base.matches().maxId() + 1;
+
+            List<Match> added = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            int received = 0;
+            int duplicates = 0;
+            MatchInput input;
+            while ((input = source.next()) != null) {
+                received++;
+                if (input.getParsedDate() == null && (input.getDate() == null || input.getDate().isBlank())) {
+                    throw new IllegalArgumentException("Row " + received + ": missing date");
+                }
+                Match match;
+                try {
+                    match = teamNames.toMatch(input);
+                } catch (DateTimeException e) {
+                    throw new IllegalArgumentException("Row " + received + ": bad date '" + input.getDate() + "'", e);
+                }
+                if (match.getSourceId() == null) {
+                    throw new IllegalArgumentException("Row " + received + ": missing id");
+                }
+                if (base.matches().rowOfSource(match.getSourceId()) >= 0 || !seen.add(match.getSourceId())) {
+                    duplicates++;
+                    continue;
+                }
+                match.setId((long) nextId++);
+                added.add(match);
+            }
+            if (added.isEmpty()) {
+                return new Result(received, 0, duplicates, base.matches().size(), (System.nanoTime() - start) / 1_000_000);
+            }
+
+            MatchAggregates delta = new MatchAggregates();
+            added.forEach(delta::add);
+            Map<String, Team> teams = new HashMap<>(base.teams());
+            List<Team> changedTeams = new ArrayList<>();
+            delta.getTeams().forEach((name, counts) -> {
+                Team existing = teams.get(name);
+                Team team = existing != null ? Dataset.copy(existing) : DataLoader.newTeam(name);
+                team.setTotalMatches(team.getTotalMatches() + counts[0]);
+                team.setTotalWins(team.getTotalWins() + counts[1]);
+                teams.put(name, team);
+                changedTeams.add(team);
+            });
+            Map<String, Player> players = new HashMap<>(base.players());
+            List<Player> changedPlayers = new ArrayList<>();
+            delta.getPlayerAwards().forEach((name, awards) -> {
+                Player existing = players.get(name);
+                Player player = new Player(name, (existing != null ? existing.getTotalPlayerOfMatchAwards() : 0) + awards);
+                players.put(name, player);
+                changedPlayers.add(player);
+            });
+
+            Dataset next = matchStore.extend(base, added, teams.values(), players.values());
+            int lastId = nextId - 1;
+            transactionTemplate.executeWithoutResult(status -> {
+                matchWriter.insert(added);
+                teamRepo.saveAll(changedTeams);
+                playerRepo.saveAll(changedPlayers);
+            });
+            // DDL, which H2 would commit on its own, so it stays outside the transaction
+            matchWriter.restartIdentityAfter(lastId);
+            matchStore.publish(next);
+
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("✅ Ingested %d new matches from %s (%d duplicates skipped) in %d ms%n",
+                    added.size(), origin, duplicates, millis);
+            return new Result(received, added.size(), duplicates, next.matches().size(), millis);
+        } finally {
+            matchStore.updateLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ipl.ipl_dashboard.stats;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker/Vose alias table: after an O(n) build, {@link #sample} draws index {@code i} with probability
+ * {@code weights[i] / sum(weights)} using one uniform int and one uniform double.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    AliasTable(double[] weights) {
+        int n = weights.length;
+        probability = new double[n];
+        alias = new int[n];
+        double total = 0;
+        for (double w : weights) {
+            total += w;
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1.0;
+            if (scaled[l] < 1.0) {
+                small[smallCount++] = l;
+            } else {
+                large[largeCount++] = l;
+            }
+        }
+        // Whatever is left is 1 up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    int size() {
+        return probability.length;
+    }
+
+    int sample(RandomGenerator random) {
+        int i = random.nextInt(probability.length);
+        return random.nextDouble() < probability[i] ? i : alias[i];
+    }
+}
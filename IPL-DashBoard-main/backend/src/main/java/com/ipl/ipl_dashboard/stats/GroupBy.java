@@ -0,0 +1,187 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel group-by over the match columns. Every match is looked at from each team's side (who they
+ * played, whether they won the toss, batted first, won); a {@link Grouping} maps a side to a dense group
+ * key, or leaves it out. One pass computes any number of groupings at once.
+ *
+ * <p>The row range is split fork/join style into pieces of at least {@link #MIN_SPLIT} rows; each leaf
+ * fills its own {@link Tallies} with no sharing, and results are merged by adding the counts as the
+ * tasks join. Because tallies merge, rows appended later can be counted on their own and added to an
+ * earlier result.
+ */
+public final class GroupBy {
+
+    static final int MIN_SPLIT = 4096;
+
+    /** Group key of a side, in {@code [0, groups)}, or -1 when the side does not belong to this grouping. */
+    public interface Key {
+        int of(Side side);
+    }
+
+    public record Grouping(String name, int groups, Key key) {
+    }
+
+    /** One team's side of a match; reused from row to row within a leaf, so never kept. */
+    public static final class Side {
+        private MatchColumns columns;
+        private int row;
+        private int team;
+        private boolean tossWinner;
+        private int battedFirst;
+        private boolean won;
+        private boolean noResult;
+
+        public MatchColumns columns() {
+            return columns;
+        }
+
+        public int row() {
+            return row;
+        }
+
+        public int team() {
+            return team;
+        }
+
+        /** Whether this side won the toss. */
+        public boolean tossWinner() {
+            return tossWinner;
+        }
+
+        /** 1 when this side batted first, 0 when it chased, -1 when the toss result is missing. */
+        public int battedFirst() {
+            return battedFirst;
+        }
+
+        public boolean won() {
+            return won;
+        }
+
+        public boolean noResult() {
+            return noResult;
+        }
+    }
+
+    /** Matches played, won and without a result, per group of each grouping. */
+    public static final class Tallies {
+        final int[][] played;
+        final int[][] won;
+        final int[][] noResult;
+
+        Tallies(List<Grouping> groupings) {
+            played = new int[groupings.size()][];
+            won = new int[groupings.size()][];
+            noResult = new int[groupings.size()][];
+            for (int g = 0; g < groupings.size(); g++) {
+                played[g] = new int[groupings.get(g).groups()];
+                won[g] = new int[groupings.get(g).groups()];
+                noResult[g] = new int[groupings.get(g).groups()];
+            }
+        }
+
+        /** Adds {@code other}'s counts to this one's; both must come from the same groupings. */
+        Tallies merge(Tallies other) {
+            for (int g = 0; g < played.length; g++) {
+                add(played[g], other.played[g]);
+                add(won[g], other.won[g]);
+                add(noResult[g], other.noResult[g]);
+            }
+            return this;
+        }
+
+        private static void add(int[] into, int[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+    }
+
+    private GroupBy() {
+    }
+
+    /** Tallies of rows {@code [from, to)} of {@code c}, computed on {@code pool}. */
+    public static Tallies aggregate(MatchColumns c, List<Grouping> groupings, int from, int to, ForkJoinPool pool) {
+        int split = Math.max(MIN_SPLIT, (to - from) / (4 * pool.getParallelism()) + 1);
+        return pool.invoke(new Task(c, groupings, from, to, split));
+    }
+
+    private static final class Task extends RecursiveTask<Tallies> {
+
+        private final MatchColumns c;
+        private final List<Grouping> groupings;
+        private final int from;
+        private final int to;
+        private final int split;
+
+        Task(MatchColumns c, List<Grouping> groupings, int from, int to, int split) {
+            this.c = c;
+            this.groupings = groupings;
+            this.from = from;
+            this.to = to;
+            this.split = split;
+        }
+
+        @Override
+        protected Tallies compute() {
+            if (to - from <= split) {
+                return leaf();
+            }
+            int mid = (from + to) >>> 1;
+            Task left = new Task(c, groupings, from, mid, split);
+            left.fork();
+            Tallies right = new Task(c, groupings, mid, to, split).compute();
+            return left.join().merge(right);
+        }
+
+        private Tallies leaf() {
+            Tallies t = new Tallies(groupings);
+            Side side = new Side();
+            side.columns = c;
+            int batLabel = c.labels().idOf("bat");
+            int fieldLabel = c.labels().idOf("field");
+            for (int row = from; row < to; row++) {
+                int a = c.team1(row);
+                int b = c.team2(row);
+                if (a == Dictionary.NONE || b == Dictionary.NONE || a == b) {
+                    continue;
+                }
+                int toss = c.tossWinner(row);
+                int decision = c.tossDecision(row);
+                int first = toss == Dictionary.NONE ? Dictionary.NONE
+                        : decision == batLabel ? toss
+                        : decision == fieldLabel ? (toss == a ? b : a)
+                        : Dictionary.NONE;
+                int winner = c.matchWinner(row);
+                side.row = row;
+                side.noResult = winner == Dictionary.NONE;
+                for (int s = 0; s < 2; s++) {
+                    int team = s == 0 ? a : b;
+                    side.team = team;
+                    side.tossWinner = team == toss;
+                    side.battedFirst = first == Dictionary.NONE ? -1 : first == team ? 1 : 0;
+                    side.won = winner == team;
+                    for (int g = 0; g < groupings.size(); g++) {
+                        int key = groupings.get(g).key().of(side);
+                        if (key >= 0) {
+                            t.played[g][key]++;
+                            if (side.won) {
+                                t.won[g][key]++;
+                            } else if (side.noResult) {
+                                t.noResult[g][key]++;
+                            }
+                        }
+                    }
+                }
+            }
+            return t;
+        }
+    }
+}
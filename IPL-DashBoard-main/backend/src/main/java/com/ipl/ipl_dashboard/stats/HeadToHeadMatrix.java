@@ -0,0 +1,223 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense team x team rivalry counts, built in one pass over the match columns. Slice 0 covers every
+ * season and slice {@code 1 + seasonId} a single season; within a slice, cell {@code a * n + b} holds
+ * what team {@code a} did against team {@code b}, so a head-to-head lookup is two dictionary lookups
+ * and an array read.
+ */
+public final class HeadToHeadMatrix {
+
+    private final Dictionary teams;
+    private final Dictionary seasons;
+    private final int n;
+    private final int[][] played;
+    private final int[][] won;
+    private final int[][] noResult;
+    private final int[][] lastMeeting;
+
+    /** One direction of a rivalry: {@code won} and {@code lost} are from the first team's side. */
+    public record Cell(int played, int won, int lost, int noResult, LocalDate lastMeeting) {
+        static final Cell NONE = new Cell(0, 0, 0, 0, null);
+    }
+
+    private HeadToHeadMatrix(MatchColumns c) {
+        teams = c.teams();
+        seasons = c.seasons();
+        n = teams.size();
+        int slices = 1 + seasons.size();
+        played = new int[slices][n * n];
+        won = new int[slices][n * n];
+        noResult = new int[slices][n * n];
+        lastMeeting = new int[slices][n * n];
+        for (int[] slice : lastMeeting) {
+            Arrays.fill(slice, MatchColumns.NO_DATE);
+        }
+
+        for (int row = 0; row < c.size(); row++) {
+            int a = c.team1(row);
+            int b = c.team2(row);
+            if (a == Dictionary.NONE || b == Dictionary.NONE || a == b) {
+                continue;
+            }
+            count(0, a, b, c, row);
+            if (c.season(row) != Dictionary.NONE) {
+                count(1 + c.season(row), a, b, c, row);
+            }
+        }
+    }
+
+    private HeadToHeadMatrix(MatchColumns c, int[][] played, int[][] won, int[][] noResult, int[][] lastMeeting) {
+        this.teams = c.teams();
+        this.seasons = c.seasons();
+        this.n = teams.size();
+        this.played = played;
+        this.won = won;
+        this.noResult = noResult;
+        this.lastMeeting = lastMeeting;
+    }
+
+    public static HeadToHeadMatrix of(Dataset dataset) {
+        return new HeadToHeadMatrix(dataset.matches());
+    }
+
+    /**
+     * This matrix plus the rows of {@code dataset} from {@code firstNewRow} on (see
+     * {@code MatchColumns#append}). Only the all-seasons slice and the slices of seasons with new rows are
+     * copied; the rest are shared with this matrix. A new team changes every cell index, so that case
+     * rebuilds.
+     */
+    public HeadToHeadMatrix append(Dataset dataset, int firstNewRow) {
+        MatchColumns c = dataset.matches();
+        if (c.teams().size() != n) {
+            return of(dataset);
+        }
+        int slices = 1 + c.seasons().size();
+        HeadToHeadMatrix next = new HeadToHeadMatrix(c, Arrays.copyOf(played, slices), Arrays.copyOf(won, slices),
+                Arrays.copyOf(noResult, slices), Arrays.copyOf(lastMeeting, slices));
+        boolean[] copied = new boolean[slices];
+        for (int row = firstNewRow; row < c.size(); row++) {
+            int a = c.team1(row);
+            int b = c.team2(row);
+            if (a == Dictionary.NONE || b == Dictionary.NONE || a == b) {
+                continue;
+            }
+            next.copyOnWrite(0, copied);
+            next.count(0, a, b, c, row);
+            if (c.season(row) != Dictionary.NONE) {
+                next.copyOnWrite(1 + c.season(row), copied);
+                next.count(1 + c.season(row), a, b, c, row);
+            }
+        }
+        for (int slice = 0; slice < slices; slice++) {
+            if (next.played[slice] == null) {
+                next.copyOnWrite(slice, copied);
+            }
+        }
+        return next;
+    }
+
+    // Gives this matrix its own copy of a slice before the first write (a new season starts empty)
+    private void copyOnWrite(int slice, boolean[] copied) {
+        if (copied[slice]) {
+            return;
+        }
+        copied[slice] = true;
+        int cells = n * n;
+        played[slice] = played[slice] == null ? new int[cells] : played[slice].clone();
+        won[slice] = won[slice] == null ? new int[cells] : won[slice].clone();
+        noResult[slice] = noResult[slice] == null ? new int[cells] : noResult[slice].clone();
+        if (lastMeeting[slice] == null) {
+            lastMeeting[slice] = new int[cells];
+            Arrays.fill(lastMeeting[slice], MatchColumns.NO_DATE);
+        } else {
+            lastMeeting[slice] = lastMeeting[slice].clone();
+        }
+    }
+
+    private void count(int slice, int a, int b, MatchColumns c, int row) {
+        int ab = a * n + b;
+        int ba = b * n + a;
+        played[slice][ab]++;
+        played[slice][ba]++;
+        int winner = c.matchWinner(row);
+        if (winner == a) {
+            won[slice][ab]++;
+        } else if (winner == b) {
+            won[slice][ba]++;
+        } else {
+            noResult[slice][ab]++;
+            noResult[slice][ba]++;
+        }
+        // Rows are in date order, so the latest row seen is the last meeting
+        if (c.date(row) != MatchColumns.NO_DATE) {
+            lastMeeting[slice][ab] = c.date(row);
+            lastMeeting[slice][ba] = c.date(row);
+        }
+    }
+
+    /** Record of {@code team} against {@code opponent}, over all seasons when {@code season} is null. */
+    public Cell cell(String team, String opponent, String season) {
+        int slice = slice(season);
+        int a = teams.idOf(team);
+        int b = teams.idOf(opponent);
+        if (slice < 0 || a == Dictionary.NONE || b == Dictionary.NONE || a == b) {
+            return Cell.NONE;
+        }
+        return cell(slice, a, b);
+    }
+
+    private Cell cell(int slice, int a, int b) {
+        int ab = a * n + b;
+        int last = lastMeeting[slice][ab];
+        return new Cell(played[slice][ab], won[slice][ab], won[slice][b * n + a], noResult[slice][ab],
+                last == MatchColumns.NO_DATE ? null : LocalDate.ofEpochDay(last));
+    }
+
+    /**
+     * The whole rivalry grid for one season (or all seasons): the teams that played in it,
+     * alphabetically, and one row-major matrix per measure where {@code [i][j]} is team i against team j.
+     */
+    public Map<String, Object> grid(String season) {
+        int slice = slice(season);
+        List<Integer> ids = new ArrayList<>();
+        if (slice >= 0) {
+            for (int t = 0; t < n; t++) {
+                for (int o = 0; o < n; o++) {
+                    if (played[slice][t * n + o] > 0) {
+                        ids.add(t);
+                        break;
+                    }
+                }
+            }
+        }
+        ids.sort(Comparator.comparing(teams::valueOf));
+
+        int size = ids.size();
+        int[][] playedGrid = new int[size][size];
+        int[][] wonGrid = new int[size][size];
+        int[][] noResultGrid = new int[size][size];
+        LocalDate[][] lastGrid = new LocalDate[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i != j) {
+                    Cell cell = cell(slice, ids.get(i), ids.get(j));
+                    playedGrid[i][j] = cell.played();
+                    wonGrid[i][j] = cell.won();
+                    noResultGrid[i][j] = cell.noResult();
+                    lastGrid[i][j] = cell.lastMeeting();
+                }
+            }
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("season", season);
+        out.put("teams", ids.stream().map(teams::valueOf).toList());
+        out.put("played", playedGrid);
+        out.put("won", wonGrid);
+        out.put("noResult", noResultGrid);
+        out.put("lastMeeting", lastGrid);
+        return out;
+    }
+
+    // 0 for all seasons, -1 for a season that is not in the data
+    private int slice(String season) {
+        if (season == null || season.isBlank()) {
+            return 0;
+        }
+        int id = seasons.idOf(season);
+        return id == Dictionary.NONE ? -1 : 1 + id;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HeadToHeadMatrixView implements DatasetView<HeadToHeadMatrix> {
+
+    @Override
+    public Class<HeadToHeadMatrix> type() {
+        return HeadToHeadMatrix.class;
+    }
+
+    @Override
+    public HeadToHeadMatrix build(Dataset dataset) {
+        return HeadToHeadMatrix.of(dataset);
+    }
+
+    @Override
+    public HeadToHeadMatrix update(HeadToHeadMatrix previous, Dataset dataset, int firstNewRow) {
+        return previous.append(dataset, firstNewRow);
+    }
+}
@@ -0,0 +1,218 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+import com.ipl.ipl_dashboard.store.PostingIndex;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Matches worth featuring on the landing page, scored once per dataset. A match is a candidate when it
+ * was a knockout, went to a Super Over or was a close finish; its weight adds up those signals, so a
+ * Super Over final comes up far more often than a 5-run league win.
+ *
+ * <p>Sampling uses an alias table per slice (all seasons, each season, each team) and
+ * {@link ThreadLocalRandom}, so a pick is O(1) and threads never share RNG state. Filtering by season
+ * and team at once samples the (small) intersection directly.
+ */
+public final class IconicPool {
+
+    static final String FEATURED = "Featured memorable IPL clash";
+
+    private final MatchColumns columns;
+    private final PostingIndex postings;
+    // Per row: selection weight (0 = not a candidate) and the blurb shown with it
+    private final double[] weight;
+    private final String[] significance;
+    private final Slice all;
+    private final Slice[] bySeason;
+    private final Slice[] byTeam;
+
+    private record Slice(int[] rows, AliasTable table) {
+    }
+
+    private IconicPool(Dataset dataset) {
+        columns = dataset.matches();
+        postings = dataset.postings();
+        int n = columns.size();
+        weight = new double[n];
+        significance = new String[n];
+        Dictionary labels = columns.labels();
+        for (int row = 0; row < n; row++) {
+            String type = lower(labels, columns.matchType(row));
+            String method = lower(labels, columns.method(row));
+            String superOver = lower(labels, columns.superOver(row));
+            String result = lower(labels, columns.result(row));
+            int margin = columns.resultMargin(row);
+            weight[row] = score(type, method, superOver, result, margin);
+            significance[row] = describe(type, method, superOver, result, margin);
+        }
+
+        all = slice(allRows(n));
+        bySeason = new Slice[columns.seasons().size()];
+        for (int s = 0; s < bySeason.length; s++) {
+            bySeason[s] = slice(postings.season(s));
+        }
+        byTeam = new Slice[columns.teams().size()];
+        for (int t = 0; t < byTeam.length; t++) {
+            byTeam[t] = slice(postings.team(t));
+        }
+    }
+
+    public static IconicPool of(Dataset dataset) {
+        return new IconicPool(dataset);
+    }
+
+    private static String lower(Dictionary labels, int id) {
+        return id == Dictionary.NONE ? "" : labels.valueOf(id).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static boolean superOver(String method, String superOver) {
+        return superOver.equals("y") || superOver.contains("yes") || method.contains("super");
+    }
+
+    // Knockout stage, Super Over and a close finish each add to the weight; 0 means "not iconic"
+    private static double score(String type, String method, String superOver, String result, int margin) {
+        double score = 0;
+        if (type.equals("final")) {
+            score += 5;
+        } else if (type.contains("final") || type.contains("qualifier") || type.contains("eliminator")) {
+            score += 3;
+        }
+        if (superOver(method, superOver)) {
+            score += 4;
+        }
+        if (margin > 0 && result.contains("wicket") && margin <= 2) {
+            score += 4 - margin;
+        } else if (margin > 0 && result.contains("run") && margin <= 5) {
+            score += 3 - (margin - 1) * 0.5;
+        }
+        return score;
+    }
+
+    private static String describe(String type, String method, String superOver, String result, int margin) {
+        if (type.contains("final")) return "Grand Finale showdown on the big stage";
+        if (type.contains("qualifier")) return "High-stakes Qualifier clash";
+        if (type.contains("eliminator")) return "Do-or-die Eliminator classic";
+        if (superOver(method, superOver)) return "Thrilling Super Over finish";
+
+        if (result.contains("wicket")) {
+            return margin > 0 ? "Nail-biting finish by " + margin + " wickets" : "Nail-biting finish by wickets";
+        }
+        if (result.contains("run")) {
+            return margin > 0 ? "Edge-of-seat defense by " + margin + " runs" : "Edge-of-seat defense by runs";
+        }
+        return FEATURED;
+    }
+
+    private static int[] allRows(int n) {
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    private Slice slice(int[] rows) {
+        int[] candidates = candidates(rows);
+        return candidates.length == 0 ? new Slice(candidates, null) : new Slice(candidates, table(candidates));
+    }
+
+    private int[] candidates(int[] rows) {
+        int count = 0;
+        for (int row : rows) {
+            if (weight[row] > 0) {
+                count++;
+            }
+        }
+        int[] out = new int[count];
+        int i = 0;
+        for (int row : rows) {
+            if (weight[row] > 0) {
+                out[i++] = row;
+            }
+        }
+        return out;
+    }
+
+    private AliasTable table(int[] candidates) {
+        double[] w = new double[candidates.length];
+        for (int i = 0; i < w.length; i++) {
+            w[i] = weight[candidates[i]];
+        }
+        return new AliasTable(w);
+    }
+
+    /**
+     * A weighted random candidate row, optionally restricted to a season and/or a team, or -1 when the
+     * restriction matches no match at all. If the slice has matches but none is a candidate, any of
+     * its matches is picked uniformly.
+     */
+    public int pick(String season, String team) {
+        boolean bySeasonFilter = season != null && !season.isBlank();
+        boolean byTeamFilter = team != null && !team.isBlank();
+        int seasonId = bySeasonFilter ? columns.seasons().idOf(season) : Dictionary.NONE;
+        int teamId = byTeamFilter ? columns.teams().idOf(team) : Dictionary.NONE;
+        if ((bySeasonFilter && seasonId == Dictionary.NONE) || (byTeamFilter && teamId == Dictionary.NONE)) {
+            return -1;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (bySeasonFilter && byTeamFilter) {
+            return pickLinear(postings.teamInSeason(teamId, seasonId), random);
+        }
+        Slice slice = bySeasonFilter ? bySeason[seasonId] : byTeamFilter ? byTeam[teamId] : all;
+        if (slice.table() != null) {
+            return slice.rows()[slice.table().sample(random)];
+        }
+        // No candidates at all: fall back to any match in the slice
+        if (!bySeasonFilter && !byTeamFilter) {
+            return columns.size() == 0 ? -1 : random.nextInt(columns.size());
+        }
+        int[] rows = bySeasonFilter ? postings.season(seasonId) : postings.team(teamId);
+        return rows.length == 0 ? -1 : rows[random.nextInt(rows.length)];
+    }
+
+    // Roulette-wheel pick over a handful of rows, for combinations that have no prebuilt table
+    private int pickLinear(int[] rows, ThreadLocalRandom random) {
+        if (rows.length == 0) {
+            return -1;
+        }
+        double total = 0;
+        for (int row : rows) {
+            total += weight[row];
+        }
+        if (total == 0) {
+            return rows[random.nextInt(rows.length)];
+        }
+        double target = random.nextDouble(total);
+        for (int row : rows) {
+            target -= weight[row];
+            if (target < 0) {
+                return row;
+            }
+        }
+        return rows[rows.length - 1];
+    }
+
+    /** Why the match at {@code row} is featured. */
+    public String significance(int row) {
+        return weight[row] > 0 ? significance[row] : FEATURED;
+    }
+
+    public MatchColumns matches() {
+        return columns;
+    }
+
+    /** Candidate rows over all seasons, in row order. */
+    public int[] candidates() {
+        return all.rows().clone();
+    }
+
+    /** Number of candidates over all seasons. */
+    public int size() {
+        return all.rows().length;
+    }
+}
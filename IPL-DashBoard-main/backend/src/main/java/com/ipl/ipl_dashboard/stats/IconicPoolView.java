@@ -0,0 +1,19 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IconicPoolView implements DatasetView<IconicPool> {
+
+    @Override
+    public Class<IconicPool> type() {
+        return IconicPool.class;
+    }
+
+    @Override
+    public IconicPool build(Dataset dataset) {
+        return IconicPool.of(dataset);
+    }
+}
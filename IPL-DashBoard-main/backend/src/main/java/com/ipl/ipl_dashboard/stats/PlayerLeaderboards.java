@@ -0,0 +1,180 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.dto.Leaderboard;
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Player of the Match leaderboards: overall, per season, per team and per venue. Every board keeps
+ * award counts for all players plus its top {@code depth} players, ordered by awards and then by name,
+ * so a page is a slice of a ready array.
+ *
+ * <p>The data does not say which side the Player of the Match was on; the team boards credit the award
+ * to the match winner (awards in no-result matches only count overall, per season and per venue).
+ *
+ * <p>Counts only grow when rows are appended, so a player outside a board's top list can only enter it
+ * by winning an award: after an ingest each touched board re-ranks just its old top list plus the
+ * players whose counts changed, and untouched boards are shared. A new season, team or venue shifts the
+ * board layout, so that case rebuilds.
+ */
+public final class PlayerLeaderboards {
+
+    public static final String OVERALL = "overall";
+    public static final String SEASON = "season";
+    public static final String TEAM = "team";
+    public static final String VENUE = "venue";
+
+    private final MatchColumns columns;
+    private final int depth;
+    private final int seasons;
+    private final int teams;
+    private final int venues;
+    // Board 0 is overall, then one per season, team and venue (see board())
+    private final Board[] boards;
+
+    /** Awards per player id (shorter than the player dictionary when later players have none here). */
+    private record Board(int[] counts, int[] top, int ranked) {
+
+        static final Board EMPTY = new Board(new int[0], new int[0], 0);
+
+        int count(int player) {
+            return player < counts.length ? counts[player] : 0;
+        }
+    }
+
+    private PlayerLeaderboards(MatchColumns c, int depth, Board[] boards) {
+        this.columns = c;
+        this.depth = depth;
+        this.seasons = c.seasons().size();
+        this.teams = c.teams().size();
+        this.venues = c.venues().size();
+        this.boards = boards;
+    }
+
+    public static PlayerLeaderboards of(MatchColumns c, int depth) {
+        Board[] boards = new Board[1 + c.seasons().size() + c.teams().size() + c.venues().size()];
+        Arrays.fill(boards, Board.EMPTY);
+        return new PlayerLeaderboards(c, depth, boards).with(c, 0);
+    }
+
+    /** These boards plus the rows of {@code c} from {@code firstNewRow} on (see {@code MatchColumns#append}). */
+    public PlayerLeaderboards append(MatchColumns c, int firstNewRow) {
+        if (c.seasons().size() != seasons || c.teams().size() != teams || c.venues().size() != venues) {
+            return of(c, depth);
+        }
+        return new PlayerLeaderboards(c, depth, boards.clone()).with(c, firstNewRow);
+    }
+
+    // Counts the awards of rows from firstRow on into fresh copies of the boards they touch, then re-ranks those
+    private PlayerLeaderboards with(MatchColumns c, int firstRow) {
+        int players = c.players().size();
+        int[][] counts = new int[boards.length][];
+        int[] ranked = new int[boards.length];
+        BitSet[] changed = new BitSet[boards.length];
+        for (int row = firstRow; row < c.size(); row++) {
+            int player = c.playerOfMatch(row);
+            if (!isAward(c, player)) {
+                continue;
+            }
+            for (int b : boardsOf(c, row)) {
+                if (counts[b] == null) {
+                    counts[b] = Arrays.copyOf(boards[b].counts(), players);
+                    ranked[b] = boards[b].ranked();
+                    changed[b] = new BitSet();
+                }
+                if (counts[b][player]++ == 0) {
+                    ranked[b]++;
+                }
+                changed[b].set(player);
+            }
+        }
+
+        Comparator<Integer> byName = Comparator.comparing(c.players()::valueOf);
+        for (int b = 0; b < boards.length; b++) {
+            if (counts[b] == null) {
+                continue;
+            }
+            int[] boardCounts = counts[b];
+            List<Integer> candidates = new ArrayList<>();
+            for (int player : boards[b].top()) {
+                if (!changed[b].get(player)) {
+                    candidates.add(player);
+                }
+            }
+            changed[b].stream().forEach(candidates::add);
+            candidates.sort(Comparator.<Integer>comparingInt(p -> -boardCounts[p]).thenComparing(byName));
+            int[] top = candidates.stream().limit(depth).mapToInt(Integer::intValue).toArray();
+            boards[b] = new Board(boardCounts, top, ranked[b]);
+        }
+        return this;
+    }
+
+    // Same rule as the player totals (see MatchAggregates): "NA" marks a match without an award
+    private static boolean isAward(MatchColumns c, int player) {
+        String name = c.players().valueOf(player);
+        return name != null && !name.isBlank() && !name.equalsIgnoreCase("NA");
+    }
+
+    private int[] boardsOf(MatchColumns c, int row) {
+        int[] out = new int[4];
+        int n = 0;
+        out[n++] = 0;
+        if (c.season(row) != Dictionary.NONE) {
+            out[n++] = 1 + c.season(row);
+        }
+        if (c.matchWinner(row) != Dictionary.NONE) {
+            out[n++] = 1 + seasons + c.matchWinner(row);
+        }
+        if (c.venue(row) != Dictionary.NONE) {
+            out[n++] = 1 + seasons + teams + c.venue(row);
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // Board index for a scope and key, or -1 when the key is not in the data
+    private int board(String scope, String key) {
+        return switch (scope) {
+            case OVERALL -> 0;
+            case SEASON -> offset(1, columns.seasons().idOf(key));
+            case TEAM -> offset(1 + seasons, columns.teams().idOf(key));
+            case VENUE -> offset(1 + seasons + teams, columns.venues().idOf(key));
+            default -> throw new IllegalArgumentException("Unknown scope '" + scope + "'");
+        };
+    }
+
+    private static int offset(int first, int id) {
+        return id == Dictionary.NONE ? -1 : first + id;
+    }
+
+    /**
+     * Ranks {@code offset + 1} to {@code offset + limit} of a board ({@code key} is ignored for
+     * {@link #OVERALL}). Only the first {@link #depth()} ranks are kept; pages past them are empty.
+     */
+    public Optional<Leaderboard> page(String scope, String key, int offset, int limit) {
+        int b = board(scope, key);
+        if (b < 0) {
+            return Optional.empty();
+        }
+        Board board = boards[b];
+        int from = Math.min(offset, board.top().length);
+        int to = Math.min(from + limit, board.top().length);
+        List<Leaderboard.Entry> entries = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int player = board.top()[i];
+            entries.add(new Leaderboard.Entry(i + 1, columns.players().valueOf(player), board.count(player)));
+        }
+        return Optional.of(new Leaderboard(scope, OVERALL.equals(scope) ? null : key, board.top().length,
+                board.ranked(), depth, offset, limit, entries));
+    }
+
+    public int depth() {
+        return depth;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PlayerLeaderboardsView implements DatasetView<PlayerLeaderboards> {
+
+    private final int depth;
+
+    public PlayerLeaderboardsView(@Value("${ipl.leaderboard.depth:100}") int depth) {
+        this.depth = Math.max(1, depth);
+    }
+
+    @Override
+    public Class<PlayerLeaderboards> type() {
+        return PlayerLeaderboards.class;
+    }
+
+    @Override
+    public PlayerLeaderboards build(Dataset dataset) {
+        return PlayerLeaderboards.of(dataset.matches(), depth);
+    }
+
+    @Override
+    public PlayerLeaderboards update(PlayerLeaderboards previous, Dataset dataset, int firstNewRow) {
+        return previous.append(dataset.matches(), firstNewRow);
+    }
+}
@@ -0,0 +1,207 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.dto.PlayoffMatch;
+import com.ipl.ipl_dashboard.dto.SeasonStanding;
+import com.ipl.ipl_dashboard.dto.SeasonSummary;
+import com.ipl.ipl_dashboard.dto.SeasonTable;
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Season pages, materialised once per dataset: for every season its rows and the finished
+ * {@link SeasonTable} (league table, playoff matches, champion, each team's form), so a request is an
+ * array lookup.
+ *
+ * <p>League matches are those with match type "League" (or none); everything else is a playoff, and the
+ * champion is the winner of the season's "Final". The table, including each team's form, covers league
+ * matches only. The data has no run totals, so teams level on points are separated by wins and then by
+ * name rather than by net run rate.
+ */
+public final class SeasonTables {
+
+    static final int FORM_LENGTH = 5;
+    private static final String LEAGUE = "League";
+    private static final String FINAL = "Final";
+
+    private final Dictionary seasons;
+    // Indexed by season id; null for a season without rows
+    private final Season[] bySeason;
+    // Seasons named after two years ("2007/08") can also be asked for by the year they were played in
+    private final Map<String, Integer> byYear;
+
+    private record Season(int[] rows, SeasonTable table) {
+    }
+
+    private SeasonTables(MatchColumns c, Season[] bySeason) {
+        this.seasons = c.seasons();
+        this.bySeason = bySeason;
+        this.byYear = new HashMap<>();
+        for (int id = 0; id < bySeason.length; id++) {
+            if (bySeason[id] == null) {
+                continue;
+            }
+            int first = c.date(bySeason[id].rows()[0]);
+            if (first != MatchColumns.NO_DATE) {
+                String year = Integer.toString(LocalDate.ofEpochDay(first).getYear());
+                if (seasons.idOf(year) == Dictionary.NONE) {
+                    byYear.putIfAbsent(year, id);
+                }
+            }
+        }
+    }
+
+    public static SeasonTables of(MatchColumns c) {
+        return new SeasonTables(c, seasons(c, new Season[c.seasons().size()], 0));
+    }
+
+    /**
+     * These tables plus the rows of {@code c} from {@code firstNewRow} on (see {@code MatchColumns#append}).
+     * Only seasons with new rows are rebuilt; the rest are shared with this instance.
+     */
+    public SeasonTables append(MatchColumns c, int firstNewRow) {
+        return new SeasonTables(c, seasons(c, Arrays.copyOf(bySeason, c.seasons().size()), firstNewRow));
+    }
+
+    // Adds rows from firstRow on to their seasons and rebuilds the tables of the seasons that got any
+    private static Season[] seasons(MatchColumns c, Season[] into, int firstRow) {
+        int[] added = new int[into.length];
+        for (int row = firstRow; row < c.size(); row++) {
+            if (c.season(row) != Dictionary.NONE) {
+                added[c.season(row)]++;
+            }
+        }
+        for (int id = 0; id < into.length; id++) {
+            if (added[id] == 0) {
+                continue;
+            }
+            int[] old = into[id] == null ? new int[0] : into[id].rows();
+            int[] rows = Arrays.copyOf(old, old.length + added[id]);
+            int n = old.length;
+            for (int row = firstRow; row < c.size(); row++) {
+                if (c.season(row) == id) {
+                    rows[n++] = row;
+                }
+            }
+            into[id] = new Season(rows, table(c, c.seasons().valueOf(id), rows));
+        }
+        return into;
+    }
+
+    private static SeasonTable table(MatchColumns c, String season, int[] rows) {
+        Dictionary labels = c.labels();
+        int teams = c.teams().size();
+        int[] played = new int[teams];
+        int[] won = new int[teams];
+        int[] noResult = new int[teams];
+        List<PlayoffMatch> playoffs = new ArrayList<>();
+        String champion = null;
+        String runnerUp = null;
+
+        for (int row : rows) {
+            String stage = labels.valueOf(c.matchType(row));
+            if (!isLeague(stage)) {
+                playoffs.add(new PlayoffMatch(stage, c.toSummary(row)));
+                if (FINAL.equalsIgnoreCase(stage)) {
+                    int winner = c.matchWinner(row);
+                    int loser = winner == c.team1(row) ? c.team2(row) : winner == c.team2(row) ? c.team1(row) : Dictionary.NONE;
+                    champion = c.teams().valueOf(winner);
+                    runnerUp = c.teams().valueOf(loser);
+                }
+                continue;
+            }
+            for (int team : new int[]{c.team1(row), c.team2(row)}) {
+                if (team == Dictionary.NONE) {
+                    continue;
+                }
+                played[team]++;
+                if (c.matchWinner(row) == team) {
+                    won[team]++;
+                } else if (c.matchWinner(row) == Dictionary.NONE) {
+                    noResult[team]++;
+                }
+            }
+        }
+
+        // Rows are in date order, so walking them backwards yields each team's latest results first.
+        // Like the tallies, form is the league stage only; playoff results are listed with the playoffs
+        List<List<String>> form = new ArrayList<>(teams);
+        for (int t = 0; t < teams; t++) {
+            form.add(new ArrayList<>(FORM_LENGTH));
+        }
+        for (int i = rows.length - 1; i >= 0; i--) {
+            int row = rows[i];
+            if (!isLeague(labels.valueOf(c.matchType(row)))) {
+                continue;
+            }
+            for (int team : new int[]{c.team1(row), c.team2(row)}) {
+                if (team != Dictionary.NONE && form.get(team).size() < FORM_LENGTH) {
+                    int winner = c.matchWinner(row);
+                    form.get(team).add(winner == team ? "W" : winner == Dictionary.NONE ? "N" : "L");
+                }
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        for (int t = 0; t < teams; t++) {
+            if (played[t] > 0) {
+                ids.add(t);
+            }
+        }
+        ids.sort(Comparator.<Integer>comparingInt(t -> -(2 * won[t] + noResult[t]))
+                .thenComparingInt(t -> -won[t])
+                .thenComparing(c.teams()::valueOf));
+        List<SeasonStanding> standings = new ArrayList<>(ids.size());
+        for (int t : ids) {
+            standings.add(new SeasonStanding(standings.size() + 1, c.teams().valueOf(t), played[t], won[t],
+                    played[t] - won[t] - noResult[t], noResult[t], 2 * won[t] + noResult[t], List.copyOf(form.get(t))));
+        }
+        return new SeasonTable(new SeasonSummary(season, rows.length, champion, runnerUp),
+                List.copyOf(standings), List.copyOf(playoffs));
+    }
+
+    private static boolean isLeague(String stage) {
+        return stage == null || LEAGUE.equalsIgnoreCase(stage);
+    }
+
+    /** The season named {@code name}, or played in the year {@code name} (e.g. 2008 for 2007/08). */
+    public Optional<SeasonTable> season(String name) {
+        int id = id(name);
+        return id == Dictionary.NONE ? Optional.empty() : Optional.of(bySeason[id].table());
+    }
+
+    /** The name in the data of the season {@code name} refers to, as {@link #season} resolves it. */
+    public Optional<String> name(String name) {
+        int id = id(name);
+        return id == Dictionary.NONE ? Optional.empty() : Optional.of(seasons.valueOf(id));
+    }
+
+    private int id(String name) {
+        int id = seasons.idOf(name);
+        if (id == Dictionary.NONE) {
+            id = byYear.getOrDefault(name, Dictionary.NONE);
+        }
+        return id == Dictionary.NONE || id >= bySeason.length || bySeason[id] == null ? Dictionary.NONE : id;
+    }
+
+    /** Every season with matches, oldest first. */
+    public List<SeasonSummary> seasons() {
+        List<Season> present = new ArrayList<>();
+        for (Season s : bySeason) {
+            if (s != null) {
+                present.add(s);
+            }
+        }
+        // First rows are in date order, so this is chronological
+        present.sort(Comparator.comparingInt(s -> s.rows()[0]));
+        return present.stream().map(s -> s.table().summary()).toList();
+    }
+}
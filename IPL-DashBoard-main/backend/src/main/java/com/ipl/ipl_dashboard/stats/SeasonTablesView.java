@@ -0,0 +1,24 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeasonTablesView implements DatasetView<SeasonTables> {
+
+    @Override
+    public Class<SeasonTables> type() {
+        return SeasonTables.class;
+    }
+
+    @Override
+    public SeasonTables build(Dataset dataset) {
+        return SeasonTables.of(dataset.matches());
+    }
+
+    @Override
+    public SeasonTables update(SeasonTables previous, Dataset dataset, int firstNewRow) {
+        return previous.append(dataset.matches(), firstNewRow);
+    }
+}
@@ -0,0 +1,269 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.dto.TeamForm;
+import com.ipl.ipl_dashboard.dto.TeamTrend;
+import com.ipl.ipl_dashboard.dto.WinRate;
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Each team's matches as date-sorted primitive arrays with prefix sums of wins and no results, so the
+ * record over any date range is two binary searches and two subtractions, and the last-N form is one
+ * binary search. Season and month trends are built from the same arrays, one lookup per period.
+ *
+ * <p>Rows without a date are left out. Appended rows come after every existing row (see
+ * {@code MatchColumns#append}), so an ingest only extends the arrays of the teams that played.
+ */
+public final class TeamTimeSeries {
+
+    public static final String SEASON = "season";
+    public static final String MONTH = "month";
+    public static final int MAX_FORM = 100;
+
+    private static final byte WON = 0;
+    private static final byte LOST = 1;
+    private static final byte NO_RESULT = 2;
+    private static final String[] SYMBOLS = {"W", "L", "N"};
+
+    private final Dictionary teams;
+    private final Dictionary seasons;
+    // Indexed by team id; null for a team without dated matches
+    private final Series[] byTeam;
+
+    /**
+     * One team's matches in date order. {@code wonBefore[i]} and {@code noResultBefore[i]} count the
+     * first {@code i} matches, and {@code seasonStarts} holds the index of each season's first match.
+     */
+    private record Series(int[] dates, int[] seasons, byte[] outcomes, int[] wonBefore, int[] noResultBefore,
+                          int[] seasonStarts) {
+
+        int size() {
+            return dates.length;
+        }
+
+        // First index whose date is >= day
+        int lowerBound(int day) {
+            int lo = 0;
+            int hi = dates.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (dates[mid] < day) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        int won(int from, int to) {
+            return wonBefore[to] - wonBefore[from];
+        }
+
+        int noResult(int from, int to) {
+            return noResultBefore[to] - noResultBefore[from];
+        }
+    }
+
+    private TeamTimeSeries(MatchColumns c, Series[] byTeam) {
+        this.teams = c.teams();
+        this.seasons = c.seasons();
+        this.byTeam = byTeam;
+    }
+
+    public static TeamTimeSeries of(MatchColumns c) {
+        return new TeamTimeSeries(c, series(c, new Series[c.teams().size()], 0));
+    }
+
+    /** This index plus the rows of {@code c} from {@code firstNewRow} on; teams without new rows are shared. */
+    public TeamTimeSeries append(MatchColumns c, int firstNewRow) {
+        return new TeamTimeSeries(c, series(c, Arrays.copyOf(byTeam, c.teams().size()), firstNewRow));
+    }
+
+    private static Series[] series(MatchColumns c, Series[] into, int firstRow) {
+        int[] added = new int[into.length];
+        for (int row = firstRow; row < c.size(); row++) {
+            if (c.date(row) != MatchColumns.NO_DATE) {
+                for (int team : sides(c, row)) {
+                    added[team]++;
+                }
+            }
+        }
+        for (int t = 0; t < into.length; t++) {
+            if (added[t] > 0) {
+                into[t] = extend(c, t, into[t], firstRow, added[t]);
+            }
+        }
+        return into;
+    }
+
+    private static Series extend(MatchColumns c, int team, Series old, int firstRow, int added) {
+        int n = old == null ? 0 : old.size();
+        int size = n + added;
+        int[] dates = old == null ? new int[size] : Arrays.copyOf(old.dates(), size);
+        int[] seasonIds = old == null ? new int[size] : Arrays.copyOf(old.seasons(), size);
+        byte[] outcomes = old == null ? new byte[size] : Arrays.copyOf(old.outcomes(), size);
+        int[] wonBefore = old == null ? new int[size + 1] : Arrays.copyOf(old.wonBefore(), size + 1);
+        int[] noResultBefore = old == null ? new int[size + 1] : Arrays.copyOf(old.noResultBefore(), size + 1);
+        List<Integer> starts = new ArrayList<>();
+        if (old != null) {
+            Arrays.stream(old.seasonStarts()).forEach(starts::add);
+        }
+
+        int i = n;
+        for (int row = firstRow; row < c.size(); row++) {
+            if (c.date(row) == MatchColumns.NO_DATE || (c.team1(row) != team && c.team2(row) != team)) {
+                continue;
+            }
+            int winner = c.matchWinner(row);
+            dates[i] = c.date(row);
+            seasonIds[i] = c.season(row);
+            outcomes[i] = winner == team ? WON : winner == Dictionary.NONE ? NO_RESULT : LOST;
+            wonBefore[i + 1] = wonBefore[i] + (outcomes[i] == WON ? 1 : 0);
+            noResultBefore[i + 1] = noResultBefore[i] + (outcomes[i] == NO_RESULT ? 1 : 0);
+            if (i == 0 || seasonIds[i] != seasonIds[i - 1]) {
+                starts.add(i);
+            }
+            i++;
+        }
+        return new Series(dates, seasonIds, outcomes, wonBefore, noResultBefore,
+                starts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // The distinct teams of a row (a row naming the same team twice counts once)
+    private static int[] sides(MatchColumns c, int row) {
+        int a = c.team1(row);
+        int b = c.team2(row);
+        if (a == Dictionary.NONE) {
+            return b == Dictionary.NONE ? new int[0] : new int[]{b};
+        }
+        return b == Dictionary.NONE || b == a ? new int[]{a} : new int[]{a, b};
+    }
+
+    /** The team's record from {@code from} to {@code to}, both inclusive and either open when null. */
+    public Optional<WinRate> winRate(String team, LocalDate from, LocalDate to) {
+        Series s = series(team);
+        if (s == null) {
+            return Optional.empty();
+        }
+        int start = from == null ? 0 : s.lowerBound((int) from.toEpochDay());
+        int end = to == null ? s.size() : s.lowerBound((int) to.toEpochDay() + 1);
+        end = Math.max(start, end);
+        int played = end - start;
+        int won = s.won(start, end);
+        int noResult = s.noResult(start, end);
+        return Optional.of(new WinRate(team, from, to, played, won, played - won - noResult, noResult,
+                percentage(won, played)));
+    }
+
+    /** Whether the team has dated matches, i.e. whether the methods below find it. */
+    public boolean contains(String team) {
+        return series(team) != null;
+    }
+
+    /**
+     * The team's last {@code last} matches (at most {@link #MAX_FORM}) up to and including {@code asOf},
+     * or up to its latest match when {@code asOf} is null.
+     *
+     * @throws IllegalArgumentException when {@code last} is not positive
+     */
+    public Optional<TeamForm> form(String team, int last, LocalDate asOf) {
+        if (last <= 0) {
+            throw new IllegalArgumentException("last must be positive, got " + last);
+        }
+        Series s = series(team);
+        if (s == null) {
+            return Optional.empty();
+        }
+        int end = asOf == null ? s.size() : s.lowerBound((int) asOf.toEpochDay() + 1);
+        int start = Math.max(0, end - Math.min(last, MAX_FORM));
+        List<String> results = new ArrayList<>(end - start);
+        for (int i = end - 1; i >= start; i--) {
+            results.add(SYMBOLS[s.outcomes()[i]]);
+        }
+        int played = end - start;
+        int won = s.won(start, end);
+        int noResult = s.noResult(start, end);
+        LocalDate through = end == 0 ? null : LocalDate.ofEpochDay(s.dates()[end - 1]);
+        return Optional.of(new TeamForm(team, through, played, won, played - won - noResult, noResult,
+                percentage(won, played), results));
+    }
+
+    /**
+     * The team's record per {@link #SEASON} or {@link #MONTH}, oldest first, each with the rolling win
+     * percentage over the last {@code window} matches at the end of the period.
+     *
+     * @throws IllegalArgumentException for any other bucket, or when {@code window} is not positive
+     */
+    public Optional<TeamTrend> trend(String team, String bucket, int window) {
+        checkTrend(bucket, window);
+        Series s = series(team);
+        if (s == null) {
+            return Optional.empty();
+        }
+        List<int[]> periods = SEASON.equalsIgnoreCase(bucket) ? seasonPeriods(s) : monthPeriods(s);
+        List<TeamTrend.Point> points = new ArrayList<>(periods.size());
+        for (int[] p : periods) {
+            int start = p[0];
+            int end = p[1];
+            int rollingStart = Math.max(0, end - window);
+            LocalDate first = LocalDate.ofEpochDay(s.dates()[start]);
+            String period = SEASON.equalsIgnoreCase(bucket)
+                    ? seasons.valueOf(s.seasons()[start])
+                    : YearMonth.from(first).toString();
+            points.add(new TeamTrend.Point(period, first, LocalDate.ofEpochDay(s.dates()[end - 1]), end - start,
+                    s.won(start, end), s.noResult(start, end), percentage(s.won(start, end), end - start),
+                    percentage(s.won(rollingStart, end), end - rollingStart)));
+        }
+        return Optional.of(new TeamTrend(team, bucket.toLowerCase(), window, points));
+    }
+
+    /** The argument checks of {@link #trend}, for callers that validate before building one. */
+    public static void checkTrend(String bucket, int window) {
+        if (!SEASON.equalsIgnoreCase(bucket) && !MONTH.equalsIgnoreCase(bucket)) {
+            throw new IllegalArgumentException("Unknown bucket '" + bucket + "', expected season or month");
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive, got " + window);
+        }
+    }
+
+    // [start, end) index ranges of the team's seasons, from the boundaries found while building
+    private static List<int[]> seasonPeriods(Series s) {
+        int[] starts = s.seasonStarts();
+        List<int[]> periods = new ArrayList<>(starts.length);
+        for (int k = 0; k < starts.length; k++) {
+            periods.add(new int[]{starts[k], k + 1 < starts.length ? starts[k + 1] : s.size()});
+        }
+        return periods;
+    }
+
+    // [start, end) index ranges of the calendar months with matches: one binary search per month
+    private static List<int[]> monthPeriods(Series s) {
+        List<int[]> periods = new ArrayList<>();
+        int start = 0;
+        while (start < s.size()) {
+            LocalDate nextMonth = LocalDate.ofEpochDay(s.dates()[start]).withDayOfMonth(1).plusMonths(1);
+            int end = s.lowerBound((int) nextMonth.toEpochDay());
+            periods.add(new int[]{start, end});
+            start = end;
+        }
+        return periods;
+    }
+
+    private Series series(String team) {
+        int id = teams.idOf(team);
+        return id == Dictionary.NONE || id >= byTeam.length ? null : byTeam[id];
+    }
+
+    private static double percentage(int won, int played) {
+        return played == 0 ? 0 : Math.round(won * 10000.0 / played) / 100.0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TeamTimeSeriesView implements DatasetView<TeamTimeSeries> {
+
+    @Override
+    public Class<TeamTimeSeries> type() {
+        return TeamTimeSeries.class;
+    }
+
+    @Override
+    public TeamTimeSeries build(Dataset dataset) {
+        return TeamTimeSeries.of(dataset.matches());
+    }
+
+    @Override
+    public TeamTimeSeries update(TeamTimeSeries previous, Dataset dataset, int firstNewRow) {
+        return previous.append(dataset.matches(), firstNewRow);
+    }
+}
@@ -0,0 +1,229 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.dto.TossImpact;
+import com.ipl.ipl_dashboard.dto.VenueDetail;
+import com.ipl.ipl_dashboard.dto.VenueSummary;
+import com.ipl.ipl_dashboard.model.VenueStats;
+import com.ipl.ipl_dashboard.store.Dictionary;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Venue and toss statistics, tallied once per dataset by {@link GroupBy}:
+ * <ul>
+ *   <li>team x venue records;</li>
+ *   <li>venue x (batted first, chased) records and the toss winner's record per venue;</li>
+ *   <li>team x season x toss decision records of the toss winner, and team x season x (batted first,
+ *   chased) records, summed over whichever of team and season a query leaves open.</li>
+ * </ul>
+ * Counts are per side, so a match adds one played to each team; no-result matches count as played and
+ * not won. An ingest that only appends rows and introduces no new team, venue, season or label tallies
+ * just those rows and adds them to the previous counts.
+ */
+public final class VenueTossStats {
+
+    private static final int TEAM_VENUE = 0;
+    private static final int VENUE_BATTING = 1;
+    private static final int VENUE_TOSS = 2;
+    private static final int TOSS_DECISION = 3;
+    private static final int BATTING = 4;
+    // Decision slots in the toss cube
+    private static final int BAT = 0;
+    private static final int FIELD = 1;
+
+    private final MatchColumns columns;
+    private final int teams;
+    private final int venues;
+    private final int seasons;
+    private final int labels;
+    private final GroupBy.Tallies tallies;
+
+    private VenueTossStats(MatchColumns c, GroupBy.Tallies tallies) {
+        this.columns = c;
+        this.teams = c.teams().size();
+        this.venues = c.venues().size();
+        this.seasons = c.seasons().size();
+        this.labels = c.labels().size();
+        this.tallies = tallies;
+    }
+
+    public static VenueTossStats of(MatchColumns c, ForkJoinPool pool) {
+        return new VenueTossStats(c, GroupBy.aggregate(c, groupings(c), 0, c.size(), pool));
+    }
+
+    /**
+     * The statistics for {@code c}, whose rows before {@code firstNewRow} are the ones these were
+     * computed from; only the new rows are tallied unless a dictionary grew (which changes the group keys).
+     */
+    public VenueTossStats append(MatchColumns c, int firstNewRow, ForkJoinPool pool) {
+        if (c.teams().size() != teams || c.venues().size() != venues || c.seasons().size() != seasons
+                || c.labels().size() != labels) {
+            return of(c, pool);
+        }
+        GroupBy.Tallies added = GroupBy.aggregate(c, groupings(c), firstNewRow, c.size(), pool);
+        return new VenueTossStats(c, added.merge(tallies));
+    }
+
+    private static List<GroupBy.Grouping> groupings(MatchColumns c) {
+        int t = c.teams().size();
+        int v = c.venues().size();
+        int s = c.seasons().size();
+        int bat = c.labels().idOf("bat");
+        int field = c.labels().idOf("field");
+        return List.of(
+                new GroupBy.Grouping("team x venue", t * v, side -> {
+                    int venue = side.columns().venue(side.row());
+                    return venue == Dictionary.NONE ? -1 : side.team() * v + venue;
+                }),
+                new GroupBy.Grouping("venue x batting", v * 2, side -> {
+                    int venue = side.columns().venue(side.row());
+                    return venue == Dictionary.NONE || side.battedFirst() < 0 ? -1 : venue * 2 + (1 - side.battedFirst());
+                }),
+                new GroupBy.Grouping("venue x toss winner", v, side ->
+                        side.tossWinner() ? side.columns().venue(side.row()) : -1),
+                new GroupBy.Grouping("team x season x toss decision", t * s * 2, side -> {
+                    int season = side.columns().season(side.row());
+                    int decision = side.columns().tossDecision(side.row());
+                    if (!side.tossWinner() || season == Dictionary.NONE || (decision != bat && decision != field)) {
+                        return -1;
+                    }
+                    return (side.team() * s + season) * 2 + (decision == bat ? BAT : FIELD);
+                }),
+                new GroupBy.Grouping("team x season x batting", t * s * 2, side -> {
+                    int season = side.columns().season(side.row());
+                    return season == Dictionary.NONE || side.battedFirst() < 0 ? -1
+                            : (side.team() * s + season) * 2 + (1 - side.battedFirst());
+                }));
+    }
+
+    /** Every venue, most matches first. */
+    public List<VenueSummary> venues() {
+        List<VenueSummary> out = new ArrayList<>();
+        for (int v = 0; v < venues; v++) {
+            VenueSummary summary = summary(v);
+            if (summary.matches() > 0) {
+                out.add(summary);
+            }
+        }
+        out.sort(Comparator.comparingLong(VenueSummary::matches).reversed().thenComparing(VenueSummary::venue));
+        return out;
+    }
+
+    public Optional<VenueDetail> venue(String name) {
+        int v = columns.venues().idOf(name);
+        if (v == Dictionary.NONE) {
+            return Optional.empty();
+        }
+        List<Map.Entry<String, VenueStats>> teamStats = new ArrayList<>();
+        for (int t = 0; t < teams; t++) {
+            int key = t * venues + v;
+            if (tallies.played[TEAM_VENUE][key] > 0) {
+                teamStats.add(Map.entry(columns.teams().valueOf(t), stats(TEAM_VENUE, key)));
+            }
+        }
+        return Optional.of(new VenueDetail(summary(v), sortedByMatches(teamStats)));
+    }
+
+    /** A team's record at each venue it played at, most matches first; empty for an unknown team. */
+    public Optional<Map<String, VenueStats>> teamVenues(String team) {
+        int t = columns.teams().idOf(team);
+        if (t == Dictionary.NONE) {
+            return Optional.empty();
+        }
+        List<Map.Entry<String, VenueStats>> venueStats = new ArrayList<>();
+        for (int v = 0; v < venues; v++) {
+            int key = t * venues + v;
+            if (tallies.played[TEAM_VENUE][key] > 0) {
+                venueStats.add(Map.entry(columns.venues().valueOf(v), stats(TEAM_VENUE, key)));
+            }
+        }
+        return Optional.of(sortedByMatches(venueStats));
+    }
+
+    /**
+     * Toss impact for {@code season} and {@code team}, either of which may be null for all; empty when
+     * a named season or team is not in the data.
+     */
+    public Optional<TossImpact> toss(String season, String team) {
+        int s = season == null || season.isBlank() ? -1 : columns.seasons().idOf(season);
+        int t = team == null || team.isBlank() ? -1 : columns.teams().idOf(team);
+        if (s == Dictionary.NONE && season != null && !season.isBlank()
+                || t == Dictionary.NONE && team != null && !team.isBlank()) {
+            return Optional.empty();
+        }
+        List<TossImpact> bySeason = null;
+        if (s < 0) {
+            bySeason = new ArrayList<>();
+            for (int each = 0; each < seasons; each++) {
+                TossImpact impact = toss(each, t, null);
+                if (impact.battingFirst().getTotalMatches() + impact.chasing().getTotalMatches() > 0) {
+                    bySeason.add(impact);
+                }
+            }
+        }
+        return Optional.of(toss(s, t, bySeason));
+    }
+
+    private TossImpact toss(int s, int t, List<TossImpact> bySeason) {
+        long[] bat = sum(TOSS_DECISION, s, t, BAT);
+        long[] field = sum(TOSS_DECISION, s, t, FIELD);
+        Map<String, VenueStats> byDecision = new LinkedHashMap<>();
+        byDecision.put("bat", record(bat[0], bat[1]));
+        byDecision.put("field", record(field[0], field[1]));
+        long[] first = sum(BATTING, s, t, 0);
+        long[] chase = sum(BATTING, s, t, 1);
+        return new TossImpact(s < 0 ? null : columns.seasons().valueOf(s), t < 0 ? null : columns.teams().valueOf(t),
+                record(bat[0] + field[0], bat[1] + field[1]), byDecision,
+                record(first[0], first[1]), record(chase[0], chase[1]), bySeason);
+    }
+
+    // {played, won} over the team x season x slot cube, with -1 meaning every team / season
+    private long[] sum(int grouping, int season, int team, int slot) {
+        long played = 0;
+        long won = 0;
+        for (int t = team < 0 ? 0 : team; t < (team < 0 ? teams : team + 1); t++) {
+            for (int s = season < 0 ? 0 : season; s < (season < 0 ? seasons : season + 1); s++) {
+                int key = (t * seasons + s) * 2 + slot;
+                played += tallies.played[grouping][key];
+                won += tallies.won[grouping][key];
+            }
+        }
+        return new long[]{played, won};
+    }
+
+    private VenueSummary summary(int v) {
+        long played = 0;
+        long noResult = 0;
+        for (int t = 0; t < teams; t++) {
+            played += tallies.played[TEAM_VENUE][t * venues + v];
+            noResult += tallies.noResult[TEAM_VENUE][t * venues + v];
+        }
+        // Both sides of every match were counted
+        return new VenueSummary(columns.venues().valueOf(v), played / 2, noResult / 2,
+                stats(VENUE_BATTING, v * 2), stats(VENUE_BATTING, v * 2 + 1), stats(VENUE_TOSS, v));
+    }
+
+    private VenueStats stats(int grouping, int key) {
+        return record(tallies.played[grouping][key], tallies.won[grouping][key]);
+    }
+
+    private static VenueStats record(long played, long won) {
+        double percentage = played == 0 ? 0 : Math.round(won * 10000.0 / played) / 100.0;
+        return new VenueStats(played, won, percentage);
+    }
+
+    private static Map<String, VenueStats> sortedByMatches(List<Map.Entry<String, VenueStats>> entries) {
+        entries.sort(Comparator.<Map.Entry<String, VenueStats>>comparingLong(e -> e.getValue().getTotalMatches())
+                .reversed().thenComparing(Map.Entry::getKey));
+        Map<String, VenueStats> out = new LinkedHashMap<>();
+        entries.forEach(e -> out.put(e.getKey(), e.getValue()));
+        return out;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ipl.ipl_dashboard.stats;
+
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetView;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Tallied on the common fork/join pool: the calling thread joins in, so every core takes part
+@Component
+public class VenueTossStatsView implements DatasetView<VenueTossStats> {
+
+    @Override
+    public Class<VenueTossStats> type() {
+        return VenueTossStats.class;
+    }
+
+    @Override
+    public VenueTossStats build(Dataset dataset) {
+        return VenueTossStats.of(dataset.matches(), ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public VenueTossStats update(VenueTossStats previous, Dataset dataset, int firstNewRow) {
+        return previous.append(dataset.matches(), firstNewRow, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,101 @@
+package com.ipl.ipl_dashboard.store;
+
+import com.ipl.ipl_dashboard.model.Player;
+import com.ipl.ipl_dashboard.model.Team;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One immutable, fully loaded state of the dashboard data: the match columns, their posting-list index,
+ * the team and player aggregates and any {@link DatasetView}s built on top of them. {@link MatchStore}
+ * swaps whole instances, so a reader that grabbed a dataset keeps seeing a consistent view for as long as
+ * it holds the reference.
+ */
+public final class Dataset {
+
+    private final MatchColumns matches;
+    private final PostingIndex postings;
+    private final Map<String, Team> teams;
+    private final Map<String, Player> players;
+    // Filled by MatchStore before the dataset is published, never modified afterwards
+    private final Map<Class<?>, Object> views = new HashMap<>();
+    private long version;
+
+    public Dataset(MatchColumns matches, Collection<Team> teams, Collection<Player> players) {
+        this(matches, PostingIndex.of(matches), teams, players);
+    }
+
+    Dataset(MatchColumns matches, PostingIndex postings, Collection<Team> teams, Collection<Player> players) {
+        this.matches = matches;
+        this.postings = postings;
+        Map<String, Team> teamsByName = new TreeMap<>();
+        for (Team t : teams) {
+            teamsByName.put(t.getTeamName(), copy(t));
+        }
+        Map<String, Player> playersByName = new TreeMap<>();
+        for (Player p : players) {
+            playersByName.put(p.getName(), new Player(p.getName(), p.getTotalPlayerOfMatchAwards()));
+        }
+        this.teams = Collections.unmodifiableMap(teamsByName);
+        this.players = Collections.unmodifiableMap(playersByName);
+    }
+
+    public static Dataset empty() {
+        return new Dataset(MatchColumns.EMPTY, List.of(), List.of());
+    }
+
+    /** Position in the sequence of published datasets, starting at 1; 0 until published. */
+    public long version() {
+        return version;
+    }
+
+    void stamp(long version) {
+        this.version = version;
+    }
+
+    public MatchColumns matches() {
+        return matches;
+    }
+
+    public PostingIndex postings() {
+        return postings;
+    }
+
+    /** Teams by name. The values are shared; use {@link #copy(Team)} before handing one out for mutation. */
+    public Map<String, Team> teams() {
+        return teams;
+    }
+
+    /** Players by name. The values are shared and must not be mutated. */
+    public Map<String, Player> players() {
+        return players;
+    }
+
+    /** The value built by the {@link DatasetView} registered for {@code type}. */
+    public <T> T view(Class<T> type) {
+        Object view = views.get(type);
+        if (view == null) {
+            throw new IllegalStateException("No dataset view registered for " + type.getSimpleName());
+        }
+        return type.cast(view);
+    }
+
+    <T> void putView(DatasetView<T> view) {
+        views.put(view.type(), view.build(this));
+    }
+
+    // previous holds this dataset's rows before firstNewRow; see DatasetView#update
+    <T> void putView(DatasetView<T> view, Dataset previous, int firstNewRow) {
+        views.put(view.type(), view.update(previous.view(view.type()), this, firstNewRow));
+    }
+
+    public static Team copy(Team t) {
+        return new Team(t.getTeamName(), t.getTotalMatches(), t.getTotalWins(), null,
+                t.getPrimaryColor(), t.getSecondaryColor(), t.getTagline());
+    }
+}
@@ -0,0 +1,5 @@
+package com.ipl.ipl_dashboard.store;
+
+/** Published by {@link MatchStore} right after a new dataset becomes current. */
+public record DatasetLoadedEvent(Dataset dataset) {
+}
@@ -0,0 +1,25 @@
+package com.ipl.ipl_dashboard.store;
+
+/**
+ * A structure derived from a {@link Dataset} (search index, precomputed aggregates...). Implementations
+ * are Spring beans; {@link MatchStore} builds every registered view for a new dataset before publishing
+ * it, so readers always get views that match the data they were built from.
+ *
+ * <p>Views must not depend on {@link MatchStore} themselves, and the value they build must be immutable.
+ */
+public interface DatasetView<T> {
+
+    /** Key under which the built value is published; see {@link Dataset#view(Class)}. */
+    Class<T> type();
+
+    T build(Dataset dataset);
+
+    /**
+     * The value for {@code dataset} when it only differs from the one {@code previous} was built for by
+     * rows appended from {@code firstNewRow} on (same row numbers and dictionary ids before that). Views
+     * that can fold in just the new rows override this; the default rebuilds.
+     */
+    default T update(T previous, Dataset dataset, int firstNewRow) {
+        return build(dataset);
+    }
+}
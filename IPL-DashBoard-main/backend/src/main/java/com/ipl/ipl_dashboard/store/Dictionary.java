@@ -0,0 +1,87 @@
+package com.ipl.ipl_dashboard.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense int encoding of a string dimension (teams, venues, umpires...). Ids are assigned in first-seen
+ * order starting at 0; {@link #NONE} stands for a null value.
+ */
+public final class Dictionary {
+
+    public static final int NONE = -1;
+
+    private final String[] values;
+    private final Map<String, Integer> ids;
+
+    private Dictionary(String[] values, Map<String, Integer> ids) {
+        this.values = values;
+        this.ids = ids;
+    }
+
+    public int idOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        return id == null ? NONE : id;
+    }
+
+    public String valueOf(int id) {
+        return id == NONE ? null : values[id];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /** The values by id, as a read-only view (datasets share dictionaries, so this must not write through). */
+    public List<String> values() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /** Approximate heap footprint of the distinct values (2 bytes per char plus object headers). */
+    long estimatedBytes() {
+        long bytes = 16L + 4L * values.length;
+        for (String v : values) {
+            bytes += 40 + 2L * v.length();
+        }
+        return bytes;
+    }
+
+    public static final class Builder {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        public Builder() {
+        }
+
+        /** Starts from an existing dictionary so previously issued ids stay stable. */
+        public Builder(Dictionary from) {
+            values.addAll(Arrays.asList(from.values));
+            ids.putAll(from.ids);
+        }
+
+        public int add(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                values.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        public Dictionary build() {
+            return new Dictionary(values.toArray(new String[0]), new HashMap<>(ids));
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.ipl.ipl_dashboard.store;
+
+import com.ipl.ipl_dashboard.dto.MatchSummary;
+import com.ipl.ipl_dashboard.model.Match;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-per-field copy of the match table. Rows are ordered by (date, id), so a row number
+ * ("ordinal") doubles as a chronological position. String dimensions are dictionary-encoded to ints,
+ * dates are epoch days and numeric cells (margin, target runs) are plain ints.
+ *
+ * <p>Numeric cells keep the original text recoverable: values {@code >= 0} are the number itself,
+ * {@link #NUMBER_NULL} is null, and anything else (e.g. "NA") is stored as {@code -2 - labelId}.
+ */
+public final class MatchColumns {
+
+    public static final int NUMBER_NULL = -1;
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final int size;
+    private final int[] id;
+    private final int[] date;
+    private final int[] season;
+    private final int[] city;
+    private final int[] venue;
+    private final int[] playerOfMatch;
+    private final int[] team1;
+    private final int[] team2;
+    private final int[] tossWinner;
+    private final int[] matchWinner;
+    private final int[] umpire1;
+    private final int[] umpire2;
+    private final int[] tossDecision;
+    private final int[] result;
+    private final int[] matchType;
+    private final int[] method;
+    private final int[] superOver;
+    private final int[] targetOvers;
+    private final int[] resultMargin;
+    private final int[] targetRuns;
+    // CSV id of each row; unique, so kept as plain strings rather than dictionary-encoded
+    private final String[] sourceId;
+
+    // Assigned once in of()/append(); instances are only shared after construction completes
+    private int[] rowById;
+    private Map<String, Integer> rowBySourceId;
+    private Dictionary teams;
+    private Dictionary venues;
+    private Dictionary cities;
+    private Dictionary umpires;
+    private Dictionary seasons;
+    private Dictionary players;
+    // Low-cardinality labels: toss decision, result, match type, method, super over, target overs, odd numbers
+    private Dictionary labels;
+
+    public static final MatchColumns EMPTY = of(List.of());
+
+    private static final Comparator<Match> ROW_ORDER =
+            Comparator.comparing(Match::getDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Match::getId);
+
+    private MatchColumns(int size) {
+        this.size = size;
+        id = new int[size];
+        date = new int[size];
+        season = new int[size];
+        city = new int[size];
+        venue = new int[size];
+        playerOfMatch = new int[size];
+        team1 = new int[size];
+        team2 = new int[size];
+        tossWinner = new int[size];
+        matchWinner = new int[size];
+        umpire1 = new int[size];
+        umpire2 = new int[size];
+        tossDecision = new int[size];
+        result = new int[size];
+        matchType = new int[size];
+        method = new int[size];
+        superOver = new int[size];
+        targetOvers = new int[size];
+        resultMargin = new int[size];
+        targetRuns = new int[size];
+        sourceId = new String[size];
+    }
+
+    public static MatchColumns of(List<Match> matches) {
+        List<Match> rows = new ArrayList<>(matches);
+        rows.sort(ROW_ORDER);
+
+        Encoders e = new Encoders(null);
+        MatchColumns c = new MatchColumns(rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            c.set(r, rows.get(r), e);
+        }
+        c.index(0, e);
+        return c;
+    }
+
+    /**
+     * These columns plus {@code added}, or null when some added match would sort before an existing row
+     * (a backfill), in which case the caller rebuilds with {@link #of}. Existing rows keep their row
+     * numbers and dictionary ids, so anything keyed by them stays valid and only the new rows need
+     * indexing.
+     */
+    public MatchColumns append(List<Match> added) {
+        List<Match> rows = new ArrayList<>(added);
+        rows.sort(ROW_ORDER);
+        if (!rows.isEmpty() && size > 0) {
+            Match first = rows.get(0);
+            int last = size - 1;
+            if (first.getDate() == null || date[last] == NO_DATE || first.getDate().toEpochDay() < date[last]
+                    || (first.getDate().toEpochDay() == date[last] && first.getId() <= id[last])) {
+                return null;
+            }
+        }
+
+        Encoders e = new Encoders(this);
+        MatchColumns c = new MatchColumns(size + rows.size());
+        for (int[][] column : new int[][][]{
+                {id, c.id}, {date, c.date}, {season, c.season}, {city, c.city}, {venue, c.venue},
+                {playerOfMatch, c.playerOfMatch}, {team1, c.team1}, {team2, c.team2}, {tossWinner, c.tossWinner},
+                {matchWinner, c.matchWinner}, {umpire1, c.umpire1}, {umpire2, c.umpire2},
+                {tossDecision, c.tossDecision}, {result, c.result}, {matchType, c.matchType}, {method, c.method},
+                {superOver, c.superOver}, {targetOvers, c.targetOvers}, {resultMargin, c.resultMargin},
+                {targetRuns, c.targetRuns}}) {
+            System.arraycopy(column[0], 0, column[1], 0, size);
+        }
+        System.arraycopy(sourceId, 0, c.sourceId, 0, size);
+        for (int r = 0; r < rows.size(); r++) {
+            c.set(size + r, rows.get(r), e);
+        }
+        c.index(size, e);
+        return c;
+    }
+
+    private void set(int r, Match m, Encoders e) {
+        id[r] = Math.toIntExact(m.getId());
+        sourceId[r] = m.getSourceId();
+        date[r] = m.getDate() == null ? NO_DATE : (int) m.getDate().toEpochDay();
+        season[r] = e.seasons.add(m.getSeason());
+        city[r] = e.cities.add(m.getCity());
+        venue[r] = e.venues.add(m.getVenue());
+        playerOfMatch[r] = e.players.add(m.getPlayerOfMatch());
+        team1[r] = e.teams.add(m.getTeam1());
+        team2[r] = e.teams.add(m.getTeam2());
+        tossWinner[r] = e.teams.add(m.getTossWinner());
+        matchWinner[r] = e.teams.add(m.getMatchWinner());
+        umpire1[r] = e.umpires.add(m.getUmpire1());
+        umpire2[r] = e.umpires.add(m.getUmpire2());
+        tossDecision[r] = e.labels.add(m.getTossDecision());
+        result[r] = e.labels.add(m.getResult());
+        matchType[r] = e.labels.add(m.getMatchType());
+        method[r] = e.labels.add(m.getMethod());
+        superOver[r] = e.labels.add(m.getSuperOver());
+        targetOvers[r] = e.labels.add(m.getTargetOvers());
+        resultMargin[r] = encodeNumber(m.getResultMargin(), e.labels);
+        targetRuns[r] = encodeNumber(m.getTargetRuns(), e.labels);
+    }
+
+    // Id and source-id lookups plus the dictionaries; rows before firstNew are copied from the previous columns
+    private void index(int firstNew, Encoders e) {
+        int maxId = 0;
+        for (int r = 0; r < size; r++) {
+            maxId = Math.max(maxId, id[r]);
+        }
+        rowById = new int[size == 0 ? 0 : maxId + 1];
+        Arrays.fill(rowById, -1);
+        rowBySourceId = e.previous == null ? new HashMap<>(size * 2) : new HashMap<>(e.previous.rowBySourceId);
+        for (int r = 0; r < size; r++) {
+            rowById[id[r]] = r;
+            if (r >= firstNew && sourceId[r] != null) {
+                rowBySourceId.putIfAbsent(sourceId[r], r);
+            }
+        }
+        teams = e.teams.build();
+        venues = e.venues.build();
+        cities = e.cities.build();
+        umpires = e.umpires.build();
+        seasons = e.seasons.build();
+        players = e.players.build();
+        labels = e.labels.build();
+    }
+
+    // Dictionary builders, seeded from the previous columns when appending so existing ids stay stable
+    private static final class Encoders {
+        final MatchColumns previous;
+        final Dictionary.Builder teams;
+        final Dictionary.Builder venues;
+        final Dictionary.Builder cities;
+        final Dictionary.Builder umpires;
+        final Dictionary.Builder seasons;
+        final Dictionary.Builder players;
+        final Dictionary.Builder labels;
+
+        Encoders(MatchColumns previous) {
+            this.previous = previous;
+            teams = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.teams);
+            venues = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.venues);
+            cities = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.cities);
+            umpires = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.umpires);
+            seasons = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.seasons);
+            players = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.players);
+            labels = previous == null ? new Dictionary.Builder() : new Dictionary.Builder(previous.labels);
+        }
+    }
+
+    private static int encodeNumber(String s, Dictionary.Builder labels) {
+        if (s == null) {
+            return NUMBER_NULL;
+        }
+        if (!s.isEmpty() && s.length() < 10 && s.chars().allMatch(Character::isDigit)
+                && (s.length() == 1 || s.charAt(0) != '0')) {
+            return Integer.parseInt(s);
+        }
+        return -2 - labels.add(s);
+    }
+
+    String decodeNumber(int v) {
+        if (v >= 0) {
+            return Integer.toString(v);
+        }
+        return v == NUMBER_NULL ? null : labels.valueOf(-2 - v);
+    }
+
+    /** Materialises a detached {@link Match} for the given row. */
+    public Match toMatch(int row) {
+        Match m = new Match();
+        m.setId((long) id[row]);
+        m.setSourceId(sourceId[row]);
+        m.setDate(date[row] == NO_DATE ? null : LocalDate.ofEpochDay(date[row]));
+        m.setSeason(seasons.valueOf(season[row]));
+        m.setCity(cities.valueOf(city[row]));
+        m.setVenue(venues.valueOf(venue[row]));
+        m.setPlayerOfMatch(players.valueOf(playerOfMatch[row]));
+        m.setTeam1(teams.valueOf(team1[row]));
+        m.setTeam2(teams.valueOf(team2[row]));
+        m.setTossWinner(teams.valueOf(tossWinner[row]));
+        m.setMatchWinner(teams.valueOf(matchWinner[row]));
+        m.setUmpire1(umpires.valueOf(umpire1[row]));
+        m.setUmpire2(umpires.valueOf(umpire2[row]));
+        m.setTossDecision(labels.valueOf(tossDecision[row]));
+        m.setResult(labels.valueOf(result[row]));
+        m.setMatchType(labels.valueOf(matchType[row]));
+        m.setMethod(labels.valueOf(method[row]));
+        m.setSuperOver(labels.valueOf(superOver[row]));
+        m.setTargetOvers(labels.valueOf(targetOvers[row]));
+        m.setResultMargin(decodeNumber(resultMargin[row]));
+        m.setTargetRuns(decodeNumber(targetRuns[row]));
+        return m;
+    }
+
+    /** The list-view projection of a row, decoded straight from the columns. */
+    public MatchSummary toSummary(int row) {
+        return new MatchSummary((long) id[row],
+                date[row] == NO_DATE ? null : LocalDate.ofEpochDay(date[row]),
+                seasons.valueOf(season[row]),
+                teams.valueOf(team1[row]),
+                teams.valueOf(team2[row]),
+                venues.valueOf(venue[row]),
+                teams.valueOf(matchWinner[row]),
+                labels.valueOf(result[row]),
+                decodeNumber(resultMargin[row]),
+                players.valueOf(playerOfMatch[row]));
+    }
+
+    /** Row holding the match with this id, or -1. */
+    public int rowOf(long matchId) {
+        return matchId >= 0 && matchId < rowById.length ? rowById[(int) matchId] : -1;
+    }
+
+    /** Row holding the match with this CSV id, or -1. */
+    public int rowOfSource(String sourceId) {
+        Integer row = sourceId == null ? null : rowBySourceId.get(sourceId);
+        return row == null ? -1 : row;
+    }
+
+    /** Highest match id in the columns, or 0 when empty. */
+    public int maxId() {
+        return Math.max(0, rowById.length - 1);
+    }
+
+    /** Bytes held by the column arrays and dictionaries (excluding JVM object headers of the arrays). */
+    public long estimatedBytes() {
+        long sourceIds = 0;
+        for (String s : sourceId) {
+            sourceIds += s == null ? 0 : 40 + 2L * s.length();
+        }
+        return 20L * 4 * size + 4L * rowById.length + 4L * size + sourceIds
+                + teams.estimatedBytes() + venues.estimatedBytes() + cities.estimatedBytes()
+                + umpires.estimatedBytes() + seasons.estimatedBytes() + players.estimatedBytes()
+                + labels.estimatedBytes();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return id[row];
+    }
+
+    /** The CSV id of the row, or null when its CSV line had none. */
+    public String sourceId(int row) {
+        return sourceId[row];
+    }
+
+    /** Epoch day of the match date, or {@link #NO_DATE} when the row has none. */
+    public int date(int row) {
+        return date[row];
+    }
+
+    public int season(int row) {
+        return season[row];
+    }
+
+    public int city(int row) {
+        return city[row];
+    }
+
+    public int venue(int row) {
+        return venue[row];
+    }
+
+    public int playerOfMatch(int row) {
+        return playerOfMatch[row];
+    }
+
+    public int team1(int row) {
+        return team1[row];
+    }
+
+    public int team2(int row) {
+        return team2[row];
+    }
+
+    public int tossWinner(int row) {
+        return tossWinner[row];
+    }
+
+    public int matchWinner(int row) {
+        return matchWinner[row];
+    }
+
+    public int umpire1(int row) {
+        return umpire1[row];
+    }
+
+    public int umpire2(int row) {
+        return umpire2[row];
+    }
+
+    public int tossDecision(int row) {
+        return tossDecision[row];
+    }
+
+    public int result(int row) {
+        return result[row];
+    }
+
+    public int matchType(int row) {
+        return matchType[row];
+    }
+
+    public int method(int row) {
+        return method[row];
+    }
+
+    public int superOver(int row) {
+        return superOver[row];
+    }
+
+    public int targetOvers(int row) {
+        return targetOvers[row];
+    }
+
+    /** Winning margin in runs or wickets, or a negative value when not numeric (see class doc). */
+    public int resultMargin(int row) {
+        return resultMargin[row];
+    }
+
+    public int targetRuns(int row) {
+        return targetRuns[row];
+    }
+
+    public Dictionary teams() {
+        return teams;
+    }
+
+    public Dictionary venues() {
+        return venues;
+    }
+
+    public Dictionary cities() {
+        return cities;
+    }
+
+    public Dictionary umpires() {
+        return umpires;
+    }
+
+    public Dictionary seasons() {
+        return seasons;
+    }
+
+    public Dictionary players() {
+        return players;
+    }
+
+    public Dictionary labels() {
+        return labels;
+    }
+}
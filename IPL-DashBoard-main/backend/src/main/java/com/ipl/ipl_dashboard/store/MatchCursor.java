@@ -0,0 +1,37 @@
+package com.ipl.ipl_dashboard.store;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Keyset position in a newest-first match list: the (epoch day, id) of the last match a client has
+ * seen. Encoded as an opaque URL-safe token so clients cannot build or tweak them, and a version byte
+ * leaves room to change the layout later.
+ */
+public record MatchCursor(int epochDay, int id) {
+
+    private static final byte VERSION = 1;
+
+    public String encode() {
+        ByteBuffer buf = ByteBuffer.allocate(9).put(VERSION).putInt(epochDay).putInt(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf.array());
+    }
+
+    /** Parses a token produced by {@link #encode()}; {@code null} or blank means "from the start". */
+    public static MatchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (bytes.length != 9 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 1, 8);
+        return new MatchCursor(buf.getInt(), buf.getInt());
+    }
+}
@@ -0,0 +1,90 @@
+package com.ipl.ipl_dashboard.store;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Client-chosen subset of match fields ({@code ?fields=date,opponent,matchWinner}). Names are the
+ * {@code Match} property names plus {@code opponent}, the side facing the team the list is about.
+ * Field names are resolved to column readers once per request, so each row is just array reads into a
+ * small map.
+ */
+public final class MatchProjection {
+
+    public static final List<String> FIELDS = List.of("id", "date", "season", "city", "venue", "team1", "team2",
+            "opponent", "tossWinner", "tossDecision", "matchWinner", "result", "resultMargin", "playerOfMatch",
+            "umpire1", "umpire2", "matchType", "targetRuns", "targetOvers", "superOver", "method");
+
+    private final String[] names;
+
+    private MatchProjection(String[] names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma-separated field list; null or blank means "no projection requested".
+     *
+     * @throws IllegalArgumentException on an unknown field name
+     */
+    public static MatchProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        String[] names = fields.split(",");
+        for (int i = 0; i < names.length; i++) {
+            names[i] = names[i].trim();
+            if (!FIELDS.contains(names[i])) {
+                throw new IllegalArgumentException("Unknown field '" + names[i] + "'; expected any of " + FIELDS);
+            }
+        }
+        return new MatchProjection(names);
+    }
+
+    /** Row mapper for {@code columns}; {@code team} (may be null) is the side "opponent" is relative to. */
+    public IntFunction<Map<String, Object>> mapper(MatchColumns columns, String team) {
+        int teamId = team == null ? Dictionary.NONE : columns.teams().idOf(team);
+        @SuppressWarnings("unchecked")
+        IntFunction<Object>[] readers = new IntFunction[names.length];
+        for (int i = 0; i < names.length; i++) {
+            readers[i] = reader(columns, names[i], teamId);
+        }
+        return row -> {
+            Map<String, Object> out = new LinkedHashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                out.put(names[i], readers[i].apply(row));
+            }
+            return out;
+        };
+    }
+
+    private static IntFunction<Object> reader(MatchColumns c, String field, int teamId) {
+        return switch (field) {
+            case "id" -> row -> (long) c.id(row);
+            case "date" -> row -> c.date(row) == MatchColumns.NO_DATE ? null : LocalDate.ofEpochDay(c.date(row));
+            case "season" -> row -> c.seasons().valueOf(c.season(row));
+            case "city" -> row -> c.cities().valueOf(c.city(row));
+            case "venue" -> row -> c.venues().valueOf(c.venue(row));
+            case "team1" -> row -> c.teams().valueOf(c.team1(row));
+            case "team2" -> row -> c.teams().valueOf(c.team2(row));
+            case "opponent" -> row -> teamId == Dictionary.NONE ? null
+                    : c.teams().valueOf(c.team1(row) == teamId ? c.team2(row) : c.team1(row));
+            case "tossWinner" -> row -> c.teams().valueOf(c.tossWinner(row));
+            case "tossDecision" -> row -> c.labels().valueOf(c.tossDecision(row));
+            case "matchWinner" -> row -> c.teams().valueOf(c.matchWinner(row));
+            case "result" -> row -> c.labels().valueOf(c.result(row));
+            case "resultMargin" -> row -> c.decodeNumber(c.resultMargin(row));
+            case "playerOfMatch" -> row -> c.players().valueOf(c.playerOfMatch(row));
+            case "umpire1" -> row -> c.umpires().valueOf(c.umpire1(row));
+            case "umpire2" -> row -> c.umpires().valueOf(c.umpire2(row));
+            case "matchType" -> row -> c.labels().valueOf(c.matchType(row));
+            case "targetRuns" -> row -> c.decodeNumber(c.targetRuns(row));
+            case "targetOvers" -> row -> c.labels().valueOf(c.targetOvers(row));
+            case "superOver" -> row -> c.labels().valueOf(c.superOver(row));
+            case "method" -> row -> c.labels().valueOf(c.method(row));
+            default -> throw new IllegalArgumentException("Unknown field '" + field + "'");
+        };
+    }
+}
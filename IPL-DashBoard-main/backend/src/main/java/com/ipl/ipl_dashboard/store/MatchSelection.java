@@ -0,0 +1,113 @@
+package com.ipl.ipl_dashboard.store;
+
+import com.ipl.ipl_dashboard.dto.MatchPage;
+import com.ipl.ipl_dashboard.dto.MatchSummary;
+import com.ipl.ipl_dashboard.model.Match;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A posting list bound to the dataset it came from, read newest first. Pages are keyset-based: a
+ * {@link MatchCursor} names the last (date, id) returned, and the next page starts at the first row
+ * strictly older than it, found by binary search. Unlike offsets, a cursor stays valid across reloads.
+ */
+public final class MatchSelection {
+
+    private final Dataset dataset;
+    // Ascending by (date, id)
+    private final int[] rows;
+
+    MatchSelection(Dataset dataset, int[] rows) {
+        this.dataset = dataset;
+        this.rows = rows;
+    }
+
+    /** Rows of {@code dataset} picked by some other index (e.g. a bitmap filter); {@code rows} must be ascending. */
+    public static MatchSelection of(Dataset dataset, int[] rows) {
+        return new MatchSelection(dataset, rows);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public List<Match> all() {
+        return all(dataset.matches()::toMatch);
+    }
+
+    public <T> List<T> all(IntFunction<T> mapper) {
+        return page(null, rows.length, mapper).items();
+    }
+
+    /**
+     * Row mapper for list responses: {@link MatchSummary} by default, or the fields picked by
+     * {@code projection}, with "opponent" taken relative to {@code team}.
+     */
+    public IntFunction<Object> mapper(MatchProjection projection, String team) {
+        MatchColumns c = dataset.matches();
+        if (projection == null) {
+            return c::toSummary;
+        }
+        IntFunction<Map<String, Object>> fields = projection.mapper(c, team);
+        return fields::apply;
+    }
+
+    public MatchPage<Match> page(MatchCursor after, int limit) {
+        return page(after, limit, dataset.matches()::toMatch);
+    }
+
+    /** Like {@link #page(MatchCursor, int)}, mapping each row with {@code mapper} (e.g. to a projection). */
+    public <T> MatchPage<T> page(MatchCursor after, int limit, IntFunction<T> mapper) {
+        int end = start(after);
+        int from = Math.max(0, end - Math.max(0, limit));
+        List<T> items = new ArrayList<>(end - from);
+        for (int i = end - 1; i >= from; i--) {
+            items.add(mapper.apply(rows[i]));
+        }
+        String next = from > 0 && !items.isEmpty() ? cursorOf(rows[from]).encode() : null;
+        return new MatchPage<>(items, next);
+    }
+
+    /** Matches older than {@code after}, newest first, materialised one at a time as the stream is consumed. */
+    public Stream<Match> stream(MatchCursor after) {
+        return stream(after, dataset.matches()::toMatch);
+    }
+
+    public <T> Stream<T> stream(MatchCursor after, IntFunction<T> mapper) {
+        int end = start(after);
+        return IntStream.range(0, end).map(i -> rows[end - 1 - i]).mapToObj(mapper);
+    }
+
+    private MatchCursor cursorOf(int row) {
+        MatchColumns c = dataset.matches();
+        return new MatchCursor(c.date(row), c.id(row));
+    }
+
+    // Exclusive upper bound in rows: index of the first row at or after the cursor's (date, id)
+    private int start(MatchCursor after) {
+        if (after == null) {
+            return rows.length;
+        }
+        MatchColumns c = dataset.matches();
+        int lo = 0;
+        int hi = rows.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int row = rows[mid];
+            int cmp = c.date(row) != after.epochDay()
+                    ? Integer.compare(c.date(row), after.epochDay())
+                    : Integer.compare(c.id(row), after.id());
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
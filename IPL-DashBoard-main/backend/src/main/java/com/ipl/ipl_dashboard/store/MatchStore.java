@@ -0,0 +1,228 @@
+package com.ipl.ipl_dashboard.store;
+
+import com.ipl.ipl_dashboard.model.Match;
+import com.ipl.ipl_dashboard.model.Player;
+import com.ipl.ipl_dashboard.model.Team;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read-optimised, in-memory view of the match data. Each dataset is immutable; {@code DataLoader} loads
+ * the first one, and incremental ingests (see {@link #extend}) and full reloads (see {@link #build})
+ * publish successors, so reads are served from {@link MatchColumns} instead of round-tripping through
+ * JPA/H2, which remains the system of record.
+ *
+ * <p>A successor is built to the side while the current dataset keeps serving, then published with one
+ * volatile write; readers never wait for a writer. Writers take {@link #updateLock()} around building
+ * and publishing, so two of them cannot each extend the same base and lose the other's update. Retired
+ * datasets are tracked through weak references only, so {@link #metrics()} can show whether the old
+ * versions are being reclaimed once the requests still holding them have finished.
+ *
+ * <p>Match lists are answered from the dataset's {@link PostingIndex} and returned newest first, ties
+ * broken by descending id. Each call reads the dataset reference once, so a reload never mixes two
+ * datasets within a single answer.
+ */
+@Component
+public class MatchStore {
+
+    private final List<DatasetView<?>> views;
+    private final ApplicationEventPublisher events;
+    private volatile Dataset dataset;
+    private volatile Instant publishedAt;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private long lastVersion;
+    // (version, dataset) of every dataset replaced so far whose memory has not been reclaimed yet
+    private final List<Retired> retired = new ArrayList<>();
+
+    private record Retired(long version, WeakReference<Dataset> dataset) {
+    }
+
+    public MatchStore(List<DatasetView<?>> views, ApplicationEventPublisher events) {
+        this.views = views;
+        this.events = events;
+        this.dataset = withViews(Dataset.empty());
+    }
+
+    public void load(List<Match> matches, Collection<Team> teams, Collection<Player> players) {
+        Dataset loaded = build(matches, teams, players);
+        publish(loaded);
+
+        MatchColumns columns = loaded.matches();
+        System.out.printf("✅ Match store: %d rows, %,d KB columns + %,d KB postings (~%d bytes/match)%n",
+                columns.size(), columns.estimatedBytes() / 1024, loaded.postings().estimatedBytes() / 1024,
+                columns.size() == 0 ? 0 : columns.estimatedBytes() / columns.size());
+    }
+
+    /** Builds, without publishing, a complete dataset from scratch. */
+    public Dataset build(List<Match> matches, Collection<Team> teams, Collection<Player> players) {
+        return withViews(new Dataset(MatchColumns.of(matches), teams, players));
+    }
+
+    /**
+     * Builds, without publishing, the dataset that follows {@code base} once {@code added} matches are
+     * in; {@code teams} and {@code players} are the complete updated aggregates. When the new matches
+     * are all later than the existing ones (the usual case during a season) the columns, posting lists
+     * and views are extended with just the new rows; otherwise everything is rebuilt.
+     */
+    public Dataset extend(Dataset base, List<Match> added, Collection<Team> teams, Collection<Player> players) {
+        MatchColumns c = base.matches();
+        MatchColumns appended = c.append(added);
+        if (appended == null) {
+            List<Match> all = new ArrayList<>(c.size() + added.size());
+            for (int row = 0; row < c.size(); row++) {
+                all.add(c.toMatch(row));
+            }
+            all.addAll(added);
+            System.out.println("✅ Match store: " + added.size() + " matches predate existing rows, rebuilding");
+            return build(all, teams, players);
+        }
+        Dataset next = new Dataset(appended, base.postings().append(appended, c.size()), teams, players);
+        for (DatasetView<?> view : views) {
+            next.putView(view, base, c.size());
+        }
+        return next;
+    }
+
+    /** Held by whoever builds and publishes the next dataset; see the class comment. */
+    public ReentrantLock updateLock() {
+        return updateLock;
+    }
+
+    /** Makes {@code next} the dataset every reader sees from now on, as the next version. */
+    public void publish(Dataset next) {
+        updateLock.lock();
+        try {
+            next.stamp(++lastVersion);
+            Dataset previous = dataset;
+            this.dataset = next;
+            this.publishedAt = Instant.now();
+            if (previous.version() > 0) {
+                retired.add(new Retired(previous.version(), new WeakReference<>(previous)));
+            }
+            retired.removeIf(r -> r.dataset().get() == null);
+        } finally {
+            updateLock.unlock();
+        }
+        events.publishEvent(new DatasetLoadedEvent(next));
+    }
+
+    /** Current version and size, and the retired versions still reachable from somewhere. */
+    public Map<String, Object> metrics() {
+        Dataset d = dataset;
+        List<Long> unreclaimed = new ArrayList<>();
+        updateLock.lock();
+        try {
+            retired.removeIf(r -> r.dataset().get() == null);
+            retired.forEach(r -> unreclaimed.add(r.version()));
+        } finally {
+            updateLock.unlock();
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("version", d.version());
+        out.put("publishedAt", publishedAt);
+        out.put("matches", d.matches().size());
+        out.put("teams", d.teams().size());
+        out.put("players", d.players().size());
+        out.put("retiredNotReclaimed", unreclaimed);
+        return out;
+    }
+
+    private Dataset withViews(Dataset d) {
+        for (DatasetView<?> view : views) {
+            d.putView(view);
+        }
+        return d;
+    }
+
+    public Dataset current() {
+        return dataset;
+    }
+
+    public Optional<Match> findMatch(long id) {
+        MatchColumns c = dataset.matches();
+        int row = c.rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(c.toMatch(row));
+    }
+
+    /** A team's matches, restricted to one season unless {@code season} is null or blank. */
+    public MatchSelection teamSelection(String team, String season) {
+        return teamSelection(dataset, team, season);
+    }
+
+    // The overloads taking a dataset let callers read several things from one snapshot (see ResponseCache)
+    public MatchSelection teamSelection(Dataset d, String team, String season) {
+        MatchColumns c = d.matches();
+        int teamId = c.teams().idOf(team);
+        int[] rows = season == null || season.isBlank()
+                ? d.postings().team(teamId)
+                : d.postings().teamInSeason(teamId, c.seasons().idOf(season));
+        return new MatchSelection(d, rows);
+    }
+
+    public MatchSelection playerOfMatchSelection(String player) {
+        return playerOfMatchSelection(dataset, player);
+    }
+
+    public MatchSelection playerOfMatchSelection(Dataset d, String player) {
+        return new MatchSelection(d, d.postings().playerOfMatch(d.matches().players().idOf(player)));
+    }
+
+    public MatchSelection headToHeadSelection(String team1, String team2) {
+        return headToHeadSelection(dataset, team1, team2);
+    }
+
+    public MatchSelection headToHeadSelection(Dataset d, String team1, String team2) {
+        MatchColumns c = d.matches();
+        return new MatchSelection(d, d.postings().headToHead(c.teams().idOf(team1), c.teams().idOf(team2)));
+    }
+
+    public MatchSelection venueSelection(String venue) {
+        Dataset d = dataset;
+        return new MatchSelection(d, d.postings().venue(d.matches().venues().idOf(venue)));
+    }
+
+    /** All teams ordered by name; each call returns fresh copies. */
+    public List<Team> teams() {
+        return teams(dataset);
+    }
+
+    public List<Team> teams(Dataset d) {
+        List<Team> out = new ArrayList<>();
+        for (Team t : d.teams().values()) {
+            out.add(Dataset.copy(t));
+        }
+        return out;
+    }
+
+    public Optional<Team> team(String name) {
+        return team(dataset, name);
+    }
+
+    public Optional<Team> team(Dataset d, String name) {
+        return Optional.ofNullable(d.teams().get(name)).map(Dataset::copy);
+    }
+
+    /** All players ordered by name. */
+    public List<Player> players() {
+        return players(dataset);
+    }
+
+    public List<Player> players(Dataset d) {
+        return new ArrayList<>(d.players().values());
+    }
+
+    public Optional<Player> player(String name) {
+        return Optional.ofNullable(dataset.players().get(name));
+    }
+}
@@ -0,0 +1,152 @@
+package com.ipl.ipl_dashboard.store;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Inverted index over {@link MatchColumns}: for each team, season, Player of the Match and venue, the
+ * ascending list of rows it appears in. A team's list is the union of its team1 and team2 appearances,
+ * merged once at build time. Combined lookups (team in a season, head-to-head) intersect two lists, so
+ * their cost tracks the size of the answer rather than the size of the table.
+ */
+public final class PostingIndex {
+
+    private final int[][] byTeam;
+    private final int[][] bySeason;
+    private final int[][] byPlayerOfMatch;
+    private final int[][] byVenue;
+
+    private PostingIndex(int[][] byTeam, int[][] bySeason, int[][] byPlayerOfMatch, int[][] byVenue) {
+        this.byTeam = byTeam;
+        this.bySeason = bySeason;
+        this.byPlayerOfMatch = byPlayerOfMatch;
+        this.byVenue = byVenue;
+    }
+
+    public static PostingIndex of(MatchColumns c) {
+        int n = c.size();
+        int[][] team1 = group(c.teams().size(), n, c::team1);
+        int[][] team2 = group(c.teams().size(), n, c::team2);
+        int[][] byTeam = new int[team1.length][];
+        for (int t = 0; t < byTeam.length; t++) {
+            byTeam[t] = PostingLists.union(team1[t], team2[t]);
+        }
+        return new PostingIndex(byTeam,
+                group(c.seasons().size(), n, c::season),
+                group(c.players().size(), n, c::playerOfMatch),
+                group(c.venues().size(), n, c::venue));
+    }
+
+    /**
+     * The index for {@code c}, whose rows before {@code firstNewRow} are exactly the rows this index was
+     * built from (see {@link MatchColumns#append}). New rows come after every existing one, so each list
+     * they touch is extended at the end and stays sorted; lists they do not touch are shared.
+     */
+    public PostingIndex append(MatchColumns c, int firstNewRow) {
+        return new PostingIndex(
+                extend(byTeam, c.teams().size(), firstNewRow, c.size(), c::team1, c::team2),
+                extend(bySeason, c.seasons().size(), firstNewRow, c.size(), c::season, null),
+                extend(byPlayerOfMatch, c.players().size(), firstNewRow, c.size(), c::playerOfMatch, null),
+                extend(byVenue, c.venues().size(), firstNewRow, c.size(), c::venue, null));
+    }
+
+    // Appends rows [from, to) to the lists of their keys (either column; a row is listed once per key)
+    private static int[][] extend(int[][] previous, int keys, int from, int to,
+                                  IntUnaryOperator column, IntUnaryOperator other) {
+        int[] counts = new int[keys];
+        for (int r = from; r < to; r++) {
+            int k = column.applyAsInt(r);
+            if (k != Dictionary.NONE) {
+                counts[k]++;
+            }
+            int o = other == null ? Dictionary.NONE : other.applyAsInt(r);
+            if (o != Dictionary.NONE && o != k) {
+                counts[o]++;
+            }
+        }
+        int[][] lists = new int[keys][];
+        int[] fill = new int[keys];
+        for (int k = 0; k < keys; k++) {
+            int[] old = k < previous.length ? previous[k] : PostingLists.EMPTY;
+            lists[k] = counts[k] == 0 ? old : Arrays.copyOf(old, old.length + counts[k]);
+            fill[k] = old.length;
+        }
+        for (int r = from; r < to; r++) {
+            int k = column.applyAsInt(r);
+            if (k != Dictionary.NONE) {
+                lists[k][fill[k]++] = r;
+            }
+            int o = other == null ? Dictionary.NONE : other.applyAsInt(r);
+            if (o != Dictionary.NONE && o != k) {
+                lists[o][fill[o]++] = r;
+            }
+        }
+        return lists;
+    }
+
+    // Counting pass, then fill pass: one exactly-sized int[] per key, rows in ascending order
+    private static int[][] group(int keys, int rows, IntUnaryOperator column) {
+        int[] counts = new int[keys];
+        for (int r = 0; r < rows; r++) {
+            int k = column.applyAsInt(r);
+            if (k != Dictionary.NONE) {
+                counts[k]++;
+            }
+        }
+        int[][] lists = new int[keys][];
+        for (int k = 0; k < keys; k++) {
+            lists[k] = new int[counts[k]];
+        }
+        int[] fill = new int[keys];
+        for (int r = 0; r < rows; r++) {
+            int k = column.applyAsInt(r);
+            if (k != Dictionary.NONE) {
+                lists[k][fill[k]++] = r;
+            }
+        }
+        return lists;
+    }
+
+    public int[] team(int teamId) {
+        return get(byTeam, teamId);
+    }
+
+    public int[] season(int seasonId) {
+        return get(bySeason, seasonId);
+    }
+
+    public int[] playerOfMatch(int playerId) {
+        return get(byPlayerOfMatch, playerId);
+    }
+
+    public int[] venue(int venueId) {
+        return get(byVenue, venueId);
+    }
+
+    public int[] teamInSeason(int teamId, int seasonId) {
+        return PostingLists.intersect(team(teamId), season(seasonId));
+    }
+
+    public int[] headToHead(int teamA, int teamB) {
+        if (teamA == teamB) {
+            return PostingLists.EMPTY;
+        }
+        return PostingLists.intersect(team(teamA), team(teamB));
+    }
+
+    private static int[] get(int[][] lists, int key) {
+        return key < 0 || key >= lists.length ? PostingLists.EMPTY : lists[key];
+    }
+
+    public long estimatedBytes() {
+        return bytes(byTeam) + bytes(bySeason) + bytes(byPlayerOfMatch) + bytes(byVenue);
+    }
+
+    private static long bytes(int[][] lists) {
+        long b = 16L + 4L * lists.length;
+        for (int[] l : lists) {
+            b += 16L + 4L * l.length;
+        }
+        return b;
+    }
+}
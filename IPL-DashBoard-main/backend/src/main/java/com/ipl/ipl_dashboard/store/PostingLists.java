@@ -0,0 +1,73 @@
+package com.ipl.ipl_dashboard.store;
+
+import java.util.Arrays;
+
+/**
+ * Set operations on posting lists: strictly ascending int arrays of match rows. Because rows are in
+ * (date, id) order, every result is already chronologically sorted.
+ */
+public final class PostingLists {
+
+    public static final int[] EMPTY = new int[0];
+
+    private PostingLists() {
+    }
+
+    public static int[] intersect(int[] a, int[] b) {
+        if (a.length > b.length) {
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        int[] out = new int[a.length];
+        int n = 0;
+        // Gallop through the longer list when the sizes are lopsided (e.g. team x season)
+        if (a.length * 16 < b.length) {
+            int from = 0;
+            for (int row : a) {
+                int at = Arrays.binarySearch(b, from, b.length, row);
+                if (at >= 0) {
+                    out[n++] = row;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    public static int[] union(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            out[n++] = next;
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,167 @@
+package com.ipl.ipl_dashboard.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for comparing request handling modes. Start the app twice on Java 21+,
+ * once with {@code IPL_VIRTUAL_THREADS=false} and once with {@code true} (on different ports), then run
+ *
+ * <pre>
+ * java ... HttpLoadBenchmark --compare http://localhost:8080 http://localhost:8081 \
+ *     /api/v1/team/Mumbai%20Indians/matches 200 30
+ * </pre>
+ *
+ * which loads the platform server and then the virtual one with the same path and prints both side by
+ * side. With a single URL it measures just that server:
+ *
+ * <pre>
+ * java ... HttpLoadBenchmark http://localhost:8080/api/v1/team/Mumbai%20Indians/matches 200 30
+ * </pre>
+ *
+ * Each of the {@code concurrency} workers sends one request at a time for {@code seconds} (after a
+ * short warm-up) and the run reports throughput, error count and p50/p90/p99/max latency. On Java 17
+ * Spring ignores {@code spring.threads.virtual.enabled}, so both servers would run platform threads.
+ * Not a test; run it by hand against running servers.
+ */
+public final class HttpLoadBenchmark {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        boolean compare = args.length > 0 && args[0].equals("--compare");
+        int first = compare ? 4 : 1;
+        if (args.length < first) {
+            System.err.println("usage: HttpLoadBenchmark <url> [concurrency=100] [seconds=30]");
+            System.err.println("       HttpLoadBenchmark --compare <platform base url> <virtual base url> <path>"
+                    + " [concurrency=100] [seconds=30]");
+            System.exit(2);
+        }
+        int concurrency = args.length > first ? Integer.parseInt(args[first]) : 100;
+        int seconds = args.length > first + 1 ? Integer.parseInt(args[first + 1]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        if (!compare) {
+            measure(client, URI.create(args[0]), concurrency, seconds);
+            return;
+        }
+        Stats platform = measure(client, URI.create(args[1] + args[3]), concurrency, seconds);
+        Stats virtual = measure(client, URI.create(args[2] + args[3]), concurrency, seconds);
+        System.out.printf("%n%-16s %12s %12s %8s%n", "", "platform", "virtual", "change");
+        row("throughput req/s", platform.throughput(), virtual.throughput());
+        row("p50 ms", platform.p50(), virtual.p50());
+        row("p90 ms", platform.p90(), virtual.p90());
+        row("p99 ms", platform.p99(), virtual.p99());
+        row("max ms", platform.max(), virtual.max());
+        System.out.printf("%-16s %12d %12d%n", "errors", platform.errors(), virtual.errors());
+    }
+
+    private record Stats(long requests, long errors, double throughput, double p50, double p90, double p99,
+                         double max) {
+    }
+
+    private static Stats measure(HttpClient client, URI uri, int concurrency, int seconds)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        System.out.println("Warming up for " + WARMUP.toSeconds() + " s ...");
+        run(client, request, concurrency, System.nanoTime() + WARMUP.toNanos());
+
+        System.out.println("Measuring " + concurrency + " workers for " + seconds + " s against " + uri);
+        long start = System.nanoTime();
+        Result result = run(client, request, concurrency, start + Duration.ofSeconds(seconds).toNanos());
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        Stats stats = new Stats(latencies.length, result.errors(), latencies.length / elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 1.0));
+        print(stats);
+        return stats;
+    }
+
+    private static void print(Stats s) {
+        System.out.printf("requests   %d (%d errors)%n", s.requests(), s.errors());
+        System.out.printf("throughput %.1f req/s%n", s.throughput());
+        System.out.printf("latency    p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                s.p50(), s.p90(), s.p99(), s.max());
+    }
+
+    private static void row(String name, double platform, double virtual) {
+        System.out.printf("%-16s %12.2f %12.2f %+7.1f%%%n", name, platform, virtual,
+                platform == 0 ? 0 : (virtual - platform) * 100 / platform);
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, long deadline)
+            throws InterruptedException {
+        long[][] perWorker = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            Thread t = new Thread(() -> {
+                long[] buf = new long[1 << 16];
+                int n = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == buf.length) {
+                            buf = Arrays.copyOf(buf, n * 2);
+                        }
+                        buf[n++] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    perWorker[worker] = buf;
+                    counts[worker] = n;
+                    done.countDown();
+                }
+            }, "load-" + w);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+
+        int total = 0;
+        for (int c : counts) {
+            total += c;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(perWorker[w], 0, all, at, counts[w]);
+            at += counts[w];
+        }
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(i, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,195 @@
+package com.ipl.ipl_dashboard.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Simulates many STOMP subscribers of one live-score topic. Start the app with a fast replay feed,
+ *
+ * <pre>
+ * java -jar app.jar --ipl.live.source=replay --ipl.live.poll.in-play=100
+ * java ... StompFanOutBenchmark ws://localhost:8080/ws/websocket 2000 30 0.05
+ * </pre>
+ *
+ * and every client connects, subscribes to {@code /topic/live/replay-1} and counts the deltas it gets.
+ * A {@code slowFraction} of the clients stop reading after their first few messages, so their socket
+ * buffers fill and the server's slow-consumer handling kicks in; the rest should not notice. Reports
+ * messages received by fast and slow clients, version gaps (a delta whose {@code from} is not the last
+ * version seen, i.e. the client would have to resync) and how far behind the first receiver of each
+ * version the other fast clients got it. Server-side numbers are at {@code /api/metrics/broadcast}.
+ * Not a test; run it by hand against a running server.
+ */
+public final class StompFanOutBenchmark {
+
+    private static final Pattern FROM = Pattern.compile("\"from\":(\\d+)");
+    private static final Pattern VERSION = Pattern.compile("\"version\":(\\d+)");
+    private static final int SLOW_CLIENT_READS = 3;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: StompFanOutBenchmark <ws-url> [clients=1000] [seconds=30] [slowFraction=0.05]"
+                    + " [destination=/topic/live/replay-1]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        double slowFraction = args.length > 3 ? Double.parseDouble(args[3]) : 0.05;
+        String destination = args.length > 4 ? args[4] : "/topic/live/replay-1";
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Map<Long, Long> firstSeen = new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<Long> spread = new ConcurrentLinkedQueue<>();
+        List<Client> all = new ArrayList<>();
+        List<CompletableFuture<WebSocket>> connecting = new ArrayList<>();
+        int slowEvery = slowFraction > 0 ? (int) Math.round(1 / slowFraction) : Integer.MAX_VALUE;
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(destination, i % slowEvery == slowEvery - 1, firstSeen, spread);
+            all.add(client);
+            connecting.add(http.newWebSocketBuilder().buildAsync(uri, client));
+        }
+        long failed = 0;
+        for (CompletableFuture<WebSocket> c : connecting) {
+            try {
+                c.get(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                failed++;
+            }
+        }
+        System.out.println("Connected " + (clients - failed) + " of " + clients + " clients to " + uri
+                + "; listening on " + destination + " for " + seconds + " s ...");
+        Thread.sleep(Duration.ofSeconds(seconds).toMillis());
+
+        long fastMessages = 0;
+        long slowMessages = 0;
+        long gaps = 0;
+        long fast = 0;
+        long closed = 0;
+        for (Client client : all) {
+            if (client.slow) {
+                slowMessages += client.messages.get();
+            } else {
+                fast++;
+                fastMessages += client.messages.get();
+                gaps += client.gaps.get();
+            }
+            if (client.closed) {
+                closed++;
+            }
+            if (client.socket != null && !client.closed) {
+                client.socket.abort();
+            }
+        }
+        long[] delays = spread.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(delays);
+        System.out.printf("versions   %d distinct%n", firstSeen.size());
+        System.out.printf("fast       %d clients, %d messages (%.1f each), %d version gaps%n",
+                fast, fastMessages, fast == 0 ? 0.0 : (double) fastMessages / fast, gaps);
+        System.out.printf("slow       %d clients, %d messages%n", all.size() - fast, slowMessages);
+        System.out.printf("closed     %d by the server%n", closed);
+        System.out.printf("spread     p50 %.2f ms, p99 %.2f ms, max %.2f ms behind the first receiver%n",
+                percentile(delays, 0.50), percentile(delays, 0.99), percentile(delays, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    private static final class Client implements WebSocket.Listener {
+
+        private final String destination;
+        private final boolean slow;
+        private final Map<Long, Long> firstSeen;
+        private final ConcurrentLinkedQueue<Long> spread;
+        private final StringBuilder pending = new StringBuilder();
+        private final AtomicLong messages = new AtomicLong();
+        private final AtomicLong gaps = new AtomicLong();
+        private volatile WebSocket socket;
+        private volatile boolean closed;
+        private long lastVersion = -1;
+
+        Client(String destination, boolean slow, Map<Long, Long> firstSeen, ConcurrentLinkedQueue<Long> spread) {
+            this.destination = destination;
+            this.slow = slow;
+            this.firstSeen = firstSeen;
+            this.spread = spread;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            socket = webSocket;
+            webSocket.sendText("CONNECT\naccept-version:1.2\nhost:localhost\n\n\0", true);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            pending.append(data);
+            if (last) {
+                String text = pending.toString();
+                pending.setLength(0);
+                for (String frame : text.split("\0")) {
+                    frame(webSocket, frame.stripLeading());
+                }
+            }
+            // Slow clients stop reading: the server sees their TCP window close
+            if (!slow || messages.get() < SLOW_CLIENT_READS) {
+                webSocket.request(1);
+            }
+            return null;
+        }
+
+        private void frame(WebSocket webSocket, String frame) {
+            if (frame.startsWith("CONNECTED")) {
+                webSocket.sendText("SUBSCRIBE\nid:sub-0\ndestination:" + destination + "\n\n\0", true);
+            } else if (frame.startsWith("MESSAGE")) {
+                long now = System.nanoTime();
+                messages.incrementAndGet();
+                long from = number(FROM, frame);
+                long version = number(VERSION, frame);
+                if (lastVersion >= 0 && from != lastVersion) {
+                    gaps.incrementAndGet();
+                }
+                lastVersion = version;
+                Long first = firstSeen.putIfAbsent(version, now);
+                if (!slow && first != null) {
+                    spread.add(now - first);
+                }
+            }
+        }
+
+        private static long number(Pattern pattern, String frame) {
+            Matcher m = pattern.matcher(frame);
+            return m.find() ? Long.parseLong(m.group(1)) : -1;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            closed = true;
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            closed = true;
+        }
+    }
+}
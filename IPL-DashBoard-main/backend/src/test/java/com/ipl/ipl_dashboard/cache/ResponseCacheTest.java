@@ -0,0 +1,243 @@
+package com.ipl.ipl_dashboard.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.DatasetLoadedEvent;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Drives the servlet path with mock requests; the reactive path shares the lookup and header parsing. */
+class ResponseCacheTest {
+
+    // Large and repetitive enough to get a gzip copy
+    private static final List<String> BODY = Collections.nCopies(200, "Mumbai Indians");
+
+    private final MatchStore store = new MatchStore(List.of(), event -> { });
+    private final MockEnvironment environment = new MockEnvironment();
+    private int computed;
+
+    ResponseCacheTest() {
+        // As in the application, so "0s" style durations convert
+        environment.setConversionService(new ApplicationConversionService());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        ResponseCache cache = cache(2, 1 << 20);
+        get(cache, "a");
+        get(cache, "b");
+        get(cache, "a");
+        // b is now the least recently used
+        get(cache, "c");
+        assertEquals(3, computed);
+        get(cache, "a");
+        get(cache, "c");
+        assertEquals(3, computed);
+        get(cache, "b");
+        assertEquals(4, computed);
+        assertEquals(2, cache.metrics().get("entries"));
+        assertEquals(2L, stat(cache, "teams", "evictions"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxBytes() {
+        // Same-length keys, so every entry weighs the same
+        ResponseCache probe = cache(10, 1 << 20);
+        get(probe, "a");
+        long weight = (long) probe.metrics().get("bytes");
+
+        ResponseCache cache = cache(10, 2 * weight + weight / 2);
+        get(cache, "a");
+        get(cache, "b");
+        get(cache, "c");
+        assertEquals(2, cache.metrics().get("entries"));
+        assertEquals(2 * weight, cache.metrics().get("bytes"));
+        computed = 0;
+        get(cache, "b");
+        get(cache, "c");
+        assertEquals(0, computed);
+        get(cache, "a");
+        assertEquals(1, computed);
+
+        // An entry larger than the whole cache is served but never stored
+        ResponseCache tiny = cache(10, weight - 1);
+        get(tiny, "a");
+        get(tiny, "a");
+        assertEquals(3, computed);
+        assertEquals(0, tiny.metrics().get("entries"));
+        assertEquals(0L, tiny.metrics().get("bytes"));
+    }
+
+    @Test
+    void entriesExpireAfterTheirEndpointTtl() {
+        environment.setProperty("ipl.cache.ttl.live", "0s");
+        ResponseCache cache = cache(10, 1 << 20);
+        Dataset dataset = store.current();
+        get(cache, dataset, "live", "k", null, null);
+        get(cache, dataset, "live", "k", null, null);
+        assertEquals(2, computed);
+        assertEquals(1L, stat(cache, "live", "expirations"));
+        assertEquals(0L, stat(cache, "live", "ttlSeconds"));
+
+        // Other endpoints keep the default
+        get(cache, dataset, "teams", "k", null, null);
+        get(cache, dataset, "teams", "k", null, null);
+        assertEquals(3, computed);
+        assertEquals(600L, stat(cache, "teams", "ttlSeconds"));
+    }
+
+    @Test
+    void ifNoneMatchGetsAnEmpty304() {
+        ResponseCache cache = cache(10, 1 << 20);
+        String etag = get(cache, "k", null, null).getHeader(HttpHeaders.ETAG);
+        String gzipTag = get(cache, "k", "gzip", null).getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, gzipTag);
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gz\"", gzipTag);
+
+        for (String ifNoneMatch : new String[]{etag, "W/" + etag, "\"stale\", " + etag, "\"a\",W/" + etag + ", \"b\"",
+                "*", gzipTag}) {
+            MockHttpServletResponse response = get(cache, "k", null, ifNoneMatch);
+            assertEquals(304, response.getStatus(), ifNoneMatch);
+            assertEquals(0, response.getContentAsByteArray().length, ifNoneMatch);
+            assertEquals(etag, response.getHeader(HttpHeaders.ETAG), ifNoneMatch);
+        }
+        // The validator sent back follows the encoding that would have been chosen
+        assertEquals(gzipTag, get(cache, "k", "gzip", etag).getHeader(HttpHeaders.ETAG));
+
+        for (String ifNoneMatch : new String[]{"", " ", "\"stale\"", "W/\"stale\", \"other\"",
+                etag.substring(1, etag.length() - 1)}) {
+            MockHttpServletResponse response = get(cache, "k", null, ifNoneMatch);
+            assertEquals(200, response.getStatus(), ifNoneMatch);
+            assertTrue(response.getContentAsByteArray().length > 0, ifNoneMatch);
+        }
+        assertEquals(7L, stat(cache, "teams", "notModified"));
+        assertEquals(1, computed);
+    }
+
+    @Test
+    void entriesAreOnlyServedForTheDatasetTheyWereRenderedFrom() {
+        ResponseCache cache = cache(10, 1 << 20);
+        Dataset old = store.current();
+        get(cache, old, "teams", "k", null, null);
+        store.publish(store.build(List.of(), List.of(), List.of()));
+        Dataset next = store.current();
+
+        // A request still on the old dataset drops the stale entry and does not store its answer
+        get(cache, old, "teams", "k", null, null);
+        get(cache, old, "teams", "k", null, null);
+        assertEquals(3, computed);
+        assertEquals(0, cache.metrics().get("entries"));
+
+        get(cache, next, "teams", "k", null, null);
+        get(cache, next, "teams", "k", null, null);
+        assertEquals(4, computed);
+        // The newer entry is left alone for a late request on the old dataset
+        get(cache, old, "teams", "k", null, null);
+        get(cache, next, "teams", "k", null, null);
+        assertEquals(5, computed);
+        assertEquals(1, cache.metrics().get("entries"));
+    }
+
+    @Test
+    void datasetLoadedEventDropsOlderEntries() {
+        ResponseCache cache = cache(10, 1 << 20);
+        Dataset old = store.current();
+        get(cache, "a");
+        get(cache, "b");
+        assertTrue(cache.prerender(old, "teams", "hot", () -> BODY));
+
+        store.publish(store.build(List.of(), List.of(), List.of()));
+        Dataset next = store.current();
+        assertFalse(cache.prerender(old, "teams", "late", () -> BODY));
+        assertTrue(cache.prerender(next, "teams", "new", () -> BODY));
+        cache.onDatasetLoaded(new DatasetLoadedEvent(next));
+
+        Map<String, Object> metrics = cache.metrics();
+        assertEquals(0, metrics.get("entries"));
+        assertEquals(0L, metrics.get("bytes"));
+        // Only the entry pre-rendered for the new dataset survives
+        assertEquals(1, metrics.get("prerenderedEntries"));
+        computed = 0;
+        get(cache, next, "teams", "new", null, null);
+        get(cache, next, "teams", "hot", null, null);
+        assertEquals(1, computed);
+    }
+
+    @Test
+    void gzipNeedsANonZeroQValue() {
+        for (String refused : new String[]{null, "", "identity", "deflate, br", "gzip;q=0", "gzip;q=0.0",
+                "gzip;q=0.00", "gzip; q=0.000", "gzip;q = 0", "GZIP;Q=0", "gzip;q=oops", "*;q=0",
+                "gzip;q=0, *"}) {
+            assertFalse(ResponseCache.acceptsGzip(refused), refused);
+        }
+        for (String accepted : new String[]{"gzip", "GZip", "x-gzip", "deflate, gzip", "gzip;q=0.001",
+                "gzip; q = 0.5", "br;q=1.0, gzip;q=0.8", "*", "identity, *;q=0.1"}) {
+            assertTrue(ResponseCache.acceptsGzip(accepted), accepted);
+        }
+
+        ResponseCache cache = cache(10, 1 << 20);
+        MockHttpServletResponse refused = get(cache, "k", "gzip;q=0.0", null);
+        assertNull(refused.getHeader(HttpHeaders.CONTENT_ENCODING));
+        MockHttpServletResponse gzipped = get(cache, "k", "gzip;q=1", null);
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzipped.getContentLength() < refused.getContentLength());
+    }
+
+    private ResponseCache cache(int maxEntries, long maxBytes) {
+        return new ResponseCache(store, new ObjectMapper(), environment, maxEntries, maxBytes,
+                Duration.ofMinutes(10), true, 1 << 20);
+    }
+
+    private void get(ResponseCache cache, String key) {
+        get(cache, key, null, null);
+    }
+
+    private MockHttpServletResponse get(ResponseCache cache, String key, String acceptEncoding,
+                                        String ifNoneMatch) {
+        return get(cache, store.current(), "teams", key, acceptEncoding, ifNoneMatch);
+    }
+
+    private MockHttpServletResponse get(ResponseCache cache, Dataset dataset, String endpoint, String key,
+                                               String acceptEncoding, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/" + endpoint);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            cache.respond(dataset, endpoint, key, request, response, () -> {
+                computed++;
+                return BODY;
+            });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object stat(ResponseCache cache, String endpoint, String name) {
+        Map<String, Object> endpoints = (Map<String, Object>) cache.metrics().get("endpoints");
+        return ((Map<String, Object>) endpoints.get(endpoint)).get(name);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ipl.ipl_dashboard.filter;
+
+import com.ipl.ipl_dashboard.model.Match;
+import com.ipl.ipl_dashboard.store.MatchColumns;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Parses filter expressions and evaluates them against a six-match index. */
+class MatchFilterTest {
+
+    private static final String MI = "Mumbai Indians";
+    private static final String CSK = "Chennai Super Kings";
+    private static final String RCB = "Royal Challengers Bangalore";
+
+    // Rows are in date order: 0 = 2008 ... 5 = 2020
+    private static final BitmapIndex INDEX = BitmapIndex.of(MatchColumns.of(List.of(
+            match(1, "2008-04-18", "2007/08", MI, CSK, "Wankhede Stadium", "League", MI, "field", MI),
+            match(2, "2010-04-25", "2010", CSK, MI, "Dr DY Patil Sports Academy", "Final", CSK, "bat", CSK),
+            match(3, "2015-05-10", "2015", RCB, MI, "Wankhede Stadium, Mumbai", "League", MI, "field", RCB),
+            match(4, "2017-05-21", "2017", MI, "Rising Pune Supergiant", "Rajiv Gandhi International Stadium",
+                    "Final", MI, "bat", MI),
+            match(5, "2019-04-30", "2019", RCB, "Rajasthan Royals", "M Chinnaswamy Stadium", "League",
+                    "Rajasthan Royals", "field", null),
+            match(6, "2020-11-10", "2020/21", MI, "Delhi Capitals", "Dubai International Cricket Stadium",
+                    "Final", "Delhi Capitals", "bat", MI))));
+
+    @Test
+    void emptyExpressionMatchesEverything() {
+        assertRows("", 0, 1, 2, 3, 4, 5);
+        assertRows("   ", 0, 1, 2, 3, 4, 5);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5}, MatchFilter.parse(null).evaluate(INDEX).toArray());
+    }
+
+    @Test
+    void notBindsTighterThanAndWhichBindsTighterThanOr() {
+        // OR last: (final AND RCB) OR Wankhede, not final AND (RCB OR Wankhede)
+        assertRows("matchType:final AND team:\"" + RCB + "\" OR venue:\"Wankhede Stadium\"", 0);
+        assertRows("matchType:final AND (team:\"" + RCB + "\" OR venue:\"Wankhede Stadium\")");
+        // NOT applies to the next condition only
+        assertRows("NOT matchType:final AND team:\"" + MI + "\"", 0, 2);
+        assertRows("NOT (matchType:final AND team:\"" + MI + "\")", 0, 2, 4);
+        assertRows("NOT NOT matchType:final", 1, 3, 5);
+        // Conditions side by side are ANDed, and keywords ignore case
+        assertRows("team:\"" + MI + "\" stage:league", 0, 2);
+        assertRows("stage:league and not team:\"" + MI + "\" or year:2010", 1, 4);
+    }
+
+    @Test
+    void quotedAndPrefixValues() {
+        assertRows("venue:\"Wankhede Stadium\"", 0);
+        assertRows("venue:\"Wankhede Stadium*\"", 0, 2);
+        assertRows("venue:\"wankhede stadium, mumbai\"", 2);
+        assertRows("team:Rajasthan*", 4);
+        assertRows("season:2007/08", 0);
+        assertRows("matchWinner:nobody");
+        // Closing parenthesis ends an unquoted value
+        assertRows("(matchType:final)", 1, 3, 5);
+    }
+
+    @Test
+    void yearRangesAreInclusive() {
+        assertRows("year:2010..2017", 1, 2, 3);
+        assertRows("year:2017..2017", 3);
+        assertRows("year:2021..2030");
+        assertRows("year:2019", 4);
+        assertRows("NOT year:2010..2019", 0, 5);
+    }
+
+    @Test
+    void derivedDimensions() {
+        assertRows("tossWinnerWon:true", 0, 1, 3);
+        assertRows("tossWinnerWon:false", 2, 5);
+        assertRows("tossDecision:bat AND stage:playoff", 1, 3, 5);
+    }
+
+    @Test
+    void errorsNameThePosition() {
+        assertError("matchType:final AND", "Filter at 20: expected dimension:value");
+        assertError("colour:blue", "Filter at 1: unknown dimension 'colour'");
+        assertError("stage:", "Filter at 7: missing value");
+        assertError("venue:\"Wankhede", "Filter at 7: unterminated quote");
+        assertError("(matchType:final", "Filter at 17: missing ')'");
+        assertError("matchType:final)", "Filter at 16: unexpected ')'");
+        assertError("year:2010..later", "Filter at 6: expected a range like 2015..2020");
+        assertError("matchType:final AND NOT", "Filter at 24: expected dimension:value");
+    }
+
+    private static void assertRows(String expression, int... rows) {
+        assertArrayEquals(rows, MatchFilter.parse(expression).evaluate(INDEX).toArray(), expression);
+    }
+
+    private static void assertError(String expression, String messageStart) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MatchFilter.parse(expression));
+        assertTrue(e.getMessage().startsWith(messageStart), e.getMessage());
+    }
+
+    private static Match match(long id, String date, String season, String team1, String team2, String venue,
+                               String matchType, String tossWinner, String tossDecision, String winner) {
+        Match m = new Match();
+        m.setId(id);
+        m.setSourceId(Long.toString(id));
+        m.setDate(LocalDate.parse(date));
+        m.setSeason(season);
+        m.setTeam1(team1);
+        m.setTeam2(team2);
+        m.setVenue(venue);
+        m.setMatchType(matchType);
+        m.setTossWinner(tossWinner);
+        m.setTossDecision(tossDecision);
+        m.setMatchWinner(winner);
+        m.setResult(winner == null ? "no result" : "runs");
+        return m;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ipl.ipl_dashboard.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Checks the set operations against {@link BitSet} on both sides of every container layout switch. */
+class RowBitmapTest {
+
+    private static final int CHUNK = 1 << 16;
+    // Rows per chunk: empty, sparse, either side of the array/bitmap switch, dense and full
+    private static final int[] DENSITIES = {0, 1, 100, RowBitmap.ARRAY_MAX - 1, RowBitmap.ARRAY_MAX,
+            RowBitmap.ARRAY_MAX + 1, 2 * RowBitmap.ARRAY_MAX, 40_000, CHUNK};
+
+    private final Random random = new Random(42);
+
+    @Test
+    void buildsAnyDensityAcrossChunks() {
+        for (int density : DENSITIES) {
+            BitSet rows = rows(density, 0, density);
+            assertMatches(rows, bitmap(rows));
+        }
+    }
+
+    @Test
+    void setOperationsMatchBitSetForEveryPairOfLayouts() {
+        for (int a : DENSITIES) {
+            for (int b : DENSITIES) {
+                // Three chunks, so chunks present on one side only are covered too
+                BitSet x = rows(a, b, a);
+                BitSet y = rows(b, a, 0);
+                RowBitmap bx = bitmap(x);
+                RowBitmap by = bitmap(y);
+
+                assertMatches(op(x, y, BitSet::and), bx.and(by));
+                assertMatches(op(x, y, BitSet::or), bx.or(by));
+                assertMatches(op(x, y, BitSet::andNot), bx.andNot(by));
+                assertMatches(op(y, x, BitSet::andNot), by.andNot(bx));
+                assertEquals(op(x, y, BitSet::and).cardinality(), bx.andCardinality(by), a + " & " + b);
+            }
+        }
+    }
+
+    @Test
+    void resultsCrossingArrayMaxChangeLayoutWithoutLosingRows() {
+        int half = RowBitmap.ARRAY_MAX / 2 + 1;
+        BitSet evens = new BitSet();
+        BitSet odds = new BitSet();
+        for (int i = 0; i < half; i++) {
+            evens.set(2 * i);
+            odds.set(2 * i + 1);
+        }
+        // Two arrays whose union no longer fits one
+        RowBitmap union = bitmap(evens).or(bitmap(odds));
+        assertMatches(op(evens, odds, BitSet::or), union);
+        // Bitmap minus most of itself drops back under the limit
+        assertMatches(evens, union.andNot(bitmap(odds)));
+        assertMatches(evens, union.and(bitmap(evens)));
+        assertEquals(half, union.andCardinality(bitmap(evens)));
+    }
+
+    @Test
+    void allCoversExactlyTheFirstSizeRows() {
+        int[] sizes = {0, 1, 63, 64, 65, RowBitmap.ARRAY_MAX, RowBitmap.ARRAY_MAX + 1, CHUNK - 1, CHUNK,
+                CHUNK + 1, CHUNK + RowBitmap.ARRAY_MAX + 1, 2 * CHUNK, 3 * CHUNK - 1};
+        for (int size : sizes) {
+            RowBitmap all = RowBitmap.all(size);
+            assertEquals(size, all.cardinality(), "size " + size);
+            assertArrayEquals(IntStream.range(0, size).toArray(), all.toArray(), "size " + size);
+            assertTrue(all.andNot(all).isEmpty(), "size " + size);
+
+            BitSet some = rows(RowBitmap.ARRAY_MAX + 1, 100, CHUNK);
+            BitSet expected = (BitSet) some.clone();
+            expected.clear(size, 3 * CHUNK);
+            assertMatches(expected, all.and(bitmap(some)));
+            assertEquals(expected.cardinality(), all.andCardinality(bitmap(some)), "size " + size);
+        }
+    }
+
+    // Random rows with the given count in each of the first chunks
+    private BitSet rows(int... perChunk) {
+        BitSet rows = new BitSet();
+        for (int chunk = 0; chunk < perChunk.length; chunk++) {
+            BitSet low = new BitSet(CHUNK);
+            int n = 0;
+            if (perChunk[chunk] == CHUNK) {
+                low.set(0, CHUNK);
+                n = CHUNK;
+            }
+            while (n < perChunk[chunk]) {
+                int l = random.nextInt(CHUNK);
+                if (!low.get(l)) {
+                    low.set(l);
+                    n++;
+                }
+            }
+            int base = chunk * CHUNK;
+            low.stream().forEach(l -> rows.set(base + l));
+        }
+        return rows;
+    }
+
+    private static RowBitmap bitmap(BitSet rows) {
+        int[] array = rows.stream().toArray();
+        return RowBitmap.of(array, array.length);
+    }
+
+    private interface BitSetOp {
+        void apply(BitSet target, BitSet other);
+    }
+
+    private static BitSet op(BitSet x, BitSet y, BitSetOp op) {
+        BitSet out = (BitSet) x.clone();
+        op.apply(out, y);
+        return out;
+    }
+
+    private static void assertMatches(BitSet expected, RowBitmap actual) {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+    }
+}
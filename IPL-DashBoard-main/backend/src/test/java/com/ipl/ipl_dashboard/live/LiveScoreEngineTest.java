@@ -0,0 +1,99 @@
+package com.ipl.ipl_dashboard.live;
+
+import com.ipl.ipl_dashboard.broadcast.TopicBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Polls a scripted source and checks which matches the engine keeps following. */
+class LiveScoreEngineTest {
+
+    private final ScriptedSource source = new ScriptedSource();
+
+    @Test
+    void finishedMatchesGoOnceTheirFinalStateIsBroadcast() throws InterruptedException {
+        LiveScoreEngine engine = engine(Duration.ZERO, Duration.ofHours(1));
+        source.next(frame("1", "In Progress"), frame("2", "In Progress"));
+        engine.poll();
+        source.next(frame("1", "Complete"), frame("2", "In Progress"));
+        engine.poll();
+        pause();
+        // Not broadcast yet, so subscribers have not seen the result
+        engine.poll();
+        assertEquals(List.of("1", "2"), ids(engine.latest()));
+
+        engine.flush();
+        pause();
+        engine.poll();
+        assertEquals(List.of("2"), ids(engine.latest()));
+        assertEquals(List.of("2"), ids(engine.snapshots()));
+        assertEquals(1L, engine.metrics().get("evicted"));
+    }
+
+    @Test
+    void matchesMissingFromTheirSourceGoAfterATimeout() throws InterruptedException {
+        LiveScoreEngine engine = engine(Duration.ofHours(1), Duration.ZERO);
+        source.next(frame("1", "In Progress"), frame("2", "In Progress"));
+        engine.poll();
+        pause();
+        // Reported again unchanged: still followed
+        source.next(frame("2", "In Progress"));
+        engine.poll();
+        assertEquals(List.of("2"), ids(engine.latest()));
+
+        // A failed poll says nothing about the matches
+        pause();
+        source.fail = true;
+        engine.poll();
+        assertEquals(List.of("2"), ids(engine.latest()));
+        assertEquals(1L, engine.metrics().get("pollFailures"));
+    }
+
+    private LiveScoreEngine engine(Duration finishedAfter, Duration missingAfter) {
+        return new LiveScoreEngine(List.of(source),
+                new StaticListableBeanFactory().getBeanProvider(TopicBroadcaster.class), finishedAfter, missingAfter);
+    }
+
+    // Lets the clock move past a zero timeout
+    private static void pause() throws InterruptedException {
+        Thread.sleep(5);
+    }
+
+    private static LiveFeedFrame frame(String matchId, String state) {
+        return new LiveFeedFrame(matchId, Map.of("state", state));
+    }
+
+    private static List<String> ids(List<LiveScore> scores) {
+        return scores.stream().map(LiveScore::matchId).sorted().toList();
+    }
+
+    private static final class ScriptedSource implements LiveFeedSource {
+
+        private List<LiveFeedFrame> frames = List.of();
+        private boolean fail;
+
+        void next(LiveFeedFrame... frames) {
+            this.frames = new ArrayList<>(List.of(frames));
+        }
+
+        @Override
+        public String name() {
+            return "scripted";
+        }
+
+        @Override
+        public List<LiveFeedFrame> poll() throws IOException {
+            if (fail) {
+                throw new IOException("down");
+            }
+            return frames;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ipl.ipl_dashboard.search;
+
+import com.ipl.ipl_dashboard.model.Player;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Checks fuzzy lookups, in the tree and through {@link SearchIndex}, against a brute-force scan. */
+class BkTreeTest {
+
+    private static final String[] SYLLABLES = {"ra", "sh", "an", "ku", "mar", "de", "vi", "ja", "sin", "gh",
+            "pa", "tel", "mc", "cul", "lum", "ro", "hit", "son", "ab", "ti"};
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final long HOUR_NANOS = 3_600_000_000_000L;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void searchFindsExactlyTheKeysWithinKEdits() {
+        // Short keys from a few syllables, so most queries have neighbours at every distance; some repeat
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add(i % 10 == 9 ? keys.get(random.nextInt(i)) : word(1 + random.nextInt(3)));
+        }
+        BkTree tree = new BkTree();
+        for (int id = 0; id < keys.size(); id++) {
+            tree.add(keys.get(id), id);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            String query = q % 2 == 0 ? edit(keys.get(random.nextInt(keys.size())), random.nextInt(3))
+                    : word(1 + random.nextInt(3));
+            for (int k = 0; k <= 2; k++) {
+                Map<Integer, Integer> expected = new HashMap<>();
+                for (int id = 0; id < keys.size(); id++) {
+                    int d = levenshtein(query, keys.get(id));
+                    if (d <= k) {
+                        expected.put(id, d);
+                    }
+                }
+                Map<Integer, Integer> found = new HashMap<>();
+                assertTrue(tree.search(query, k, NO_DEADLINE, (id, d) ->
+                        assertNull(found.put(id, d), query + " reported " + id + " twice")));
+                assertEquals(expected, found, query + " within " + k);
+            }
+        }
+    }
+
+    @Test
+    void distanceStopsAtTheCutoff() {
+        for (int i = 0; i < 2000; i++) {
+            String a = word(random.nextInt(4));
+            String b = random.nextBoolean() ? edit(a, random.nextInt(4)) : word(random.nextInt(4));
+            int exact = levenshtein(a, b);
+            assertEquals(exact, BkTree.distance(a, b, Integer.MAX_VALUE, null), a + " / " + b);
+            for (int cutoff = 0; cutoff <= 3; cutoff++) {
+                assertEquals(Math.min(exact, cutoff + 1), BkTree.distance(a, b, cutoff, null),
+                        a + " / " + b + " cut at " + cutoff);
+            }
+        }
+    }
+
+    @Test
+    void fuzzyPlayersMatchesABruteForceScan() {
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < 400) {
+            names.add(capitalize(word(1 + random.nextInt(2))) + " " + capitalize(word(2 + random.nextInt(2))));
+        }
+        List<Player> players = new ArrayList<>();
+        for (String name : names) {
+            players.add(new Player(name, random.nextInt(20)));
+        }
+        MatchStore store = new MatchStore(List.of(), event -> { });
+        SearchIndex index = SearchIndex.of(store.build(List.of(), List.of(), players));
+
+        List<String> pool = new ArrayList<>(names);
+        for (int q = 0; q < 150; q++) {
+            String name = pool.get(random.nextInt(pool.size())).toLowerCase(Locale.ROOT);
+            // Whole names, surnames alone and unrelated two-word queries, each with up to two typos
+            String query = switch (q % 3) {
+                case 0 -> edit(name, random.nextInt(3));
+                case 1 -> edit(name.substring(name.indexOf(' ') + 1), random.nextInt(3));
+                default -> word(2) + " " + word(2);
+            };
+            for (int k = 0; k <= 2; k++) {
+                List<String> found = index.fuzzyPlayers(query, k, HOUR_NANOS).stream().map(Player::getName).toList();
+                assertEquals(bruteForce(players, query, k), found, query + " within " + k);
+            }
+        }
+    }
+
+    // SearchIndex.fuzzyPlayers spelled out: the query and its longer words against each name and its longer
+    // words, words of four letters or less allowed one edit; closest first, then most awards, then by name
+    private static List<String> bruteForce(List<Player> players, String query, int maxDistance) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>(List.of(q));
+        for (String token : q.split(" +")) {
+            if (token.length() >= 3 && !token.equals(q)) {
+                terms.add(token);
+            }
+        }
+        Map<Player, Integer> best = new HashMap<>();
+        for (Player p : players) {
+            String name = p.getName().toLowerCase(Locale.ROOT);
+            List<String> keys = new ArrayList<>(List.of(name));
+            for (String token : name.split(" ")) {
+                if (token.length() >= 3) {
+                    keys.add(token);
+                }
+            }
+            for (String term : terms) {
+                int allowed = term.length() <= 4 ? Math.min(1, maxDistance) : maxDistance;
+                for (String key : keys) {
+                    int d = levenshtein(term, key);
+                    if (d <= allowed) {
+                        best.merge(p, d, Math::min);
+                    }
+                }
+            }
+        }
+        return best.keySet().stream()
+                .sorted(Comparator.<Player>comparingInt(best::get)
+                        .thenComparingLong(p -> -p.getTotalPlayerOfMatchAwards())
+                        .thenComparing(p -> p.getName().toLowerCase(Locale.ROOT)))
+                .map(Player::getName)
+                .toList();
+    }
+
+    // Textbook full-matrix Levenshtein, independent of the optimised one under test
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private String word(int syllables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return sb.toString();
+    }
+
+    // n random insertions, deletions or substitutions
+    private String edit(String s, int n) {
+        StringBuilder sb = new StringBuilder(s);
+        for (int i = 0; i < n; i++) {
+            int op = sb.length() == 0 ? 0 : random.nextInt(3);
+            char c = (char) ('a' + random.nextInt(26));
+            int at = random.nextInt(sb.length() + (op == 0 ? 1 : 0));
+            switch (op) {
+                case 0 -> sb.insert(at, c);
+                case 1 -> sb.deleteCharAt(at);
+                default -> sb.setCharAt(at, c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
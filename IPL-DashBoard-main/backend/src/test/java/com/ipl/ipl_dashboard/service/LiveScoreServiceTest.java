@@ -0,0 +1,183 @@
+package com.ipl.ipl_dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipl.ipl_dashboard.live.LiveFeedFrame;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the Cricbuzz fetch layer against a local stub of the live-matches endpoint. */
+class LiveScoreServiceTest {
+
+    private static final String LIVE = """
+            {"typeMatches": [{"matchType": "League", "seriesMatches": [
+              {"adDetail": {"name": "ad"}},
+              {"seriesAdWrapper": {"seriesName": "Indian Premier League 2026", "matches": [
+                {"matchInfo": {"matchId": 101, "matchDesc": "12th Match", "state": "In Progress",
+                               "status": "Chennai Super Kings need 41 runs",
+                               "team1": {"teamName": "Mumbai Indians"}, "team2": {"teamName": "Chennai Super Kings"}},
+                 "matchScore": {"team1Score": {"inngs1": {"runs": 181, "wickets": 6, "overs": 19.6}},
+                                "team2Score": {"inngs1": {"runs": 141, "wickets": 3, "overs": 15.2}}}}]}},
+              {"seriesAdWrapper": {"seriesName": "County Championship", "matches": [
+                {"matchInfo": {"matchId": 202, "state": "In Progress"}}]}}]}]}
+            """;
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    // Status codes to answer with, in order; 200 once they run out
+    private final List<Integer> statuses = new ArrayList<>();
+    private final AtomicReference<CountDownLatch> gate = new AtomicReference<>();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/matches/v1/live", exchange -> {
+            hits.incrementAndGet();
+            CountDownLatch latch = gate.get();
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int status;
+            synchronized (statuses) {
+                status = statuses.isEmpty() ? 200 : statuses.remove(0);
+            }
+            byte[] body = (status == 200 ? LIVE : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private LiveScoreService service(int retries, Duration freshFor, Duration maxStale) {
+        return new LiveScoreService(WebClient.builder(), new ObjectMapper(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), "test-key", "Indian Premier League",
+                Duration.ofSeconds(2), retries, Duration.ofMillis(20), freshFor, maxStale);
+    }
+
+    private void respondWith(Integer... codes) {
+        synchronized (statuses) {
+            statuses.addAll(List.of(codes));
+        }
+    }
+
+    @Test
+    void parsesMatchesOfTheConfiguredSeries() throws Exception {
+        List<LiveFeedFrame> frames = service(0, Duration.ZERO, Duration.ZERO).poll();
+
+        assertEquals(1, frames.size());
+        LiveFeedFrame frame = frames.get(0);
+        assertEquals("101", frame.matchId());
+        Map<String, Object> f = frame.fields();
+        assertEquals("In Progress", f.get("state"));
+        assertEquals("Mumbai Indians", f.get("team1Name"));
+        assertEquals(181, f.get("team1Runs"));
+        assertEquals(3, f.get("team2Wickets"));
+        assertEquals(15.2, f.get("team2Overs"));
+        assertTrue(f.containsKey("stateTitle") && f.get("stateTitle") == null);
+    }
+
+    @Test
+    void concurrentCallersShareOneUpstreamFetch() throws Exception {
+        LiveScoreService service = service(0, Duration.ofSeconds(10), Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        gate.set(release);
+
+        List<CompletableFuture<List<LiveFeedFrame>>> calls = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            calls.add(service.liveMatches());
+        }
+        release.countDown();
+        for (CompletableFuture<List<LiveFeedFrame>> call : calls) {
+            assertEquals(1, call.get(5, TimeUnit.SECONDS).size());
+        }
+        // Still fresh: answered without going upstream again
+        service.liveMatches().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, hits.get());
+        assertEquals(19L, service.metrics().get("joined"));
+        assertEquals(1L, service.metrics().get("fresh"));
+    }
+
+    @Test
+    void servesLastGoodResultUntilItIsTooStale() throws Exception {
+        LiveScoreService service = service(0, Duration.ZERO, Duration.ofMillis(400));
+        List<LiveFeedFrame> good = service.poll();
+
+        respondWith(500, 500);
+        assertEquals(good, service.poll());
+        assertEquals(1L, service.metrics().get("staleServed"));
+
+        Thread.sleep(500);
+        assertThrows(IOException.class, service::poll);
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void retriesServerErrorsAndRateLimits() throws Exception {
+        LiveScoreService service = service(2, Duration.ZERO, Duration.ZERO);
+        respondWith(503, 429);
+
+        assertEquals(1, service.poll().size());
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        LiveScoreService service = service(2, Duration.ZERO, Duration.ZERO);
+        respondWith(401);
+
+        assertThrows(IOException.class, service::poll);
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void surfacesUpstreamFailureToEveryWaitingCaller() throws Exception {
+        LiveScoreService service = service(0, Duration.ZERO, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        gate.set(release);
+        respondWith(500);
+
+        CompletableFuture<List<LiveFeedFrame>> first = service.liveMatches();
+        CompletableFuture<List<LiveFeedFrame>> second = service.liveMatches();
+        release.countDown();
+
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, hits.get());
+    }
+}
@@ -0,0 +1,95 @@
+package com.ipl.ipl_dashboard.service;
+
+import com.ipl.ipl_dashboard.data.OpenCsvMatchSource;
+import com.ipl.ipl_dashboard.repository.MatchRepository;
+import com.ipl.ipl_dashboard.store.Dataset;
+import com.ipl.ipl_dashboard.store.MatchStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Ingests small CSV batches into the application loaded with the bundled data. */
+@SpringBootTest
+@DirtiesContext
+class MatchIngestServiceTest {
+
+    private static final String HEADER = "id,season,city,date,match_type,player_of_match,venue,team1,team2,toss_winner,"
+            + "toss_decision,winner,result,result_margin,target_runs,target_overs,super_over,method,umpire1,umpire2\n";
+    // Already in match-data.csv
+    private static final String KNOWN = "335982,2007/08,Bangalore,18-04-2008,League,BB McCullum,M Chinnaswamy Stadium,"
+            + "Royal Challengers Bangalore,Kolkata Knight Riders,Royal Challengers Bangalore,field,"
+            + "Kolkata Knight Riders,runs,140,223,20,N,NA,Asad Rauf,RE Koertzen\n";
+
+    @Autowired
+    private MatchIngestService ingestService;
+    @Autowired
+    private MatchStore matchStore;
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Test
+    void skipsKnownAndRepeatedSourceIds() throws IOException {
+        Dataset before = matchStore.current();
+        long rows = matchRepository.count();
+
+        MatchIngestService.Result result = ingest(KNOWN + row("9000001", "01-04-2025") + row("9000001", "02-04-2025")
+                + row("9000002", "03-04-2025") + KNOWN);
+
+        assertEquals(5, result.received());
+        assertEquals(2, result.added());
+        assertEquals(3, result.duplicates());
+        Dataset after = matchStore.current();
+        assertEquals(before.matches().size() + 2, after.matches().size());
+        assertEquals(after.matches().size(), result.totalMatches());
+        assertEquals(rows + 2, matchRepository.count());
+        // The first of the repeated rows wins
+        int row = after.matches().rowOfSource("9000001");
+        assertEquals("2025-04-01", after.matches().toMatch(row).getDate().toString());
+        assertEquals(before.teams().get("Mumbai Indians").getTotalMatches() + 2,
+                after.teams().get("Mumbai Indians").getTotalMatches());
+
+        // Sending the same file again adds nothing
+        result = ingest(row("9000001", "01-04-2025") + row("9000002", "03-04-2025"));
+        assertEquals(0, result.added());
+        assertEquals(2, result.duplicates());
+        assertSame(after, matchStore.current());
+    }
+
+    @Test
+    void aBadRowAppliesNothing() {
+        Dataset before = matchStore.current();
+        long rows = matchRepository.count();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ingest(row("9100001", "01-05-2025") + row("9100002", "not-a-date")));
+        assertTrue(e.getMessage().startsWith("Row 2: bad date"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ingest(row("9100003", "01-05-2025") + row("9100004", "")));
+        assertThrows(IllegalArgumentException.class, () -> ingest(row("9100005", "01-05-2025") + row("", "02-05-2025")));
+
+        assertSame(before, matchStore.current());
+        assertEquals(rows, matchRepository.count());
+        assertEquals(-1, matchStore.current().matches().rowOfSource("9100001"));
+    }
+
+    private MatchIngestService.Result ingest(String rows) throws IOException {
+        byte[] csv = (HEADER + rows).getBytes(StandardCharsets.UTF_8);
+        try (OpenCsvMatchSource source = new OpenCsvMatchSource(new ByteArrayInputStream(csv))) {
+            return ingestService.ingest(source, "test");
+        }
+    }
+
+    private static String row(String id, String date) {
+        return id + ",2025,Mumbai," + date + ",League,JJ Bumrah,Wankhede Stadium,Mumbai Indians,Chennai Super Kings,"
+                + "Mumbai Indians,bat,Mumbai Indians,runs,12,190,20,N,NA,Nitin Menon,VK Sharma\n";
+    }
+}
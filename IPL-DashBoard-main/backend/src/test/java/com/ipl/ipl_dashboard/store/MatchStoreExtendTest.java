@@ -0,0 +1,272 @@
+package com.ipl.ipl_dashboard.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ipl.ipl_dashboard.data.MatchInput;
+import com.ipl.ipl_dashboard.data.MatchProcessor;
+import com.ipl.ipl_dashboard.data.OpenCsvMatchSource;
+import com.ipl.ipl_dashboard.model.Match;
+import com.ipl.ipl_dashboard.stats.HeadToHeadMatrix;
+import com.ipl.ipl_dashboard.stats.HeadToHeadMatrixView;
+import com.ipl.ipl_dashboard.stats.PlayerLeaderboards;
+import com.ipl.ipl_dashboard.stats.PlayerLeaderboardsView;
+import com.ipl.ipl_dashboard.stats.SeasonTables;
+import com.ipl.ipl_dashboard.stats.SeasonTablesView;
+import com.ipl.ipl_dashboard.stats.TeamTimeSeries;
+import com.ipl.ipl_dashboard.stats.TeamTimeSeriesView;
+import com.ipl.ipl_dashboard.stats.VenueTossStats;
+import com.ipl.ipl_dashboard.stats.VenueTossStatsView;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.ToIntBiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Extends a dataset built from part of the bundled matches with the rest, and checks the columns, posting
+ * lists and views against a dataset built from scratch out of all of them.
+ */
+class MatchStoreExtendTest {
+
+    private static final List<Match> MATCHES = load();
+    private static final ObjectMapper JSON = JsonMapper.builder().findAndAddModules().build();
+
+    private static final Map<String, ToIntBiFunction<MatchColumns, Integer>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", MatchColumns::id);
+        COLUMNS.put("date", MatchColumns::date);
+        COLUMNS.put("season", MatchColumns::season);
+        COLUMNS.put("city", MatchColumns::city);
+        COLUMNS.put("venue", MatchColumns::venue);
+        COLUMNS.put("playerOfMatch", MatchColumns::playerOfMatch);
+        COLUMNS.put("team1", MatchColumns::team1);
+        COLUMNS.put("team2", MatchColumns::team2);
+        COLUMNS.put("tossWinner", MatchColumns::tossWinner);
+        COLUMNS.put("matchWinner", MatchColumns::matchWinner);
+        COLUMNS.put("umpire1", MatchColumns::umpire1);
+        COLUMNS.put("umpire2", MatchColumns::umpire2);
+        COLUMNS.put("tossDecision", MatchColumns::tossDecision);
+        COLUMNS.put("result", MatchColumns::result);
+        COLUMNS.put("matchType", MatchColumns::matchType);
+        COLUMNS.put("method", MatchColumns::method);
+        COLUMNS.put("superOver", MatchColumns::superOver);
+        COLUMNS.put("targetOvers", MatchColumns::targetOvers);
+        COLUMNS.put("resultMargin", MatchColumns::resultMargin);
+        COLUMNS.put("targetRuns", MatchColumns::targetRuns);
+    }
+
+    private final MatchStore store = new MatchStore(List.of(new HeadToHeadMatrixView(), new VenueTossStatsView(),
+            new SeasonTablesView(), new TeamTimeSeriesView(), new PlayerLeaderboardsView(100)), event -> { });
+    private final Random random = new Random(11);
+
+    @Test
+    void appendingLaterMatchesEqualsBuildingFromScratch() {
+        List<Match> ordered = new ArrayList<>(MATCHES);
+        ordered.sort(Comparator.comparing(Match::getDate).thenComparing(Match::getId));
+        // Split inside a double-header, so the first new row shares the last old row's date
+        int split = 900;
+        while (!ordered.get(split - 1).getDate().equals(ordered.get(split).getDate())) {
+            split++;
+        }
+        Dataset extended = build(ordered.subList(0, split));
+        // One big batch that brings in new seasons, then batches that only add rows to known ones
+        for (int[] batch : new int[][]{{split, ordered.size() - 40}, {ordered.size() - 40, ordered.size() - 39},
+                {ordered.size() - 39, ordered.size() - 10}, {ordered.size() - 10, ordered.size()}}) {
+            List<Match> added = shuffled(ordered.subList(batch[0], batch[1]));
+            assertNotNull(extended.matches().append(added));
+            extended = store.extend(extended, added, List.of(), List.of());
+            assertSame(build(ordered.subList(0, batch[1])), extended);
+        }
+    }
+
+    @Test
+    void backfilledMatchesFallBackToARebuild() {
+        List<Match> base = new ArrayList<>();
+        List<Match> backfill = new ArrayList<>();
+        for (Match m : MATCHES) {
+            (m.getDate().getYear() == 2015 ? backfill : base).add(m);
+        }
+        Dataset partial = build(base);
+        assertNull(partial.matches().append(backfill));
+        assertSame(build(MATCHES), store.extend(partial, shuffled(backfill), List.of(), List.of()));
+
+        // Same date as the last row but a lower id also counts as a backfill
+        Match last = MATCHES.stream().max(Comparator.comparing(Match::getDate).thenComparing(Match::getId)).get();
+        Match early = copy(last);
+        early.setId(0L);
+        early.setSourceId("backfill");
+        Dataset full = build(MATCHES);
+        assertNull(full.matches().append(List.of(early)));
+        List<Match> all = new ArrayList<>(MATCHES);
+        all.add(early);
+        assertSame(build(all), store.extend(full, List.of(early), List.of(), List.of()));
+    }
+
+    private Dataset build(List<Match> matches) {
+        return store.build(matches, List.of(), List.of());
+    }
+
+    private static void assertSame(Dataset expected, Dataset actual) {
+        MatchColumns e = expected.matches();
+        MatchColumns a = actual.matches();
+        assertEquals(e.size(), a.size());
+        assertEquals(e.maxId(), a.maxId());
+        Map<String, Dictionary[]> dictionaries = Map.of(
+                "teams", new Dictionary[]{e.teams(), a.teams()},
+                "venues", new Dictionary[]{e.venues(), a.venues()},
+                "cities", new Dictionary[]{e.cities(), a.cities()},
+                "umpires", new Dictionary[]{e.umpires(), a.umpires()},
+                "seasons", new Dictionary[]{e.seasons(), a.seasons()},
+                "players", new Dictionary[]{e.players(), a.players()},
+                "labels", new Dictionary[]{e.labels(), a.labels()});
+        dictionaries.forEach((name, pair) -> assertEquals(pair[0].values(), pair[1].values(), name));
+        for (int row = 0; row < e.size(); row++) {
+            for (Map.Entry<String, ToIntBiFunction<MatchColumns, Integer>> column : COLUMNS.entrySet()) {
+                assertEquals(column.getValue().applyAsInt(e, row), column.getValue().applyAsInt(a, row),
+                        column.getKey() + " of row " + row);
+            }
+            assertEquals(e.sourceId(row), a.sourceId(row), "sourceId of row " + row);
+            assertEquals(row, a.rowOf(e.id(row)));
+            assertEquals(row, a.rowOfSource(e.sourceId(row)));
+        }
+
+        PostingIndex ep = expected.postings();
+        PostingIndex ap = actual.postings();
+        assertLists("team", e.teams().size(), ep::team, ap::team);
+        assertLists("season", e.seasons().size(), ep::season, ap::season);
+        assertLists("playerOfMatch", e.players().size(), ep::playerOfMatch, ap::playerOfMatch);
+        assertLists("venue", e.venues().size(), ep::venue, ap::venue);
+
+        Map<String, String> want = views(expected);
+        Map<String, String> got = views(actual);
+        assertEquals(want.keySet(), got.keySet());
+        want.forEach((query, json) -> assertEquals(json, got.get(query), query));
+    }
+
+    private static void assertLists(String name, int keys, IntFunction<int[]> expected, IntFunction<int[]> actual) {
+        for (int k = 0; k < keys; k++) {
+            assertArrayEquals(expected.apply(k), actual.apply(k), name + " " + k);
+        }
+    }
+
+    // Every public query of the five incrementally updated views, keyed by a description of the query
+    private static Map<String, String> views(Dataset d) {
+        MatchColumns c = d.matches();
+        List<String> seasons = new ArrayList<>(c.seasons().values());
+        List<String> teams = new ArrayList<>(c.teams().values());
+        List<String> venues = new ArrayList<>(c.venues().values());
+        Map<String, Object> out = new LinkedHashMap<>();
+
+        HeadToHeadMatrix h2h = d.view(HeadToHeadMatrix.class);
+        out.put("h2h", h2h.grid(null));
+        seasons.forEach(s -> out.put("h2h " + s, h2h.grid(s)));
+
+        VenueTossStats toss = d.view(VenueTossStats.class);
+        out.put("venues", toss.venues());
+        venues.forEach(v -> out.put("venue " + v, toss.venue(v)));
+        out.put("toss", toss.toss(null, null));
+        seasons.forEach(s -> out.put("toss " + s, toss.toss(s, null)));
+        for (String t : teams) {
+            out.put("team venues " + t, toss.teamVenues(t));
+            out.put("toss " + t, toss.toss(null, t));
+            seasons.forEach(s -> out.put("toss " + s + " " + t, toss.toss(s, t)));
+        }
+
+        SeasonTables tables = d.view(SeasonTables.class);
+        out.put("seasons", tables.seasons());
+        seasons.forEach(s -> out.put("season " + s, tables.season(s)));
+
+        TeamTimeSeries series = d.view(TeamTimeSeries.class);
+        for (String t : teams) {
+            out.put("win rate " + t, series.winRate(t, null, null));
+            out.put("win rate 2015-2020 " + t,
+                    series.winRate(t, LocalDate.of(2015, 1, 1), LocalDate.of(2020, 12, 31)));
+            out.put("form " + t, series.form(t, TeamTimeSeries.MAX_FORM, null));
+            out.put("form 2019 " + t, series.form(t, 10, LocalDate.of(2019, 6, 1)));
+            out.put("season trend " + t, series.trend(t, TeamTimeSeries.SEASON, 5));
+            out.put("month trend " + t, series.trend(t, TeamTimeSeries.MONTH, 10));
+        }
+
+        PlayerLeaderboards boards = d.view(PlayerLeaderboards.class);
+        int depth = boards.depth();
+        out.put("board", boards.page(PlayerLeaderboards.OVERALL, null, 0, depth));
+        seasons.forEach(s -> out.put("board season " + s, boards.page(PlayerLeaderboards.SEASON, s, 0, depth)));
+        teams.forEach(t -> out.put("board team " + t, boards.page(PlayerLeaderboards.TEAM, t, 0, depth)));
+        venues.forEach(v -> out.put("board venue " + v, boards.page(PlayerLeaderboards.VENUE, v, 0, depth)));
+
+        Map<String, String> json = new LinkedHashMap<>();
+        out.forEach((query, value) -> {
+            try {
+                json.put(query, JSON.writeValueAsString(value));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(query, ex);
+            }
+        });
+        return json;
+    }
+
+    private List<Match> shuffled(List<Match> matches) {
+        List<Match> out = new ArrayList<>(matches);
+        Collections.shuffle(out, random);
+        return out;
+    }
+
+    private static Match copy(Match m) {
+        Match c = new Match();
+        c.setId(m.getId());
+        c.setSourceId(m.getSourceId());
+        c.setDate(m.getDate());
+        c.setSeason(m.getSeason());
+        c.setCity(m.getCity());
+        c.setVenue(m.getVenue());
+        c.setPlayerOfMatch(m.getPlayerOfMatch());
+        c.setTeam1(m.getTeam1());
+        c.setTeam2(m.getTeam2());
+        c.setTossWinner(m.getTossWinner());
+        c.setTossDecision(m.getTossDecision());
+        c.setMatchWinner(m.getMatchWinner());
+        c.setResult(m.getResult());
+        c.setResultMargin(m.getResultMargin());
+        c.setTargetRuns(m.getTargetRuns());
+        c.setTargetOvers(m.getTargetOvers());
+        c.setSuperOver(m.getSuperOver());
+        c.setMethod(m.getMethod());
+        c.setUmpire1(m.getUmpire1());
+        c.setUmpire2(m.getUmpire2());
+        return c;
+    }
+
+    // The bundled CSV, with ids in file order as DataLoader assigns them
+    private static List<Match> load() {
+        List<Match> out = new ArrayList<>();
+        try (InputStream in = MatchStoreExtendTest.class.getResourceAsStream("/match-data.csv");
+             OpenCsvMatchSource source = new OpenCsvMatchSource(in)) {
+            MatchInput input;
+            while ((input = source.next()) != null) {
+                Match m = MatchProcessor.process(input);
+                m.setId((long) out.size() + 1);
+                out.add(m);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+}